@@ -0,0 +1,541 @@
+/**
+ * A classe Cenarios reúne os cenários medidos pelos benchmarks JMH do pacote benchmarks. Cada classe interna prepara
+ * o seu estado uma única vez e executa a operação medida em cada chamada a executar. Todos os elementos aleatórios
+ * são gerados a partir de uma semente fixa, para que os resultados de execuções diferentes sejam comparáveis.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ */
+
+import benchmarks.Cenario;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+public class Cenarios {
+    private static final long SEMENTE = 20261018L;
+
+    /**
+     * Cria os obstáculos de uma arena, na mesma quantidade que o jogo na consola.
+     *
+     * @param lado  O lado da arena (tipo int).
+     * @param cobra A cobra, para que os obstáculos não sejam criados em cima dela (tipo Cobra).
+     * @return A lista de obstáculos (tipo List<Obstaculo>).
+     */
+    static List<Obstaculo> obstaculos(int lado, Cobra cobra) {
+        SplittableRandom random = new SplittableRandom(SEMENTE + 1);
+        List<Obstaculo> obstaculos = new ArrayList<>();
+        for (int i = 0; i < lado / Math.pow(10, String.valueOf(lado).length() - 1); i++)
+            obstaculos.add(new Obstaculo(lado, lado, cobra, random.split()));
+        return obstaculos;
+    }
+
+    /**
+     * Cria uma cobra com o número de segmentos pedido, já estendida e a andar para a direita.
+     *
+     * @param lado        O lado da arena (tipo int).
+     * @param aresta      O tamanho da aresta da cabeça da cobra (tipo int).
+     * @param comprimento O número de segmentos da cobra (tipo int).
+     * @return A cobra (tipo Cobra).
+     */
+    static Cobra cobra(int lado, int aresta, int comprimento) {
+        Cobra cobra = new Cobra(lado, lado, aresta, new SplittableRandom(SEMENTE));
+        for (int i = 1; i < comprimento; i++)
+            cobra.grow();
+        cobra.setDir(0);
+        for (int i = 1; i < comprimento; i++)
+            cobra.move();
+        return cobra;
+    }
+
+    /**
+     * Interseção entre dois polígonos que se cruzam.
+     */
+    public static class PoligonoIntersects implements Cenario {
+        private Poligono a, b;
+
+        @Override
+        public void preparar(int arena, int aresta, int comprimento) {
+            this.a = new Poligono(new Ponto[]{new Ponto(0, 0), new Ponto(2 * aresta, 0), new Ponto(3 * aresta, aresta),
+                    new Ponto(2 * aresta, 2 * aresta), new Ponto(0, 2 * aresta)});
+            this.b = new Poligono(new Ponto[]{new Ponto(aresta, aresta), new Ponto(4 * aresta, aresta),
+                    new Ponto(4 * aresta, 4 * aresta), new Ponto(aresta, 4 * aresta)});
+        }
+
+        @Override
+        public Object executar() {
+            return this.a.intersects(this.b);
+        }
+    }
+
+    /**
+     * Interseção entre dois polígonos afastados, o caso mais comum no jogo, rejeitada pelas caixas envolventes.
+     */
+    public static class PoligonoIntersectsAfastados implements Cenario {
+        private Poligono a, b;
+
+        @Override
+        public void preparar(int arena, int aresta, int comprimento) {
+            this.a = new Poligono(new Ponto[]{new Ponto(0, 0), new Ponto(2 * aresta, 0), new Ponto(3 * aresta, aresta),
+                    new Ponto(2 * aresta, 2 * aresta), new Ponto(0, 2 * aresta)});
+            this.b = new Poligono(new Ponto[]{new Ponto(5 * aresta, aresta), new Ponto(8 * aresta, aresta),
+                    new Ponto(8 * aresta, 4 * aresta), new Ponto(5 * aresta, 4 * aresta)});
+        }
+
+        @Override
+        public Object executar() {
+            return this.a.intersects(this.b);
+        }
+    }
+
+    /**
+     * Interseção entre dois segmentos de reta que se cruzam.
+     */
+    public static class SegmentoIntersects implements Cenario {
+        private SegmentoReta a, b;
+
+        @Override
+        public void preparar(int arena, int aresta, int comprimento) {
+            this.a = new SegmentoReta(new Ponto(0, 0), new Ponto(aresta, aresta));
+            this.b = new SegmentoReta(new Ponto(0, aresta), new Ponto(aresta, 0));
+        }
+
+        @Override
+        public Object executar() {
+            return this.a.intersects(this.b);
+        }
+    }
+
+    /**
+     * Rasterização completa de uma circunferência de raio igual à aresta.
+     */
+    public static class CircunferenciaVertices implements Cenario {
+        private Circunferencia circunferencia;
+
+        @Override
+        public void preparar(int arena, int aresta, int comprimento) {
+            this.circunferencia = new Circunferencia(new Ponto(aresta, aresta), aresta);
+        }
+
+        @Override
+        public Object executar() {
+            return this.circunferencia.getAllIntVertices();
+        }
+    }
+
+    /**
+     * Rasterização completa de um retângulo de lados aresta e 2 * aresta.
+     */
+    public static class RetanguloVertices implements Cenario {
+        private Retangulo retangulo;
+
+        @Override
+        public void preparar(int arena, int aresta, int comprimento) {
+            this.retangulo = new Retangulo(new Ponto[]{new Ponto(0, 0), new Ponto(2 * aresta, 0),
+                    new Ponto(2 * aresta, aresta), new Ponto(0, aresta)});
+        }
+
+        @Override
+        public Object executar() {
+            return this.retangulo.getAllIntVertices();
+        }
+    }
+
+    /**
+     * Translação de um quadrado de lado igual à aresta pelo caminho interno, que dispensa a validação por a
+     * translação ser uma transformação rígida.
+     */
+    public static class QuadradoTranslate implements Cenario {
+        Quadrado quadrado;
+
+        @Override
+        public void preparar(int arena, int aresta, int comprimento) {
+            this.quadrado = new Quadrado(new Ponto[]{new Ponto(0, 0), new Ponto(aresta, 0), new Ponto(aresta, aresta),
+                    new Ponto(0, aresta)});
+        }
+
+        @Override
+        public Object executar() {
+            return this.quadrado.translate(1, 1);
+        }
+    }
+
+    /**
+     * A mesma translação de QuadradoTranslate, mas construindo o quadrado com o construtor público, que o valida.
+     */
+    public static class QuadradoTranslateValidado extends QuadradoTranslate {
+        @Override
+        public Object executar() {
+            Ponto[] vertices = this.quadrado.getVertices();
+            Ponto[] p = new Ponto[vertices.length];
+            for (int i = 0; i < vertices.length; i++)
+                p[i] = vertices[i].translate(1, 1);
+            return new Quadrado(p);
+        }
+    }
+
+    /**
+     * Translação de um triângulo de base e altura iguais à aresta pelo caminho interno, sem validação.
+     */
+    public static class TrianguloTranslate implements Cenario {
+        Triangulo triangulo;
+
+        @Override
+        public void preparar(int arena, int aresta, int comprimento) {
+            this.triangulo = new Triangulo(new Ponto[]{new Ponto(0, 0), new Ponto(aresta, 0),
+                    new Ponto(aresta / 2.0, aresta)});
+        }
+
+        @Override
+        public Object executar() {
+            return this.triangulo.translate(1, 1);
+        }
+    }
+
+    /**
+     * A mesma translação de TrianguloTranslate, mas construindo o triângulo com o construtor público, que o valida.
+     */
+    public static class TrianguloTranslateValidado extends TrianguloTranslate {
+        @Override
+        public Object executar() {
+            Ponto[] vertices = this.triangulo.getVertices();
+            Ponto[] p = new Ponto[vertices.length];
+            for (int i = 0; i < vertices.length; i++)
+                p[i] = vertices[i].translate(1, 1);
+            return new Triangulo(p);
+        }
+    }
+
+    /**
+     * Movimento da cobra. A cobra percorre a arena em ziguezague, descendo uma linha e invertendo o sentido ao fim
+     * de cada linha, para que nunca coma a cauda.
+     */
+    public static class CobraMove implements Cenario {
+        private Cobra cobra;
+        private int colunas, passos, sentido;
+
+        @Override
+        public void preparar(int arena, int aresta, int comprimento) {
+            this.cobra = cobra(arena, aresta, comprimento);
+            this.colunas = arena / (aresta + 1);
+            this.sentido = 0;
+        }
+
+        @Override
+        public Object executar() {
+            if (++this.passos == this.colunas) {
+                this.passos = 0;
+                this.cobra.setDir(270);
+                this.cobra.move();
+                this.sentido = 180 - this.sentido;
+                this.cobra.setDir(this.sentido);
+            }
+            this.cobra.move();
+            return this.cobra;
+        }
+    }
+
+    /**
+     * Pixels da cobra que intersetam os obstáculos, usando o mapa de ocupação do jogo.
+     */
+    public static class CobraFindIntersections implements Cenario {
+        Cobra cobra;
+        MapaOcupacao mapa;
+
+        @Override
+        public void preparar(int arena, int aresta, int comprimento) {
+            int lado = Jogo.OptimalSizeArena(aresta, arena);
+            this.cobra = cobra(lado, aresta, comprimento);
+            this.mapa = new MapaOcupacao(lado, lado);
+            BufferSegmentos segmentos = new BufferSegmentos();
+            for (Obstaculo o : obstaculos(lado, this.cobra))
+                o.addSpans(segmentos);
+            this.mapa.stamp(segmentos);
+        }
+
+        @Override
+        public Object executar() {
+            return this.cobra.findIntersections(this.mapa);
+        }
+    }
+
+    /**
+     * Obstáculos intersetados pela cobra numa arena muito mais densa do que a do jogo (um obstáculo por cada oito
+     * células), testando cada segmento contra a lista de todos os obstáculos.
+     */
+    public static class ObstaculosDensosLista implements Cenario {
+        Cobra cobra;
+        List<Obstaculo> obstaculos;
+        GrelhaObstaculos grelha;
+
+        @Override
+        public void preparar(int arena, int aresta, int comprimento) {
+            int lado = Jogo.OptimalSizeArena(aresta, arena);
+            this.cobra = cobra(lado, aresta, comprimento);
+            this.obstaculos = new ArrayList<>();
+            this.grelha = new GrelhaObstaculos(lado, lado, aresta);
+            SplittableRandom random = new SplittableRandom(SEMENTE + 1);
+            int celulas = (lado / (aresta + 1)) * (lado / (aresta + 1));
+            for (int i = 0; i < celulas / 8; i++) {
+                Obstaculo o = new Obstaculo(lado, lado, this.cobra, random.split());
+                this.obstaculos.add(o);
+                this.grelha.add(o);
+            }
+        }
+
+        @Override
+        public Object executar() {
+            return this.cobra.getIntersectedObstacles(this.obstaculos);
+        }
+    }
+
+    /**
+     * O mesmo que ObstaculosDensosLista, mas só com os obstáculos que a grelha associa à célula de cada segmento.
+     */
+    public static class ObstaculosDensosGrelha extends ObstaculosDensosLista {
+        @Override
+        public Object executar() {
+            return this.cobra.getIntersectedObstacles(this.grelha);
+        }
+    }
+
+    /**
+     * Geração de comida a partir do índice de células livres.
+     */
+    public static class ComidaNova implements Cenario {
+        private Cobra cobra;
+        private IndiceCelulasLivres livres;
+        private final SplittableRandom random = new SplittableRandom(SEMENTE);
+
+        @Override
+        public void preparar(int arena, int aresta, int comprimento) {
+            int lado = Jogo.OptimalSizeArena(aresta, arena);
+            this.cobra = cobra(lado, aresta, comprimento);
+            this.livres = new IndiceCelulasLivres(lado, lado, aresta);
+            this.cobra.setFreeCellIndex(this.livres);
+            for (Obstaculo o : obstaculos(lado, this.cobra))
+                o.occupyCells(this.livres);
+        }
+
+        @Override
+        public Object executar() {
+            return new Comida(this.livres, this.cobra, this.random);
+        }
+    }
+
+    /**
+     * Uma jogada completa do motor do jogo, como no jogo na consola mas sem desenho no terminal. A cobra segue a
+     * comida como a IA do jogo gráfico e, quando o jogo termina, é recomeçado, pelo que o custo de recomeçar fica
+     * diluído nas jogadas. O parâmetro desenhar indica se o motor mantém a arena de caracteres.
+     */
+    public static class Jogada implements Cenario {
+        private final boolean desenhar;
+        private int lado, aresta;
+        private MotorJogo motor;
+        private SplittableRandom random;
+        private final BufferPontos alteradas = new BufferPontos();
+
+        /**
+         * Construtor do cenário com a arena de caracteres desenhada, como no jogo na consola.
+         */
+        public Jogada() {
+            this(true);
+        }
+
+        /**
+         * Construtor do cenário.
+         *
+         * @param desenhar Indica se o motor mantém a arena de caracteres (tipo booleano).
+         */
+        protected Jogada(boolean desenhar) {
+            this.desenhar = desenhar;
+        }
+
+        @Override
+        public void preparar(int arena, int aresta, int comprimento) {
+            this.lado = Jogo.OptimalSizeArena(aresta, arena);
+            this.aresta = aresta;
+            this.random = new SplittableRandom(SEMENTE);
+            recomecar();
+        }
+
+        /**
+         * Cria um jogo novo, com a cobra de um só segmento e uma semente tirada da sequência do cenário.
+         */
+        private void recomecar() {
+            this.motor = new MotorJogo(this.lado, this.lado, this.aresta, true, true, this.desenhar,
+                    this.random.nextLong());
+            this.motor.getSnake().setDir(0);
+        }
+
+        /**
+         * Escolhe a direção da cobra em direção à comida, evitando paredes e a cauda.
+         */
+        private void seguirComida() {
+            Comida comida = this.motor.getFood();
+            Cobra cobra = this.motor.getSnake();
+            Ponto alvo = comida.getFood() instanceof Quadrado quadrado ? quadrado.getTopLeft()
+                    : ((Circunferencia) comida.getFood()).getCenter();
+            int x = cobra.getSegmentX(0), y = cobra.getSegmentY(0);
+            int dir = y > alvo.getY() ? 90 : y + this.aresta < alvo.getY() ? 270 : x > alvo.getX() ? 180 : 0;
+            cobra.setSafeDir(dir, this.lado, this.lado);
+        }
+
+        @Override
+        public Object executar() {
+            seguirComida();
+            EventoJogo evento = this.motor.step(null);
+            if (this.motor.getArena() != null) {
+                // Equivalente ao que o renderizador da consola consome em cada jogada
+                this.alteradas.clear();
+                this.motor.getArena().drainChangedCells(this.alteradas);
+            }
+            if (evento.terminaJogo())
+                recomecar();
+            return evento;
+        }
+    }
+
+    /**
+     * Uma jogada do motor do jogo sem a arena de caracteres, como nas simulações sem interface.
+     */
+    public static class JogadaSemDesenho extends Jogada {
+        /**
+         * Construtor do cenário sem a arena de caracteres.
+         */
+        public JogadaSemDesenho() {
+            super(false);
+        }
+    }
+
+    /**
+     * Uma jogada do motor sem desenho com a cobra perto do comprimento máximo, o pior caso para a cobra e para o
+     * índice de células livres. A cobra é controlada por IACiclo, numa arena sem obstáculos, e cada jogo começa a
+     * ser medido quando a cobra ocupa três quartos da arena; quando termina, é recomeçado da mesma forma. Se a
+     * arena tiver um número ímpar de colunas, é alargada uma coluna e uma linha, pois só assim tem ciclo.
+     */
+    public static class JogadaCobraCheia implements Cenario {
+        private int lado, aresta;
+        MotorJogo motor;
+        private JogadorIA ia;
+        private SplittableRandom random;
+
+        @Override
+        public void preparar(int arena, int aresta, int comprimento) {
+            this.lado = Jogo.OptimalSizeArena(aresta, arena);
+            if (this.lado / (aresta + 1) % 2 != 0)
+                this.lado += aresta + 1;
+            this.aresta = aresta;
+            this.random = new SplittableRandom(SEMENTE);
+            recomecar();
+        }
+
+        /**
+         * Cria um jogo novo e joga-o até a cobra ocupar três quartos das células da arena.
+         */
+        private void recomecar() {
+            this.motor = new MotorJogo(this.lado, this.lado, this.aresta, true, false, false, this.random.nextLong());
+            this.ia = new IACiclo();
+            int celulas = (this.lado / (this.aresta + 1)) * (this.lado / (this.aresta + 1));
+            while (this.motor.getSnake().getLength() < celulas * 3 / 4) {
+                this.ia.aiMove(this.motor);
+                if (this.motor.step(null).terminaJogo())
+                    throw new IllegalStateException("A IA perdeu o jogo antes de encher a arena");
+            }
+        }
+
+        @Override
+        public Object executar() {
+            this.ia.aiMove(this.motor);
+            EventoJogo evento = this.motor.step(null);
+            if (evento.terminaJogo())
+                recomecar();
+            return evento;
+        }
+    }
+
+    /**
+     * Uma jogada como em JogadaCobraCheia, seguida da pintura do jogo numa imagem, como a interface gráfica faz em
+     * cada jogada. Como na SimulacaoJogo, a fotografia é reutilizada e só copia os segmentos novos da cobra, e a
+     * cobra é desenhada de forma incremental, pelo que o tempo de cada imagem não depende do comprimento.
+     */
+    public static class PintarCobraCheia extends JogadaCobraCheia {
+        private final RenderizadorGrafico renderizador = new RenderizadorGrafico();
+        private FotografiaJogo fotografia;
+        private Graphics2D g;
+
+        @Override
+        public void preparar(int arena, int aresta, int comprimento) {
+            super.preparar(arena, aresta, comprimento);
+            BufferedImage imagem = new BufferedImage(this.motor.getWidth() + 1, this.motor.getHeight() + 1,
+                    BufferedImage.TYPE_INT_RGB);
+            this.g = imagem.createGraphics();
+        }
+
+        @Override
+        public Object executar() {
+            Object evento = super.executar();
+            // Um jogo recomeçado precisa de uma fotografia nova, pois cada fotografia pertence a um só jogo
+            if (this.fotografia == null || this.fotografia.getJogo() != this.motor)
+                this.fotografia = new FotografiaJogo(this.motor);
+            else
+                this.fotografia.atualizar(this.motor, 0, 0, 0, 0, 0);
+            this.renderizador.render(this.g, this.fotografia);
+            return evento;
+        }
+
+        @Override
+        public void terminar() {
+            this.g.dispose();
+        }
+    }
+
+    /**
+     * Registo de uma pontuação na tabela de recordes, que espera até a pontuação estar no disco. O cenário pode
+     * ser executado por várias threads ao mesmo tempo, como vários jogos a terminar juntos; as pontuações em
+     * espera são escritas em lote, pelo que o débito cresce com o número de threads. A tabela é criada numa
+     * diretoria temporária, apagada no fim.
+     */
+    public static class SubmeterPontuacao implements Cenario {
+        private Path diretoria;
+        private RegistoPontuacoes registo;
+
+        @Override
+        public void preparar(int arena, int aresta, int comprimento) {
+            try {
+                this.diretoria = Files.createTempDirectory("pontuacoes");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.registo = new RegistoPontuacoes(this.diretoria.resolve("pontuacoes"),
+                    this.diretoria.resolve("resultados.txt"));
+        }
+
+        @Override
+        public Object executar() {
+            this.registo.adicionar(ThreadLocalRandom.current().nextInt(100000), "IA");
+            return this.registo;
+        }
+
+        @Override
+        public void terminar() {
+            this.registo.close();
+            try (Stream<Path> ficheiros = Files.list(this.diretoria)) {
+                for (Path p : (Iterable<Path>) ficheiros::iterator)
+                    Files.delete(p);
+                Files.delete(this.diretoria);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
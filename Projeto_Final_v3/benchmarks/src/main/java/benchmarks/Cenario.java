@@ -0,0 +1,50 @@
+package benchmarks;
+
+/**
+ * A interface Cenario representa uma operação do jogo a medir. As classes do jogo estão no pacote por omissão, que
+ * não pode ser usado a partir de um pacote com nome nem pelo JMH, pelo que os cenários são implementados no pacote
+ * por omissão (classe Cenarios) e executados pelos benchmarks através desta interface.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ */
+
+public interface Cenario {
+    /**
+     * Prepara o estado do cenário. É chamado uma vez, antes das medições.
+     *
+     * @param arena       O lado da arena (tipo int).
+     * @param aresta      O tamanho da aresta da cabeça da cobra (tipo int).
+     * @param comprimento O número de segmentos da cobra (tipo int).
+     */
+    void preparar(int arena, int aresta, int comprimento);
+
+    /**
+     * Executa uma vez a operação medida.
+     *
+     * @return O resultado da operação, para que o JMH o consuma (tipo Object).
+     */
+    Object executar();
+
+    /**
+     * Liberta os recursos do cenário, como ficheiros temporários. É chamado uma vez, depois das medições.
+     */
+    default void terminar() {
+    }
+
+    /**
+     * Cria e prepara um cenário da classe Cenarios.
+     *
+     * @param nome        O nome da classe interna de Cenarios que implementa o cenário (tipo String).
+     * @param arena       O lado da arena (tipo int).
+     * @param aresta      O tamanho da aresta da cabeça da cobra (tipo int).
+     * @param comprimento O número de segmentos da cobra (tipo int).
+     * @return O cenário preparado (tipo Cenario).
+     * @throws ReflectiveOperationException Se o cenário não existir.
+     */
+    static Cenario criar(String nome, int arena, int aresta, int comprimento) throws ReflectiveOperationException {
+        Cenario cenario = (Cenario) Class.forName("Cenarios$" + nome).getDeclaredConstructor().newInstance();
+        cenario.preparar(arena, aresta, comprimento);
+        return cenario;
+    }
+}
@@ -0,0 +1,87 @@
+package benchmarks;
+
+/**
+ * A classe GeometriaBenchmark mede as operações geométricas usadas em cada jogada: interseção de polígonos e de
+ * segmentos de reta, rasterização de circunferências e retângulos e translação de quadrados e triângulos, com e
+ * sem validação, para vários tamanhos de aresta.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ */
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeometriaBenchmark {
+    @Param({"4", "8", "32"})
+    public int aresta;
+
+    private Cenario poligonoIntersects, poligonoIntersectsAfastados, segmentoIntersects, circunferenciaVertices,
+            retanguloVertices, quadradoTranslate, quadradoTranslateValidado, trianguloTranslate,
+            trianguloTranslateValidado;
+
+    @Setup(Level.Trial)
+    public void preparar() throws ReflectiveOperationException {
+        this.poligonoIntersects = Cenario.criar("PoligonoIntersects", 0, this.aresta, 0);
+        this.poligonoIntersectsAfastados = Cenario.criar("PoligonoIntersectsAfastados", 0, this.aresta, 0);
+        this.segmentoIntersects = Cenario.criar("SegmentoIntersects", 0, this.aresta, 0);
+        this.circunferenciaVertices = Cenario.criar("CircunferenciaVertices", 0, this.aresta, 0);
+        this.retanguloVertices = Cenario.criar("RetanguloVertices", 0, this.aresta, 0);
+        this.quadradoTranslate = Cenario.criar("QuadradoTranslate", 0, this.aresta, 0);
+        this.quadradoTranslateValidado = Cenario.criar("QuadradoTranslateValidado", 0, this.aresta, 0);
+        this.trianguloTranslate = Cenario.criar("TrianguloTranslate", 0, this.aresta, 0);
+        this.trianguloTranslateValidado = Cenario.criar("TrianguloTranslateValidado", 0, this.aresta, 0);
+    }
+
+    @Benchmark
+    public Object poligonoIntersects() {
+        return this.poligonoIntersects.executar();
+    }
+
+    @Benchmark
+    public Object poligonoIntersectsAfastados() {
+        return this.poligonoIntersectsAfastados.executar();
+    }
+
+    @Benchmark
+    public Object segmentoRetaIntersects() {
+        return this.segmentoIntersects.executar();
+    }
+
+    @Benchmark
+    public Object circunferenciaGetAllIntVertices() {
+        return this.circunferenciaVertices.executar();
+    }
+
+    @Benchmark
+    public Object retanguloGetAllIntVertices() {
+        return this.retanguloVertices.executar();
+    }
+
+    @Benchmark
+    public Object quadradoTranslate() {
+        return this.quadradoTranslate.executar();
+    }
+
+    @Benchmark
+    public Object quadradoTranslateValidado() {
+        return this.quadradoTranslateValidado.executar();
+    }
+
+    @Benchmark
+    public Object trianguloTranslate() {
+        return this.trianguloTranslate.executar();
+    }
+
+    @Benchmark
+    public Object trianguloTranslateValidado() {
+        return this.trianguloTranslateValidado.executar();
+    }
+}
@@ -0,0 +1,99 @@
+package benchmarks;
+
+/**
+ * A classe JogoBenchmark mede as operações do ciclo de jogo: movimento da cobra, colisão com os obstáculos,
+ * geração de comida e uma jogada completa do motor do jogo, com e sem a arena de caracteres, e a pintura do jogo na
+ * interface gráfica, para vários tamanhos de arena, de aresta da cabeça e de comprimento da cobra.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ */
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JogoBenchmark {
+    @Param({"60", "200"})
+    public int arena;
+
+    @Param({"4", "8"})
+    public int aresta;
+
+    @Param({"4", "32"})
+    public int comprimento;
+
+    private Cenario cobraMove, cobraFindIntersections, obstaculosDensosLista,
+            obstaculosDensosGrelha, comidaNova, jogada, jogadaSemDesenho, jogadaCobraCheia, pintarCobraCheia;
+
+    @Setup(Level.Trial)
+    public void preparar() throws ReflectiveOperationException {
+        this.cobraMove = Cenario.criar("CobraMove", this.arena, this.aresta, this.comprimento);
+        this.cobraFindIntersections = Cenario.criar("CobraFindIntersections", this.arena, this.aresta, this.comprimento);
+        this.obstaculosDensosLista = Cenario.criar("ObstaculosDensosLista", this.arena, this.aresta,
+                this.comprimento);
+        this.obstaculosDensosGrelha = Cenario.criar("ObstaculosDensosGrelha", this.arena, this.aresta,
+                this.comprimento);
+        this.comidaNova = Cenario.criar("ComidaNova", this.arena, this.aresta, this.comprimento);
+        this.jogada = Cenario.criar("Jogada", this.arena, this.aresta, this.comprimento);
+        this.jogadaSemDesenho = Cenario.criar("JogadaSemDesenho", this.arena, this.aresta, this.comprimento);
+        this.jogadaCobraCheia = Cenario.criar("JogadaCobraCheia", this.arena, this.aresta, this.comprimento);
+        this.pintarCobraCheia = Cenario.criar("PintarCobraCheia", this.arena, this.aresta, this.comprimento);
+    }
+
+    @TearDown(Level.Trial)
+    public void terminar() {
+        this.pintarCobraCheia.terminar();
+    }
+
+    @Benchmark
+    public Object cobraMove() {
+        return this.cobraMove.executar();
+    }
+
+    @Benchmark
+    public Object cobraFindIntersections() {
+        return this.cobraFindIntersections.executar();
+    }
+
+    @Benchmark
+    public Object obstaculosDensosLista() {
+        return this.obstaculosDensosLista.executar();
+    }
+
+    @Benchmark
+    public Object obstaculosDensosGrelha() {
+        return this.obstaculosDensosGrelha.executar();
+    }
+
+    @Benchmark
+    public Object comidaNova() {
+        return this.comidaNova.executar();
+    }
+
+    @Benchmark
+    public Object jogada() {
+        return this.jogada.executar();
+    }
+
+    @Benchmark
+    public Object jogadaSemDesenho() {
+        return this.jogadaSemDesenho.executar();
+    }
+
+    @Benchmark
+    public Object jogadaCobraCheia() {
+        return this.jogadaCobraCheia.executar();
+    }
+
+    @Benchmark
+    public Object pintarCobraCheia() {
+        return this.pintarCobraCheia.executar();
+    }
+}
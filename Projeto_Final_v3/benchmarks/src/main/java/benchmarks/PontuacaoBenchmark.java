@@ -0,0 +1,52 @@
+package benchmarks;
+
+/**
+ * A classe PontuacaoBenchmark mede o débito do registo de pontuações na tabela de recordes com uma e com várias
+ * threads a submeter ao mesmo tempo. Cada operação só termina quando a pontuação está no disco, pelo que com uma
+ * thread o débito é limitado pela sincronização com o disco e com várias mostra o ganho de escrever em lote.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ */
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PontuacaoBenchmark {
+    private Cenario submeterPontuacao;
+
+    @Setup(Level.Trial)
+    public void preparar() throws ReflectiveOperationException {
+        this.submeterPontuacao = Cenario.criar("SubmeterPontuacao", 0, 0, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void terminar() {
+        this.submeterPontuacao.terminar();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object submeterUmaThread() {
+        return this.submeterPontuacao.executar();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object submeterOitoThreads() {
+        return this.submeterPontuacao.executar();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Object submeterTrintaEDuasThreads() {
+        return this.submeterPontuacao.executar();
+    }
+}
@@ -7,12 +7,21 @@
  * @inv A arena deve ter largura e altura superior a 10.
  */
 
+import java.util.Arrays;
 import java.util.List;
 
-import static java.lang.Math.pow;
-
 public class Arena {
     private final char[][] arena;
+    private final BufferPontos pontos = new BufferPontos();
+    // Estado da cobra no último desenho, para desenhar só as posições que mudaram
+    private Cobra snakeDesenhada;
+    private boolean snakeCompleta;
+    private long snakeMoves;
+    private int headX, headY, tailX, tailY;
+    private final BufferPontos comidaComida = new BufferPontos();
+    private final BufferPontos alteradas = new BufferPontos();
+    private final BufferSegmentos segmentos = new BufferSegmentos();
+    private final MapaOcupacao marcadas;
 
     /**
      * Constrói uma arena de jogo baseada nas dimensões fornecidas.
@@ -28,35 +37,149 @@ public class Arena {
         for (int i = 0; i < height; i++)
             for (int j = 0; j < width; j++)
                 this.arena[i][j] = '.';
+        this.marcadas = new MapaOcupacao(width, height);
+    }
+
+    /**
+     * Altera o caractere de uma posição da arena e, se este mudou, regista a posição como alterada
+     * para que possa ser redesenhada sem percorrer toda a arena.
+     *
+     * @param x Coordenada x da posição (tipo int).
+     * @param y Coordenada y da posição (tipo int).
+     * @param c O novo caractere da posição (tipo char).
+     */
+    private void setCell(int x, int y, char c) {
+        if (this.arena[y][x] == c)
+            return;
+        this.arena[y][x] = c;
+        if (!this.marcadas.contains(x, y)) {
+            this.marcadas.set(x, y);
+            this.alteradas.add(x, y);
+        }
+    }
+
+    /**
+     * Preenche com um caractere os pixels de uma linha entre duas colunas, ambas inclusivas, recortados aos limites
+     * da arena. A linha é escrita de uma só vez; só as posições que mudam são registadas como alteradas.
+     *
+     * @param y      A linha (tipo int).
+     * @param inicio A primeira coluna (tipo int).
+     * @param fim    A última coluna (tipo int).
+     * @param c      O novo caractere das posições (tipo char).
+     */
+    private void fillRow(int y, int inicio, int fim, char c) {
+        if (y < 0 || y >= this.arena.length)
+            return;
+        char[] linha = this.arena[y];
+        inicio = Math.max(inicio, 0);
+        fim = Math.min(fim, linha.length - 1);
+        for (int x = inicio; x <= fim; x++)
+            if (linha[x] != c && !this.marcadas.contains(x, y)) {
+                this.marcadas.set(x, y);
+                this.alteradas.add(x, y);
+            }
+        if (inicio <= fim)
+            Arrays.fill(linha, inicio, fim + 1, c);
+    }
+
+    /**
+     * Retorna o caractere de uma posição da arena.
+     *
+     * @param x Coordenada x da posição (tipo int).
+     * @param y Coordenada y da posição (tipo int).
+     * @return O caractere da posição (tipo char).
+     */
+    public char getCell(int x, int y) {
+        return this.arena[y][x];
+    }
+
+    /**
+     * Acrescenta ao buffer fornecido as posições da arena alteradas desde a última chamada e esquece-as,
+     * de forma a que cada alteração seja entregue uma única vez.
+     *
+     * @param destino O buffer (tipo BufferPontos) onde as posições alteradas são acrescentadas.
+     */
+    public void drainChangedCells(BufferPontos destino) {
+        for (int i = 0; i < this.alteradas.size(); i++) {
+            int x = this.alteradas.getX(i);
+            int y = this.alteradas.getY(i);
+            this.marcadas.remove(x, y);
+            destino.add(x, y);
+        }
+        this.alteradas.clear();
     }
 
     /**
      * Desenha a cobra na arena, atualizando a representação gráfica dos pontos onde a cobra se localiza.
+     * Se a cobra avançou um único passo desde o último desenho, só são escritas as posições que mudaram: a nova
+     * cabeça, a cabeça anterior, que passa a corpo, e a cauda deixada livre, se a cobra não cresceu. Caso contrário,
+     * a cobra anterior é apagada e a atual é desenhada por inteiro.
      *
      * @param snake    A cobra a ser desenhada na arena (tipo Cobra).
      * @param complete Indica se a cobra deve ser desenhada completamente ou apenas os pontos de contorno (tipo booleano).
      * @return Verdadeiro se a cobra foi desenhada com sucesso; falso se algum ponto da cobra está fora dos limites (tipo booleano).
      */
     public boolean drawSnake(Cobra snake, boolean complete) {
-        // Primeiro limpa os pontos antigos da cobra
-        for (char[] row : this.arena)
-            for (int j = 0; j < row.length; j++)
-                if (row[j] == 'H' || row[j] == 'T')
-                    row[j] = '.';
-
-        List<Ponto> snakePoints = !complete ? snake.getBoundaryIntPoints() : snake.getAllIntPoints();
-        int pontosH = !complete ? (snake.getEdge() + 1) * 4 : (int) pow(snake.getEdge() + 1, 2);
-        for (int i = 0; i < snakePoints.size(); i++) {
-            int x = (int) snakePoints.get(i).getX();
-            int y = (int) snakePoints.get(i).getY();
-            if (x >= 0 && x < this.arena[0].length && y >= 0 && y < this.arena.length)
-                this.arena[y][x] = (i < pontosH) ? 'H' : 'T';
-            else
-                return false;
+        int edge = snake.getEdge(), length = snake.getLength();
+        int x = snake.getSegmentX(0), y = snake.getSegmentY(0);
+        if (x < 0 || y < 0 || x + edge >= this.arena[0].length || y + edge >= this.arena.length)
+            return false;
+
+        boolean mesmaCobra = snake == this.snakeDesenhada && complete == this.snakeCompleta;
+        if (mesmaCobra && snake.getMoves() == this.snakeMoves)
+            return true;
+        if (mesmaCobra && snake.getMoves() == this.snakeMoves + 1 &&
+                (length == 1 || (snake.getSegmentX(1) == this.headX && snake.getSegmentY(1) == this.headY))) {
+            // A cauda anterior só fica livre se não for a cauda atual (a cobra cresceu) nem a nova cabeça
+            int tail = length - 1;
+            if ((snake.getSegmentX(tail) != this.tailX || snake.getSegmentY(tail) != this.tailY) &&
+                    (x != this.tailX || y != this.tailY))
+                paintSegment(this.tailX, this.tailY, edge, complete, '.');
+            if (length > 1)
+                paintSegment(this.headX, this.headY, edge, complete, 'T');
+            paintSegment(x, y, edge, complete, 'H');
+        } else {
+            // Só o próprio desenho da cobra escreve 'H' e 'T', pelo que limpar estes caracteres apaga a cobra anterior
+            for (int i = 0; i < this.arena.length; i++)
+                for (int j = 0; j < this.arena[i].length; j++)
+                    if (this.arena[i][j] == 'H' || this.arena[i][j] == 'T')
+                        setCell(j, i, '.');
+            for (int i = length - 1; i >= 0; i--) {
+                int sx = snake.getSegmentX(i), sy = snake.getSegmentY(i);
+                if (sx < 0 || sy < 0 || sx + edge >= this.arena[0].length || sy + edge >= this.arena.length)
+                    return false;
+                paintSegment(sx, sy, edge, complete, i == 0 ? 'H' : 'T');
+            }
         }
+
+        this.snakeDesenhada = snake;
+        this.snakeCompleta = complete;
+        this.snakeMoves = snake.getMoves();
+        this.headX = x;
+        this.headY = y;
+        this.tailX = snake.getSegmentX(length - 1);
+        this.tailY = snake.getSegmentY(length - 1);
         return true;
     }
 
+    /**
+     * Escreve um caractere nos pixels de um segmento da cobra, todos ou só os do contorno. Ao apagar, com '.', só
+     * são limpas as posições que ainda mostram a cobra, para não apagar comida ou obstáculos desenhados por cima.
+     *
+     * @param x0       Coordenada x do canto superior esquerdo do segmento (tipo int).
+     * @param y0       Coordenada y do canto superior esquerdo do segmento (tipo int).
+     * @param edge     A aresta do segmento (tipo int).
+     * @param complete Indica se são escritos todos os pixels ou apenas os do contorno (tipo booleano).
+     * @param c        O caractere a escrever (tipo char).
+     */
+    private void paintSegment(int x0, int y0, int edge, boolean complete, char c) {
+        for (int y = y0; y <= y0 + edge; y++)
+            for (int x = x0; x <= x0 + edge; x++)
+                if ((complete || y == y0 || y == y0 + edge || x == x0 || x == x0 + edge) &&
+                        (c != '.' || this.arena[y][x] == 'H' || this.arena[y][x] == 'T'))
+                    setCell(x, y, c);
+    }
+
     /**
      * Desenha a comida na arena. Marca os pontos onde a comida está localizada.
      *
@@ -64,12 +187,16 @@ public class Arena {
      * @param complete Indica se a comida deve ser desenhada completamente ou apenas os pontos de contorno (tipo booleano).
      */
     public void drawFood(Comida comida, boolean complete) {
-        Ponto[] pontos = !complete ? comida.getBoundaryIntPoints() : comida.getAllIntPoints();
-        for (Ponto ponto : pontos) {
-            int x = (int) ponto.getX();
-            int y = (int) ponto.getY();
+        this.pontos.clear();
+        if (!complete)
+            comida.addBoundaryIntPoints(this.pontos);
+        else
+            comida.addAllIntPoints(this.pontos);
+        for (int i = 0; i < this.pontos.size(); i++) {
+            int x = this.pontos.getX(i);
+            int y = this.pontos.getY(i);
             if (x >= 0 && x < this.arena[0].length && y >= 0 && y < this.arena.length)
-                this.arena[y][x] = 'F';
+                setCell(x, y, 'F');
         }
     }
 
@@ -80,22 +207,29 @@ public class Arena {
      * @param complete Indica se a comida comida deve ser desenhada completamente ou apenas os pontos de contorno (tipo booleano).
      */
     public void drawEatenFood(Comida comida, boolean complete) {
-        Ponto[] pontos = !complete ? comida.getBoundaryIntPoints() : comida.getAllIntPoints();
-        for (Ponto ponto : pontos) {
-            int x = (int) ponto.getX();
-            int y = (int) ponto.getY();
-            this.arena[y][x] = '#';
+        if (!complete)
+            comida.addBoundaryIntPoints(this.comidaComida);
+        else
+            comida.addAllIntPoints(this.comidaComida);
+        for (int i = 0; i < this.comidaComida.size(); i++) {
+            int x = this.comidaComida.getX(i);
+            int y = this.comidaComida.getY(i);
+            setCell(x, y, '#');
         }
     }
 
     /**
-     * Remove a representação gráfica da comida que foi consumida.
+     * Remove a representação gráfica da comida que foi consumida, percorrendo apenas os pontos marcados
+     * desde a última remoção.
      */
     public void deleteEatenFood() {
-        for (char[] row : this.arena)
-            for (int j = 0; j < row.length; j++)
-                if (row[j] == '#')
-                    row[j] = '.';
+        for (int i = 0; i < this.comidaComida.size(); i++) {
+            int x = this.comidaComida.getX(i);
+            int y = this.comidaComida.getY(i);
+            if (this.arena[y][x] == '#')
+                setCell(x, y, '.');
+        }
+        this.comidaComida.clear();
     }
 
     /**
@@ -105,12 +239,20 @@ public class Arena {
      * @param complete  Indica se o obstáculo deve ser desenhado completamente ou apenas os pontos de contorno (tipo booleano).
      */
     public void drawObstacle(Obstaculo obstaculo, boolean complete) {
-        Ponto[] pontos = !complete ? obstaculo.getBoundaryIntPoints() : obstaculo.getAllIntPoints();
-        for (Ponto ponto : pontos) {
-            int x = (int) ponto.getX();
-            int y = (int) ponto.getY();
+        if (complete) {
+            this.segmentos.clear();
+            obstaculo.addSpans(this.segmentos);
+            for (int i = 0; i < this.segmentos.size(); i++)
+                fillRow(this.segmentos.getY(i), this.segmentos.getInicio(i), this.segmentos.getFim(i), 'O');
+            return;
+        }
+        this.pontos.clear();
+        obstaculo.addBoundaryIntPoints(this.pontos);
+        for (int i = 0; i < this.pontos.size(); i++) {
+            int x = this.pontos.getX(i);
+            int y = this.pontos.getY(i);
             if (x >= 0 && x < this.arena[0].length && y >= 0 && y < this.arena.length)
-                this.arena[y][x] = 'O';
+                setCell(x, y, 'O');
         }
     }
 
@@ -123,7 +265,7 @@ public class Arena {
         for (Ponto collisionPoint : collisionPoints)
             if (collisionPoint.getX() >= 0 && collisionPoint.getX() < arena[0].length &&
                     collisionPoint.getY() >= 0 && collisionPoint.getY() < arena.length)
-                arena[(int) collisionPoint.getY()][(int) collisionPoint.getX()] = 'X';
+                setCell((int) collisionPoint.getX(), (int) collisionPoint.getY(), 'X');
     }
 
     /**
@@ -133,12 +275,27 @@ public class Arena {
      * @param complete  Indica se o obstáculo deve ser removido completamente ou apenas os pontos de contorno (tipo booleano).
      */
     public void deleteObstacle(Obstaculo obstaculo, boolean complete) {
-        Ponto[] pontos = !complete ? obstaculo.getBoundaryIntPoints() : obstaculo.getAllIntPoints();
-        for (Ponto ponto : pontos) {
-            int x = (int) ponto.getX();
-            int y = (int) ponto.getY();
+        if (complete) {
+            // A cabeça da cobra pode estar sobre o obstáculo, pelo que a linha não pode ser escrita de uma só vez
+            this.segmentos.clear();
+            obstaculo.addSpans(this.segmentos);
+            for (int i = 0; i < this.segmentos.size(); i++) {
+                int y = this.segmentos.getY(i);
+                if (y >= 0 && y < this.arena.length)
+                    for (int x = Math.max(this.segmentos.getInicio(i), 0);
+                         x <= Math.min(this.segmentos.getFim(i), this.arena[0].length - 1); x++)
+                        if (this.arena[y][x] != 'H')
+                            setCell(x, y, '.');
+            }
+            return;
+        }
+        this.pontos.clear();
+        obstaculo.addBoundaryIntPoints(this.pontos);
+        for (int i = 0; i < this.pontos.size(); i++) {
+            int x = this.pontos.getX(i);
+            int y = this.pontos.getY(i);
             if (x >= 0 && x < this.arena[0].length && y >= 0 && y < this.arena.length && this.arena[y][x] != 'H')
-                this.arena[y][x] = '.';
+                setCell(x, y, '.');
         }
     }
 
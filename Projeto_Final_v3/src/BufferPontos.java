@@ -0,0 +1,135 @@
+/**
+ * A classe BufferPontos guarda uma sequência de pontos de coordenadas inteiras em dois arrays primitivos paralelos.
+ * É usada pelas formas geométricas para rasterizar os seus pixels sem criar um objeto Ponto por pixel, podendo o
+ * mesmo buffer ser limpo e reutilizado de um ciclo de jogo para o seguinte.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ * @inv O número de pontos guardados nunca é superior à capacidade dos arrays.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class BufferPontos {
+    private int[] xs, ys;
+    private int size;
+
+    /**
+     * Construtor para a classe BufferPontos. Cria um buffer vazio com uma capacidade inicial por omissão.
+     */
+    public BufferPontos() {
+        this(64);
+    }
+
+    /**
+     * Construtor para a classe BufferPontos. Cria um buffer vazio com a capacidade inicial indicada.
+     *
+     * @param capacidade A capacidade inicial do buffer (tipo int).
+     */
+    public BufferPontos(int capacidade) {
+        if (capacidade < 1)
+            throw new IllegalArgumentException("Capacidade inválida");
+        this.xs = new int[capacidade];
+        this.ys = new int[capacidade];
+    }
+
+    /**
+     * Acrescenta um ponto ao fim do buffer, aumentando a capacidade dos arrays se necessário.
+     *
+     * @param x Coordenada x do ponto (tipo int).
+     * @param y Coordenada y do ponto (tipo int).
+     */
+    public void add(int x, int y) {
+        if (this.size == this.xs.length) {
+            int novaCapacidade = this.xs.length * 2;
+            this.xs = Arrays.copyOf(this.xs, novaCapacidade);
+            this.ys = Arrays.copyOf(this.ys, novaCapacidade);
+        }
+        this.xs[this.size] = x;
+        this.ys[this.size] = y;
+        this.size++;
+    }
+
+    /**
+     * Acrescenta ao fim do buffer todos os pontos de outro buffer, pela mesma ordem.
+     *
+     * @param outro O buffer (tipo BufferPontos) cujos pontos são acrescentados.
+     */
+    public void addAll(BufferPontos outro) {
+        int novoTamanho = this.size + outro.size;
+        if (novoTamanho > this.xs.length) {
+            int novaCapacidade = Math.max(novoTamanho, this.xs.length * 2);
+            this.xs = Arrays.copyOf(this.xs, novaCapacidade);
+            this.ys = Arrays.copyOf(this.ys, novaCapacidade);
+        }
+        System.arraycopy(outro.xs, 0, this.xs, this.size, outro.size);
+        System.arraycopy(outro.ys, 0, this.ys, this.size, outro.size);
+        this.size = novoTamanho;
+    }
+
+    /**
+     * Esvazia o buffer sem libertar os arrays, para que possa ser reutilizado.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Retorna o número de pontos guardados no buffer.
+     *
+     * @return O número de pontos (tipo int).
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Retorna a coordenada x do ponto na posição indicada.
+     *
+     * @param i A posição do ponto no buffer (tipo int).
+     * @return A coordenada x do ponto (tipo int).
+     */
+    public int getX(int i) {
+        if (i < 0 || i >= this.size)
+            throw new IndexOutOfBoundsException(i);
+        return this.xs[i];
+    }
+
+    /**
+     * Retorna a coordenada y do ponto na posição indicada.
+     *
+     * @param i A posição do ponto no buffer (tipo int).
+     * @return A coordenada y do ponto (tipo int).
+     */
+    public int getY(int i) {
+        if (i < 0 || i >= this.size)
+            throw new IndexOutOfBoundsException(i);
+        return this.ys[i];
+    }
+
+    /**
+     * Converte o conteúdo do buffer num array de pontos, pela mesma ordem em que foram acrescentados.
+     *
+     * @return Um array de pontos (tipo Ponto[]) com os pontos do buffer.
+     */
+    public Ponto[] toPontos() {
+        Ponto[] pontos = new Ponto[this.size];
+        for (int i = 0; i < this.size; i++)
+            pontos[i] = new Ponto(this.xs[i], this.ys[i]);
+        return pontos;
+    }
+
+    /**
+     * Converte o conteúdo do buffer numa lista de pontos, pela mesma ordem em que foram acrescentados.
+     *
+     * @return Uma lista de pontos (tipo List<Ponto>) com os pontos do buffer.
+     */
+    public List<Ponto> toList() {
+        List<Ponto> pontos = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++)
+            pontos.add(new Ponto(this.xs[i], this.ys[i]));
+        return pontos;
+    }
+}
@@ -0,0 +1,215 @@
+/**
+ * A classe BufferSegmentos guarda uma sequência de segmentos horizontais de pixels (linha, início e fim, ambos
+ * inclusivos) em três arrays primitivos paralelos. É o resultado do preenchimento por linhas de varrimento dos
+ * polígonos: um polígono preenchido ocupa poucos segmentos por linha, que podem ser escritos de uma só vez num
+ * mapa de bits ou numa linha da arena, em vez de pixel a pixel.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ * @inv O início de cada segmento nunca é superior ao seu fim.
+ */
+
+import java.util.Arrays;
+
+public class BufferSegmentos {
+    private int[] linhas, inicios, fins;
+    private int size;
+
+    /**
+     * Construtor para a classe BufferSegmentos. Cria um buffer vazio com uma capacidade inicial por omissão.
+     */
+    public BufferSegmentos() {
+        this(16);
+    }
+
+    /**
+     * Construtor para a classe BufferSegmentos. Cria um buffer vazio com a capacidade inicial indicada.
+     *
+     * @param capacidade A capacidade inicial do buffer (tipo int).
+     */
+    public BufferSegmentos(int capacidade) {
+        if (capacidade < 1)
+            throw new IllegalArgumentException("Capacidade inválida");
+        this.linhas = new int[capacidade];
+        this.inicios = new int[capacidade];
+        this.fins = new int[capacidade];
+    }
+
+    /**
+     * Acrescenta um segmento ao fim do buffer, aumentando a capacidade dos arrays se necessário.
+     *
+     * @param y      A linha do segmento (tipo int).
+     * @param inicio A coordenada x do primeiro pixel do segmento (tipo int).
+     * @param fim    A coordenada x do último pixel do segmento (tipo int).
+     */
+    public void add(int y, int inicio, int fim) {
+        if (inicio > fim)
+            throw new IllegalArgumentException("Segmento inválido");
+        if (this.size == this.linhas.length) {
+            int novaCapacidade = this.linhas.length * 2;
+            this.linhas = Arrays.copyOf(this.linhas, novaCapacidade);
+            this.inicios = Arrays.copyOf(this.inicios, novaCapacidade);
+            this.fins = Arrays.copyOf(this.fins, novaCapacidade);
+        }
+        this.linhas[this.size] = y;
+        this.inicios[this.size] = inicio;
+        this.fins[this.size] = fim;
+        this.size++;
+    }
+
+    /**
+     * Ordena os segmentos a partir da posição indicada por linha e por início e junta os que se sobrepõem ou são
+     * contíguos na mesma linha, sem reservar memória. Os segmentos antes dessa posição não são alterados.
+     *
+     * @param desde A posição do primeiro segmento a ordenar (tipo int).
+     */
+    void juntar(int desde) {
+        if (desde < 0 || desde > this.size)
+            throw new IndexOutOfBoundsException(desde);
+        // Heapsort no lugar, para ordenar os três arrays paralelos sem arrays auxiliares
+        int n = this.size - desde;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            descer(desde, i, n);
+        for (int fim = n - 1; fim > 0; fim--) {
+            trocar(desde, desde + fim);
+            descer(desde, 0, fim);
+        }
+
+        int escritos = desde;
+        for (int i = desde; i < this.size; i++) {
+            if (escritos > desde && this.linhas[escritos - 1] == this.linhas[i]
+                    && this.inicios[i] <= this.fins[escritos - 1] + 1) {
+                this.fins[escritos - 1] = Math.max(this.fins[escritos - 1], this.fins[i]);
+                continue;
+            }
+            this.linhas[escritos] = this.linhas[i];
+            this.inicios[escritos] = this.inicios[i];
+            this.fins[escritos] = this.fins[i];
+            escritos++;
+        }
+        this.size = escritos;
+    }
+
+    /**
+     * Desce um segmento no heap dos segmentos a partir de base até ficar maior do que os seus filhos.
+     *
+     * @param base A posição do primeiro segmento do heap (tipo int).
+     * @param i    A posição do segmento no heap (tipo int).
+     * @param n    O número de segmentos no heap (tipo int).
+     */
+    private void descer(int base, int i, int n) {
+        while (2 * i + 1 < n) {
+            int filho = 2 * i + 1;
+            if (filho + 1 < n && menor(base + filho, base + filho + 1))
+                filho++;
+            if (!menor(base + i, base + filho))
+                return;
+            trocar(base + i, base + filho);
+            i = filho;
+        }
+    }
+
+    /**
+     * Compara dois segmentos por linha e, na mesma linha, por início.
+     *
+     * @param i A posição do primeiro segmento (tipo int).
+     * @param j A posição do segundo segmento (tipo int).
+     * @return Verdadeiro se o primeiro segmento vem antes do segundo (tipo booleano).
+     */
+    private boolean menor(int i, int j) {
+        return this.linhas[i] < this.linhas[j]
+                || (this.linhas[i] == this.linhas[j] && this.inicios[i] < this.inicios[j]);
+    }
+
+    /**
+     * Troca dois segmentos de posição.
+     *
+     * @param i A posição do primeiro segmento (tipo int).
+     * @param j A posição do segundo segmento (tipo int).
+     */
+    private void trocar(int i, int j) {
+        int y = this.linhas[i], inicio = this.inicios[i], fim = this.fins[i];
+        this.linhas[i] = this.linhas[j];
+        this.inicios[i] = this.inicios[j];
+        this.fins[i] = this.fins[j];
+        this.linhas[j] = y;
+        this.inicios[j] = inicio;
+        this.fins[j] = fim;
+    }
+
+    /**
+     * Esvazia o buffer sem libertar os arrays, para que possa ser reutilizado.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Retorna o número de segmentos guardados no buffer.
+     *
+     * @return O número de segmentos (tipo int).
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Retorna a linha do segmento na posição indicada.
+     *
+     * @param i A posição do segmento no buffer (tipo int).
+     * @return A coordenada y do segmento (tipo int).
+     */
+    public int getY(int i) {
+        if (i < 0 || i >= this.size)
+            throw new IndexOutOfBoundsException(i);
+        return this.linhas[i];
+    }
+
+    /**
+     * Retorna a coordenada x do primeiro pixel do segmento na posição indicada.
+     *
+     * @param i A posição do segmento no buffer (tipo int).
+     * @return O início do segmento (tipo int).
+     */
+    public int getInicio(int i) {
+        if (i < 0 || i >= this.size)
+            throw new IndexOutOfBoundsException(i);
+        return this.inicios[i];
+    }
+
+    /**
+     * Retorna a coordenada x do último pixel do segmento na posição indicada.
+     *
+     * @param i A posição do segmento no buffer (tipo int).
+     * @return O fim do segmento (tipo int).
+     */
+    public int getFim(int i) {
+        if (i < 0 || i >= this.size)
+            throw new IndexOutOfBoundsException(i);
+        return this.fins[i];
+    }
+
+    /**
+     * Retorna o número total de pixels cobertos pelos segmentos do buffer.
+     *
+     * @return O número de pixels (tipo int).
+     */
+    public int getNumeroPixels() {
+        int total = 0;
+        for (int i = 0; i < this.size; i++)
+            total += this.fins[i] - this.inicios[i] + 1;
+        return total;
+    }
+
+    /**
+     * Acrescenta ao buffer de pontos fornecido todos os pixels dos segmentos, linha a linha e da esquerda para
+     * a direita.
+     *
+     * @param pontos O buffer (tipo BufferPontos) onde os pixels são acrescentados.
+     */
+    public void addPontos(BufferPontos pontos) {
+        for (int i = 0; i < this.size; i++)
+            for (int x = this.inicios[i]; x <= this.fins[i]; x++)
+                pontos.add(x, this.linhas[i]);
+    }
+}
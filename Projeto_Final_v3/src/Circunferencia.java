@@ -7,9 +7,6 @@
  * @inv O raio deve ser superior a 0.
  */
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class Circunferencia {
     private final Ponto center;
     private final double radius;
@@ -104,21 +101,34 @@ public class Circunferencia {
      * @return Um array de pontos (tipo Ponto[]) dentro da circunferência.
      */
     public Ponto[] getAllIntVertices() {
-        List<Ponto> pontosInteiros = new ArrayList<>();
+        BufferPontos pontosInteiros = new BufferPontos();
+        addAllIntVertices(pontosInteiros);
+        return pontosInteiros.toPontos();
+    }
 
+    /**
+     * Acrescenta ao buffer fornecido todos os pontos com coordenadas inteiras que estão dentro da circunferência,
+     * sem criar objetos Ponto.
+     *
+     * @param pontos O buffer (tipo BufferPontos) onde os pontos são acrescentados.
+     */
+    public void addAllIntVertices(BufferPontos pontos) {
         // Determinando os limites para verificação
         int minX = (int) Math.floor(this.center.getX() - this.radius);
         int maxX = (int) Math.ceil(this.center.getX() + this.radius);
         int minY = (int) Math.floor(this.center.getY() - this.radius);
         int maxY = (int) Math.ceil(this.center.getY() + this.radius);
 
+        double radiusSquared = this.radius * this.radius;
+
         // Iterando sobre a grade de pontos dentro dos limites
         for (int x = minX; x <= maxX; x++)
-            for (int y = minY; y <= maxY; y++)
-                if (Math.pow(x - this.center.getX(), 2) + Math.pow(y - this.center.getY(), 2) <= Math.pow(this.radius, 2))
-                    pontosInteiros.add(new Ponto(x, y));
-
-        return pontosInteiros.toArray(new Ponto[0]);
+            for (int y = minY; y <= maxY; y++) {
+                double dx = x - this.center.getX();
+                double dy = y - this.center.getY();
+                if (dx * dx + dy * dy <= radiusSquared)
+                    pontos.add(x, y);
+            }
     }
 
     /**
@@ -127,8 +137,18 @@ public class Circunferencia {
      * @return Um array de pontos (tipo Ponto[]) que estão no contorno da circunferência.
      */
     public Ponto[] getBoundaryIntVertices() {
-        List<Ponto> boundaryPoints = new ArrayList<>();
+        BufferPontos boundaryPoints = new BufferPontos();
+        addBoundaryIntVertices(boundaryPoints);
+        return boundaryPoints.toPontos();
+    }
 
+    /**
+     * Acrescenta ao buffer fornecido os pontos com coordenadas inteiras que estão no contorno da circunferência,
+     * sem criar objetos Ponto.
+     *
+     * @param pontos O buffer (tipo BufferPontos) onde os pontos são acrescentados.
+     */
+    public void addBoundaryIntVertices(BufferPontos pontos) {
         // Determinando os limites para verificação
         int minX = (int) Math.floor(this.center.getX() - this.radius);
         int maxX = (int) Math.ceil(this.center.getX() + this.radius);
@@ -141,14 +161,12 @@ public class Circunferencia {
         // Iterando sobre a grade de pontos dentro dos limites
         for (int x = minX; x <= maxX; x++) {
             for (int y = minY; y <= maxY; y++) {
-                double distSquared = Math.pow(x - this.center.getX(), 2) + Math.pow(y - this.center.getY(), 2);
+                double dx = x - this.center.getX();
+                double dy = y - this.center.getY();
                 // Verifica se o ponto está no contorno usando epsilon para margem de erro
-                if (Math.abs(distSquared - radiusSquared) <= epsilon) {
-                    boundaryPoints.add(new Ponto(x, y));
-                }
+                if (Math.abs(dx * dx + dy * dy - radiusSquared) <= epsilon)
+                    pontos.add(x, y);
             }
         }
-
-        return boundaryPoints.toArray(new Ponto[0]);
     }
 }
@@ -11,9 +11,15 @@
 import java.util.*;
 
 public class Cobra {
-    private final List<Quadrado> snake = new ArrayList<>();
+    private int[] segX = new int[16], segY = new int[16];
+    private int head, length;
+    private long moves;
+    private final ConjuntoCelulas cells = new ConjuntoCelulas();
     private final int edge;
     private int dir = -1;
+    private final BufferPontos pontosCobra = new BufferPontos();
+    private final BufferSegmentos segmentosObstaculo = new BufferSegmentos();
+    private IndiceCelulasLivres livres;
 
     /**
      * Constrói uma cobra inicialmente com um quadrado, posicionada aleatoriamente dentro do espaço de jogo.
@@ -24,6 +30,20 @@ public class Cobra {
      * @throws IllegalArgumentException Se o tamanho da cobra for inválido.
      */
     public Cobra(int height, int width, int edge) {
+        this(height, width, edge, new SplittableRandom());
+    }
+
+    /**
+     * Constrói uma cobra inicialmente com um quadrado, posicionada dentro do espaço de jogo com o gerador de
+     * números aleatórios fornecido, para que a posição inicial possa ser reproduzida.
+     *
+     * @param height Altura do espaço de jogo (tipo int).
+     * @param width  Largura do espaço de jogo (tipo int).
+     * @param edge   Tamanho de cada segmento da cobra (tipo int).
+     * @param random O gerador de números aleatórios a usar (tipo SplittableRandom).
+     * @throws IllegalArgumentException Se o tamanho da cobra for inválido.
+     */
+    public Cobra(int height, int width, int edge, SplittableRandom random) {
         if (edge < 1)
             throw new IllegalArgumentException("Cobra não pode ter tamanho nulo ou negativo");
         if (height / 5 < edge || width / 5 < edge)
@@ -31,16 +51,69 @@ public class Cobra {
         this.edge = edge;
 
         int movementUnit = edge + 1;
-        Random r = new Random();
-        int x = r.nextInt((width / movementUnit)) * movementUnit;
-        int y = r.nextInt((height / movementUnit)) * movementUnit;
+        int x = random.nextInt((width / movementUnit)) * movementUnit;
+        int y = random.nextInt((height / movementUnit)) * movementUnit;
+
+        this.segX[0] = x;
+        this.segY[0] = y;
+        this.length = 1;
+        this.cells.add(cellKey(x, y));
+    }
+
+    /**
+     * Associa à cobra um índice de células livres, marcando como ocupadas as células dos segmentos atuais.
+     * A partir daqui, o índice é atualizado sempre que a cobra se move ou cresce.
+     *
+     * @param livres O índice de células livres (tipo IndiceCelulasLivres) a manter atualizado.
+     */
+    public void setFreeCellIndex(IndiceCelulasLivres livres) {
+        if (this.livres != null)
+            for (int i = 0; i < this.length; i++)
+                this.livres.release(this.segX[slot(i)] / (this.edge + 1), this.segY[slot(i)] / (this.edge + 1));
+        this.livres = livres;
+        if (livres != null)
+            for (int i = 0; i < this.length; i++)
+                livres.occupy(this.segX[slot(i)] / (this.edge + 1), this.segY[slot(i)] / (this.edge + 1));
+    }
+
+    /**
+     * Calcula a chave da célula da grelha de movimento ocupada por um segmento.
+     *
+     * @param x Coordenada x do canto superior esquerdo do segmento (tipo int).
+     * @param y Coordenada y do canto superior esquerdo do segmento (tipo int).
+     * @return A chave da célula (tipo long).
+     */
+    private long cellKey(int x, int y) {
+        return ConjuntoCelulas.key(x / (this.edge + 1), y / (this.edge + 1));
+    }
 
-        this.snake.add(new Quadrado(new Ponto[]{
+    /**
+     * Converte a posição de um segmento, contada a partir da cabeça, na posição correspondente do buffer circular.
+     *
+     * @param i A posição do segmento, sendo 0 a cabeça (tipo int).
+     * @return A posição do segmento nos arrays de coordenadas (tipo int).
+     */
+    private int slot(int i) {
+        int j = this.head + i;
+        return j < this.segX.length ? j : j - this.segX.length;
+    }
+
+    /**
+     * Cria o quadrado que representa o segmento indicado da cobra. O quadrado tem lados alinhados com os eixos e
+     * aresta positiva, pelo que é sempre válido e a validação é dispensada.
+     *
+     * @param i A posição do segmento, sendo 0 a cabeça (tipo int).
+     * @return O quadrado (tipo Quadrado) que representa o segmento.
+     */
+    private Quadrado segment(int i) {
+        int x = this.segX[slot(i)];
+        int y = this.segY[slot(i)];
+        return new Quadrado(new Ponto[]{
                 new Ponto(x, y),
-                new Ponto(x + edge, y),
-                new Ponto(x + edge, y + edge),
-                new Ponto(x, y + edge)
-        }));
+                new Ponto(x + this.edge, y),
+                new Ponto(x + this.edge, y + this.edge),
+                new Ponto(x, y + this.edge)
+        }, false);
     }
 
     /**
@@ -53,7 +126,7 @@ public class Cobra {
     public boolean setDir(int dir) {
         if (!(dir == 0 || dir == 90 || dir == 180 || dir == 270))
             throw new IllegalArgumentException("Direção inválida!");
-        if (this.snake.size() > 1) {
+        if (this.length > 1) {
             if (!(this.dir == 0 && dir == 180 || this.dir == 180 && dir == 0 ||
                     this.dir == 90 && dir == 270 || this.dir == 270 && dir == 90)) {
                 this.dir = dir;
@@ -89,34 +162,66 @@ public class Cobra {
                 y = this.edge + 1;
                 break;
         }
-        Quadrado temp = this.snake.get(0).translate(x, y);
-        if (willEatTail(temp))
+        int newX = this.segX[this.head] + x;
+        int newY = this.segY[this.head] + y;
+        if (willEatTail(newX, newY))
             throw new IllegalArgumentException("Não podes comer a tua cauda!");
 
-        this.snake.remove(this.snake.size() - 1);
-        this.snake.add(0, temp);
+        int tail = slot(this.length - 1);
+        this.cells.remove(cellKey(this.segX[tail], this.segY[tail]));
+        this.cells.add(cellKey(newX, newY));
+        if (this.livres != null) {
+            this.livres.release(this.segX[tail] / (this.edge + 1), this.segY[tail] / (this.edge + 1));
+            this.livres.occupy(newX / (this.edge + 1), newY / (this.edge + 1));
+        }
+
+        // A cauda é descartada ao recuar a cabeça uma posição no buffer circular
+        this.head = this.head == 0 ? this.segX.length - 1 : this.head - 1;
+        this.segX[this.head] = newX;
+        this.segY[this.head] = newY;
+        this.moves++;
     }
 
     /**
-     * Aumenta o tamanho da cobra adicionando um novo segmento no final.
+     * Aumenta o tamanho da cobra adicionando um novo segmento no final, na mesma posição da cauda atual.
      */
     public void grow() {
-        Quadrado temp = this.snake.get(this.snake.size() - 1);
-        this.snake.add(temp);
+        if (this.length == this.segX.length) {
+            int[] newX = new int[this.segX.length * 2];
+            int[] newY = new int[this.segY.length * 2];
+            for (int i = 0; i < this.length; i++) {
+                newX[i] = this.segX[slot(i)];
+                newY[i] = this.segY[slot(i)];
+            }
+            this.segX = newX;
+            this.segY = newY;
+            this.head = 0;
+        }
+        int tail = slot(this.length - 1);
+        int slot = slot(this.length);
+        this.segX[slot] = this.segX[tail];
+        this.segY[slot] = this.segY[tail];
+        this.length++;
+        this.cells.add(cellKey(this.segX[tail], this.segY[tail]));
+        if (this.livres != null)
+            this.livres.occupy(this.segX[tail] / (this.edge + 1), this.segY[tail] / (this.edge + 1));
     }
 
     /**
-     * Verifica se a nova posição da cabeça da cobra resultaria em comer a sua própria cauda.
+     * Verifica se a nova posição da cabeça da cobra resultaria em comer a sua própria cauda, isto é, se a célula
+     * está ocupada por algum segmento a partir do quarto. A verificação é feita no conjunto de células ocupadas,
+     * descontando as ocorrências dos três primeiros segmentos.
      *
-     * @param temp Quadrado representando a nova posição da cabeça da cobra (tipo Quadrado).
+     * @param x Coordenada x do canto superior esquerdo da nova cabeça da cobra (tipo int).
+     * @param y Coordenada y do canto superior esquerdo da nova cabeça da cobra (tipo int).
      * @return Verdadeiro se a cabeça sobrepor qualquer parte da cauda, falso caso contrário (tipo booleano).
      */
-    private boolean willEatTail(Quadrado temp) {
-        if (this.snake.size() >= 4)
-            for (int i = 3; i <= this.snake.size() - 1; i++)
-                if (temp.duplicated(this.snake.get(i)))
-                    return true;
-        return false;
+    private boolean willEatTail(int x, int y) {
+        int ocorrencias = this.cells.count(cellKey(x, y));
+        for (int i = 0; i < Math.min(3, this.length) && ocorrencias > 0; i++)
+            if (this.segX[slot(i)] == x && this.segY[slot(i)] == y)
+                ocorrencias--;
+        return ocorrencias > 0;
     }
 
     /**
@@ -125,10 +230,25 @@ public class Cobra {
      * @return Lista de pontos (List<Ponto>) que representam todos os segmentos da cobra.
      */
     public List<Ponto> getAllIntPoints() {
-        List<Ponto> allPoints = new ArrayList<>();
-        for (Quadrado quad : this.snake)
-            Collections.addAll(allPoints, quad.getAllIntVertices());
-        return allPoints;
+        BufferPontos allPoints = new BufferPontos();
+        addAllIntPoints(allPoints);
+        return allPoints.toList();
+    }
+
+    /**
+     * Acrescenta ao buffer fornecido todos os pontos inteiros que compõem a cobra, da cabeça para a cauda.
+     *
+     * @param pontos O buffer (tipo BufferPontos) onde os pontos são acrescentados.
+     */
+    public void addAllIntPoints(BufferPontos pontos) {
+        // Mesma ordem que Retangulo.addAllIntVertices, sem construir um Quadrado por segmento
+        for (int i = 0; i < this.length; i++) {
+            int x0 = this.segX[slot(i)];
+            int y0 = this.segY[slot(i)];
+            for (int y = y0; y <= y0 + this.edge; y++)
+                for (int x = x0; x <= x0 + this.edge; x++)
+                    pontos.add(x, y);
+        }
     }
 
     /**
@@ -137,10 +257,30 @@ public class Cobra {
      * @return Lista de pontos (List<Ponto>) que representam todas as arestas da cobra.
      */
     public List<Ponto> getBoundaryIntPoints() {
-        List<Ponto> allPoints = new ArrayList<>();
-        for (Quadrado quad : this.snake)
-            Collections.addAll(allPoints, quad.getBoundaryIntVertices());
-        return allPoints;
+        BufferPontos allPoints = new BufferPontos();
+        addBoundaryIntPoints(allPoints);
+        return allPoints.toList();
+    }
+
+    /**
+     * Acrescenta ao buffer fornecido todos os pontos inteiros que compõem as arestas da cobra, da cabeça para a cauda.
+     *
+     * @param pontos O buffer (tipo BufferPontos) onde os pontos são acrescentados.
+     */
+    public void addBoundaryIntPoints(BufferPontos pontos) {
+        // Mesma ordem que Retangulo.addBoundaryIntVertices: topo, direita, base e esquerda
+        for (int i = 0; i < this.length; i++) {
+            int x0 = this.segX[slot(i)];
+            int y0 = this.segY[slot(i)];
+            for (int x = x0; x <= x0 + this.edge; x++)
+                pontos.add(x, y0);
+            for (int y = y0; y <= y0 + this.edge; y++)
+                pontos.add(x0 + this.edge, y);
+            for (int x = x0; x <= x0 + this.edge; x++)
+                pontos.add(x, y0 + this.edge);
+            for (int y = y0; y <= y0 + this.edge; y++)
+                pontos.add(x0, y);
+        }
     }
 
     /**
@@ -151,49 +291,156 @@ public class Cobra {
      */
     public boolean containsFood(Comida c) {
         if (c.getFood() instanceof Quadrado quadrado)
-            return this.snake.get(0).containsQuadrado(quadrado);
+            return segment(0).containsQuadrado(quadrado);
         else if (c.getFood() instanceof Circunferencia circunferencia)
-            return this.snake.get(0).containsCircunferencia(circunferencia);
+            return segment(0).containsCircunferencia(circunferencia);
         return false;
     }
 
     /**
-     * Coleta todos os pontos inteiros de todos os obstáculos presentes no jogo. Este método é útil para verificar
-     * colisões entre a cobra e os obstáculos.
+     * Identifica interseções entre a cobra e obstáculos no espaço do jogo. Os obstáculos são marcados num mapa de
+     * ocupação temporário que cobre exatamente a caixa envolvente dos seus pixels, com a origem no canto superior
+     * esquerdo dessa caixa, para que as partes de obstáculos rodados que saem da arena por cima ou pela esquerda
+     * (com coordenadas negativas) também sejam marcadas.
      *
      * @param obstaculos Lista de obstáculos no jogo (tipo List<Obstaculo>).
-     * @return Lista de pontos que representam todos os obstáculos no jogo (List<Ponto>).
+     * @return Lista de pontos onde ocorrem interseções (List<Ponto>).
      */
-    private List<Ponto> getAllObstaclePoints(List<Obstaculo> obstaculos) {
-        List<Ponto> pontosObstaculo = new ArrayList<>();
+    public List<Ponto> findIntersections(List<Obstaculo> obstaculos) {
+        BufferSegmentos segmentosObstaculo = new BufferSegmentos();
         for (Obstaculo obstaculo : obstaculos)
-            Collections.addAll(pontosObstaculo, obstaculo.getAllIntPoints());
-        return pontosObstaculo;
+            obstaculo.addSpans(segmentosObstaculo);
+        if (segmentosObstaculo.size() == 0)
+            return new ArrayList<>();
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < segmentosObstaculo.size(); i++) {
+            minX = Math.min(minX, segmentosObstaculo.getInicio(i));
+            maxX = Math.max(maxX, segmentosObstaculo.getFim(i));
+            minY = Math.min(minY, segmentosObstaculo.getY(i));
+            maxY = Math.max(maxY, segmentosObstaculo.getY(i));
+        }
+        MapaOcupacao mapa = new MapaOcupacao(maxX - minX + 1, maxY - minY + 1);
+        for (int i = 0; i < segmentosObstaculo.size(); i++)
+            mapa.setSpan(segmentosObstaculo.getY(i) - minY, segmentosObstaculo.getInicio(i) - minX,
+                    segmentosObstaculo.getFim(i) - minX);
+
+        this.pontosCobra.clear();
+        this.addAllIntPoints(this.pontosCobra);
+        List<Ponto> intersections = new ArrayList<>();
+        for (int i = 0; i < this.pontosCobra.size(); i++)
+            if (mapa.contains(this.pontosCobra.getX(i) - minX, this.pontosCobra.getY(i) - minY))
+                intersections.add(new Ponto(this.pontosCobra.getX(i), this.pontosCobra.getY(i)));
+        return intersections;
     }
 
     /**
-     * Identifica interseções entre a cobra e obstáculos no espaço do jogo.
+     * Identifica interseções entre a cobra e os obstáculos marcados no mapa de ocupação fornecido.
+     * Cada pixel da cobra é verificado com um único teste de bit.
      *
-     * @param obstaculos Lista de obstáculos no jogo (tipo List<Obstaculo>).
-     * @return Lista de pontos onde ocorrem interseções (List<Ponto>).
+     * @param obstaculos Mapa de ocupação (tipo MapaOcupacao) com os pixels de todos os obstáculos.
+     * @return Lista de pontos da cobra onde ocorrem interseções (List<Ponto>).
      */
-    public List<Ponto> findIntersections(List<Obstaculo> obstaculos) {
-        List<Ponto> pontosCobra = this.getAllIntPoints();
-        List<Ponto> pontosObstaculo = getAllObstaclePoints(obstaculos);
+    public List<Ponto> findIntersections(MapaOcupacao obstaculos) {
+        this.pontosCobra.clear();
+        this.addAllIntPoints(this.pontosCobra);
         List<Ponto> intersections = new ArrayList<>();
 
-        for (Ponto pontoCobra : pontosCobra)
-            for (Ponto pontoObstaculo : pontosObstaculo)
-                if (pontoCobra.dist(pontoObstaculo) < 1e-9)
-                    intersections.add(pontoCobra);
+        for (int i = 0; i < this.pontosCobra.size(); i++)
+            if (obstaculos.contains(this.pontosCobra.getX(i), this.pontosCobra.getY(i)))
+                intersections.add(new Ponto(this.pontosCobra.getX(i), this.pontosCobra.getY(i)));
 
         return intersections;
     }
 
+    /**
+     * Verifica se algum segmento da cobra toca o obstáculo fornecido, na sua posição atual, parando na primeira
+     * colisão. Os segmentos estão alinhados com a grelha de movimento e cada um ocupa uma célula inteira, pelo que
+     * basta procurar no conjunto de células as células por onde passa cada segmento horizontal do obstáculo: o custo
+     * depende do tamanho do obstáculo e não do comprimento da cobra.
+     *
+     * @param obstaculo O obstáculo a verificar (tipo Obstaculo).
+     * @return Verdadeiro se a cobra toca o obstáculo (tipo booleano).
+     */
+    public boolean intersects(Obstaculo obstaculo) {
+        this.segmentosObstaculo.clear();
+        obstaculo.addSpans(this.segmentosObstaculo);
+        return intersects(this.segmentosObstaculo);
+    }
+
+    /**
+     * Verifica se algum segmento da cobra ocupa um pixel dos segmentos horizontais fornecidos, parando na primeira
+     * colisão.
+     *
+     * @param segmentos Os segmentos horizontais de pixels a verificar (tipo BufferSegmentos).
+     * @return Verdadeiro se a cobra ocupa algum dos pixels (tipo booleano).
+     */
+    public boolean intersects(BufferSegmentos segmentos) {
+        int unidade = this.edge + 1;
+        for (int i = 0; i < segmentos.size(); i++) {
+            int y = segmentos.getY(i), fim = segmentos.getFim(i);
+            // A cobra nunca está fora da arena, e a divisão inteira arredondaria coordenadas negativas para 0
+            if (y < 0 || fim < 0)
+                continue;
+            int cy = y / unidade;
+            int inicio = Math.max(segmentos.getInicio(i), 0) / unidade;
+            for (int cx = inicio; cx <= fim / unidade; cx++)
+                if (this.cells.contains(ConjuntoCelulas.key(cx, cy)))
+                    return true;
+        }
+        return false;
+    }
+
+    /**
+     * Procura o primeiro obstáculo que ocupa algum pixel da cabeça da cobra. Só os obstáculos que a grelha associa
+     * à célula da cabeça são testados.
+     *
+     * @param grelha A grelha com os obstáculos do jogo (tipo GrelhaObstaculos).
+     * @return O obstáculo atingido pela cabeça, ou null se não houver colisão (tipo Obstaculo).
+     */
+    public Obstaculo findHeadCollision(GrelhaObstaculos grelha) {
+        int x0 = this.segX[this.head], y0 = this.segY[this.head];
+        for (Obstaculo obstaculo : grelha.getCandidatos(x0, y0, x0 + this.edge, y0 + this.edge))
+            if (obstaculo.intersects(x0, y0, x0 + this.edge, y0 + this.edge))
+                return obstaculo;
+        return null;
+    }
+
+    /**
+     * Identifica os obstáculos cujas arestas intersetam algum segmento da cobra. Cada segmento só é testado contra
+     * os obstáculos que a grelha associa à sua célula, pelo que o resultado é o mesmo da versão com a lista de
+     * todos os obstáculos, pela mesma ordem.
+     *
+     * @param grelha A grelha com os obstáculos do jogo (tipo GrelhaObstaculos).
+     * @return Lista dos obstáculos intersetados, com repetições se tocarem vários segmentos (List<Obstaculo>).
+     */
+    public List<Obstaculo> getIntersectedObstacles(GrelhaObstaculos grelha) {
+        List<Obstaculo> intersectedObstacles = new ArrayList<>();
+
+        for (int i = 0; i < this.length; i++) {
+            int x0 = this.segX[slot(i)], y0 = this.segY[slot(i)];
+            List<Obstaculo> candidatos = grelha.getCandidatos(x0, y0, x0 + this.edge, y0 + this.edge);
+            if (candidatos.isEmpty())
+                continue;
+            Quadrado quadrado = segment(i);
+            for (Obstaculo obstaculo : candidatos)
+                if (obstaculo.getObstaculo() instanceof Poligono poligono && quadrado.intersects(poligono))
+                    intersectedObstacles.add(obstaculo);
+        }
+
+        return intersectedObstacles;
+    }
+
+    /**
+     * Identifica os obstáculos cujas arestas intersetam algum segmento da cobra.
+     *
+     * @param obstaculos Lista de obstáculos no jogo (tipo List<Obstaculo>).
+     * @return Lista dos obstáculos intersetados, com repetições se tocarem vários segmentos (List<Obstaculo>).
+     */
     public List<Obstaculo> getIntersectedObstacles(List<Obstaculo> obstaculos) {
         List<Obstaculo> intersectedObstacles = new ArrayList<>();
 
-        for (Quadrado quadrado : this.snake)
+        for (Quadrado quadrado : getSnake())
             for (Obstaculo obstaculo : obstaculos)
                 if (obstaculo.getObstaculo() instanceof Poligono poligono)
                     if (quadrado.intersects(poligono))
@@ -203,12 +450,65 @@ public class Cobra {
     }
 
     /**
-     * Retorna a cobraList<Quadrado>.
+     * Retorna a cobra como uma lista só de leitura, da cabeça para a cauda. Os quadrados de cada segmento são
+     * criados à medida que são pedidos.
      *
      * @return A cobra como uma lista (tipo List<Quadrado>).
      */
     public List<Quadrado> getSnake() {
-        return this.snake;
+        return new AbstractList<>() {
+            @Override
+            public Quadrado get(int index) {
+                Objects.checkIndex(index, length);
+                return segment(index);
+            }
+
+            @Override
+            public int size() {
+                return length;
+            }
+        };
+    }
+
+    /**
+     * Retorna o número de segmentos da cobra.
+     *
+     * @return O número de segmentos (tipo int).
+     */
+    public int getLength() {
+        return this.length;
+    }
+
+    /**
+     * Retorna o número de vezes que a cobra se moveu desde que foi criada, para que quem a desenha saiba quantos
+     * passos a cabeça avançou desde o último desenho.
+     *
+     * @return O número de movimentos (tipo long).
+     */
+    public long getMoves() {
+        return this.moves;
+    }
+
+    /**
+     * Retorna a coordenada x do canto superior esquerdo do segmento indicado.
+     *
+     * @param i A posição do segmento, sendo 0 a cabeça (tipo int).
+     * @return A coordenada x do segmento (tipo int).
+     */
+    public int getSegmentX(int i) {
+        Objects.checkIndex(i, this.length);
+        return this.segX[slot(i)];
+    }
+
+    /**
+     * Retorna a coordenada y do canto superior esquerdo do segmento indicado.
+     *
+     * @param i A posição do segmento, sendo 0 a cabeça (tipo int).
+     * @return A coordenada y do segmento (tipo int).
+     */
+    public int getSegmentY(int i) {
+        Objects.checkIndex(i, this.length);
+        return this.segY[slot(i)];
     }
 
     /**
@@ -260,15 +560,15 @@ public class Cobra {
                 break;
         }
 
-        Quadrado newHead = this.snake.get(0).translate(x, y);
+        int newX = this.segX[this.head] + x;
+        int newY = this.segY[this.head] + y;
 
         // Verifica se a nova posição da cabeça da cobra está fora da arena
-        if (newHead.getVertices()[0].getX() < 0 || newHead.getVertices()[0].getY() < 0 ||
-                newHead.getVertices()[2].getX() > arenaWidth || newHead.getVertices()[2].getY() > arenaHeight)
+        if (newX < 0 || newY < 0 || newX + this.edge > arenaWidth || newY + this.edge > arenaHeight)
             return false;
 
         // Verifica se a nova posição da cabeça da cobra colide com a cauda
-        return !willEatTail(newHead);
+        return !willEatTail(newX, newY);
     }
 
     /**
@@ -9,10 +9,8 @@
  * @inv A comida deve ser gerada no espaços onde é garantida a passagem da cobra.
  */
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class Comida {
     private Object food;
@@ -20,8 +18,9 @@ public class Comida {
     private boolean wasGenerated = true;
 
     /**
-     * Construtor da classe Comida. Gera comida na posição válida mais próxima usando as dimensões fornecidas,
-     * considerando a presença de obstáculos e a posição atual da cobra.
+     * Construtor da classe Comida. Gera comida numa posição aleatória válida usando as dimensões fornecidas,
+     * considerando a presença de obstáculos e a posição atual da cobra. As células livres são calculadas de raiz;
+     * durante um jogo deve ser usado o construtor que recebe um índice de células livres mantido atualizado.
      *
      * @param height     A altura do espaço do jogo (tipo int).
      * @param width      A largura do espaço do jogo (tipo int).
@@ -29,59 +28,80 @@ public class Comida {
      * @param snake      A cobra cuja posição deve ser evitada ao colocar a comida (tipo Cobra).
      */
     public Comida(int height, int width, List<Obstaculo> obstaculos, Cobra snake) {
-        generateFood(height, width, snake, obstaculos);
+        int movementUnit = snake.getEdge() + 1;
+        IndiceCelulasLivres livres = new IndiceCelulasLivres(width, height, snake.getEdge());
+        for (int i = 0; i < snake.getLength(); i++)
+            livres.occupy(snake.getSegmentX(i) / movementUnit, snake.getSegmentY(i) / movementUnit);
+        if (obstaculos != null)
+            for (Obstaculo obs : obstaculos)
+                obs.occupyCells(livres);
+        generateFood(livres, snake.getEdge(), new SplittableRandom());
     }
 
     /**
-     * Gera comida em uma posição válida dentro do espaço do jogo. A comida é posicionada de forma a não
-     * colidir com a cobra ou obstáculos e pode ser um quadrado ou uma circunferência, dependendo do resultado
-     * de um sorteio.
+     * Construtor da classe Comida. Gera comida numa célula sorteada do índice de células livres, que deve estar
+     * atualizado com a posição da cobra e dos obstáculos.
      *
-     * @param height     A altura do espaço do jogo (tipo int).
-     * @param width      A largura do espaço do jogo (tipo int).
-     * @param snake      A cobra no jogo (tipo Cobra).
-     * @param obstaculos Os obstáculos presentes no jogo (tipo List<Obstaculo>).
+     * @param livres O índice de células livres da arena (tipo IndiceCelulasLivres).
+     * @param snake  A cobra do jogo, cuja aresta determina o tamanho da comida (tipo Cobra).
+     */
+    public Comida(IndiceCelulasLivres livres, Cobra snake) {
+        this(livres, snake, new SplittableRandom());
+    }
+
+    /**
+     * Construtor da classe Comida. Gera comida numa célula do índice de células livres sorteada com o gerador
+     * de números aleatórios fornecido, para que a sequência de comida de um jogo possa ser reproduzida.
+     *
+     * @param livres O índice de células livres da arena (tipo IndiceCelulasLivres).
+     * @param snake  A cobra do jogo, cuja aresta determina o tamanho da comida (tipo Cobra).
+     * @param random O gerador de números aleatórios a usar (tipo SplittableRandom).
      */
-    private void generateFood(int height, int width, Cobra snake, List<Obstaculo> obstaculos) {
-        int movementUnit = snake.getEdge() + 1; // O movimento da cobra é edge + 1
-        final Random random = new Random();
-        List<Ponto> potentialPositions = new ArrayList<>();
+    public Comida(IndiceCelulasLivres livres, Cobra snake, SplittableRandom random) {
+        generateFood(livres, snake.getEdge(), random);
+    }
 
-        for (int x = 0; x < width - width % (snake.getEdge() + 1); x += movementUnit)
-            for (int y = 0; y < height - height % (snake.getEdge() + 1); y += movementUnit)
-                potentialPositions.add(new Ponto(x, y));
+    /**
+     * Gera comida numa célula livre sorteada uniformemente. A comida pode ser um quadrado ou uma circunferência,
+     * dependendo do resultado de um sorteio. Se não houver células livres, a comida não é gerada.
+     *
+     * @param livres O índice de células livres da arena (tipo IndiceCelulasLivres).
+     * @param edge   O tamanho da aresta da cabeça da cobra (tipo int).
+     * @param random O gerador de números aleatórios a usar (tipo SplittableRandom).
+     */
+    private void generateFood(IndiceCelulasLivres livres, int edge, SplittableRandom random) {
+        int movementUnit = edge + 1; // O movimento da cobra é edge + 1
 
-        if (potentialPositions.isEmpty()) {
+        if (livres.getFreeCount() == 0) {
             this.wasGenerated = false;
             this.food = null;
-        } else {
-            Collections.shuffle(potentialPositions, random);
-
-            for (Ponto pos : potentialPositions) {
-                this.foodSize = random.nextInt(snake.getEdge() / 4, snake.getEdge() + 1);
-                if (isPositionFree((int) pos.getX(), (int) pos.getY(), snake, obstaculos)) {
-                    int x = (int) pos.getX();
-                    int y = (int) pos.getY();
-                    if (random.nextInt(2) == 0 || snake.getEdge() == 1) { // Quadrado
-                        this.food = new Quadrado(new Ponto[]{
-                                new Ponto(x, y),
-                                new Ponto(x + this.foodSize, y),
-                                new Ponto(x + this.foodSize, y + this.foodSize),
-                                new Ponto(x, y + this.foodSize)
-                        });
-                    } else { // Circunferencia
-                        double radius;
-                        if (this.foodSize == snake.getEdge() && this.foodSize % 2 != 0)
-                            this.foodSize--;
-                        if (this.foodSize == 1)
-                            radius = 1;
-                        else
-                            radius = this.foodSize / 2.0;
-                        this.food = new Circunferencia(new Ponto(x + radius, y + radius), radius);
-                    }
-                    return; // Comida foi colocada com sucesso
-                }
-            }
+            return;
+        }
+
+        int x, y;
+        do {
+            int cell = livres.randomFreeCell(random);
+            x = (cell % livres.getCols()) * movementUnit;
+            y = (cell / livres.getCols()) * movementUnit;
+            this.foodSize = random.nextInt(edge / 4, edge + 1);
+        } while (!isPositionAligned(x, y, edge));
+
+        if (random.nextInt(2) == 0 || edge == 1) { // Quadrado
+            this.food = new Quadrado(new Ponto[]{
+                    new Ponto(x, y),
+                    new Ponto(x + this.foodSize, y),
+                    new Ponto(x + this.foodSize, y + this.foodSize),
+                    new Ponto(x, y + this.foodSize)
+            });
+        } else { // Circunferencia
+            double radius;
+            if (this.foodSize == edge && this.foodSize % 2 != 0)
+                this.foodSize--;
+            if (this.foodSize == 1)
+                radius = 1;
+            else
+                radius = this.foodSize / 2.0;
+            this.food = new Circunferencia(new Ponto(x + radius, y + radius), radius);
         }
     }
 
@@ -91,11 +111,21 @@ public class Comida {
      * @return Um array de pontos (Ponto[]) representando todos os pontos inteiros que compõem a comida.
      */
     public Ponto[] getAllIntPoints() {
+        BufferPontos pontos = new BufferPontos();
+        addAllIntPoints(pontos);
+        return pontos.toPontos(); // Retorna um array vazio se não houver food definida
+    }
+
+    /**
+     * Acrescenta ao buffer fornecido todos os pontos inteiros que compõem a comida.
+     *
+     * @param pontos O buffer (tipo BufferPontos) onde os pontos são acrescentados.
+     */
+    public void addAllIntPoints(BufferPontos pontos) {
         if (this.food instanceof Quadrado quadrado)
-            return quadrado.getAllIntVertices();
+            quadrado.addAllIntVertices(pontos);
         else if (this.food instanceof Circunferencia circunferencia)
-            return circunferencia.getAllIntVertices();
-        return new Ponto[0]; // Retorna um array vazio se não houver food definida
+            circunferencia.addAllIntVertices(pontos);
     }
 
     /**
@@ -104,38 +134,35 @@ public class Comida {
      * @return Um array de pontos (Ponto[]) representando todos os pontos inteiros que compõem as arestas da comida.
      */
     public Ponto[] getBoundaryIntPoints() {
+        BufferPontos pontos = new BufferPontos();
+        addBoundaryIntPoints(pontos);
+        return pontos.toPontos(); // Retorna um array vazio se não houver food definida
+    }
+
+    /**
+     * Acrescenta ao buffer fornecido todos os pontos inteiros que compõem as arestas da comida.
+     *
+     * @param pontos O buffer (tipo BufferPontos) onde os pontos são acrescentados.
+     */
+    public void addBoundaryIntPoints(BufferPontos pontos) {
         if (this.food instanceof Quadrado quadrado)
-            return quadrado.getBoundaryIntVertices();
+            quadrado.addBoundaryIntVertices(pontos);
         else if (this.food instanceof Circunferencia circunferencia)
-            return circunferencia.getBoundaryIntVertices();
-        return new Ponto[0]; // Retorna um array vazio se não houver food definida
+            circunferencia.addBoundaryIntVertices(pontos);
     }
 
     /**
-     * Verifica se a posição especificada está livre de interseções com a cobra ou obstáculos no espaço do jogo.
+     * Verifica se a comida pode ser colocada na posição especificada com o tamanho sorteado. A célula já é
+     * garantidamente livre, mas comida do tamanho da cabeça tem de ficar alinhada com múltiplos desse tamanho.
      *
-     * @param x          A coordenada x do ponto inicial da comida (tipo int).
-     * @param y          A coordenada y do ponto inicial da comida (tipo int).
-     * @param snake      A cobra no jogo (tipo Cobra).
-     * @param obstaculos Os obstáculos no jogo (tipo List<Obstaculo>).
-     * @return Verdadeiro se a posição está livre; falso caso contrário (tipo booleano).
+     * @param x    A coordenada x do ponto inicial da comida (tipo int).
+     * @param y    A coordenada y do ponto inicial da comida (tipo int).
+     * @param edge O tamanho da aresta da cabeça da cobra (tipo int).
+     * @return Verdadeiro se a posição é válida; falso caso contrário (tipo booleano).
      */
-    private boolean isPositionFree(int x, int y, Cobra snake, List<Obstaculo> obstaculos) {
-        for (Ponto p : snake.getAllIntPoints())
-            if (p.getX() >= x && p.getX() < x + this.foodSize && p.getY() >= y && p.getY() < y + this.foodSize)
-                return false; // Food overlaps with the snake
-
-        if (obstaculos != null)
-            for (Obstaculo obs : obstaculos) {
-                Ponto[] pontos = obs.getAllIntPoints();
-                for (Ponto p : pontos)
-                    if (p.getX() >= x && p.getX() < x + this.foodSize && p.getY() >= y && p.getY() < y + this.foodSize)
-                        return false; // Food overlaps with an obstacle
-            }
-
-        if (snake.getEdge() == this.foodSize)
-            return x % snake.getEdge() == 0 && y % snake.getEdge() == 0; // Food must spawn at a multiple of the snake head size
-
+    private boolean isPositionAligned(int x, int y, int edge) {
+        if (edge == this.foodSize)
+            return x % edge == 0 && y % edge == 0; // Food must spawn at a multiple of the snake head size
         return true;
     }
 
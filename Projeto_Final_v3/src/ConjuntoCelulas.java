@@ -0,0 +1,151 @@
+/**
+ * A classe ConjuntoCelulas representa um multiconjunto de células da grelha de movimento, identificadas por uma
+ * chave long que junta as coordenadas da célula. Usa uma tabela de dispersão de endereçamento aberto sobre arrays
+ * primitivos, para que adicionar, remover e consultar uma célula sejam operações O(1) sem criação de objetos.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ * @inv O número de ocorrências de uma célula guardada é sempre superior a 0.
+ */
+
+public class ConjuntoCelulas {
+    private long[] keys;
+    private int[] counts;
+    private int used;
+
+    /**
+     * Construtor para a classe ConjuntoCelulas. Cria um conjunto vazio.
+     */
+    public ConjuntoCelulas() {
+        this.keys = new long[16];
+        this.counts = new int[16];
+    }
+
+    /**
+     * Junta as coordenadas de uma célula numa única chave.
+     *
+     * @param cx Coordenada x da célula (tipo int).
+     * @param cy Coordenada y da célula (tipo int).
+     * @return A chave (tipo long) que identifica a célula.
+     */
+    public static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+
+    /**
+     * Calcula a posição inicial de uma chave na tabela.
+     *
+     * @param key A chave da célula (tipo long).
+     * @return A posição inicial (tipo int).
+     */
+    private int index(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (this.keys.length - 1);
+    }
+
+    /**
+     * Procura a posição de uma chave na tabela.
+     *
+     * @param key A chave da célula (tipo long).
+     * @return A posição da chave, ou a posição vazia onde deveria estar (tipo int).
+     */
+    private int find(long key) {
+        int i = index(key);
+        while (this.counts[i] != 0 && this.keys[i] != key)
+            i = (i + 1) & (this.keys.length - 1);
+        return i;
+    }
+
+    /**
+     * Adiciona uma ocorrência da célula ao conjunto.
+     *
+     * @param key A chave da célula (tipo long).
+     */
+    public void add(long key) {
+        int i = find(key);
+        if (this.counts[i] == 0) {
+            this.keys[i] = key;
+            this.used++;
+            this.counts[i] = 1;
+            if (this.used * 2 > this.keys.length)
+                resize();
+        } else
+            this.counts[i]++;
+    }
+
+    /**
+     * Remove uma ocorrência da célula do conjunto. Quando a última ocorrência é removida, as chaves seguintes
+     * são recuadas para não deixar buracos na sequência de procura.
+     *
+     * @param key A chave da célula (tipo long).
+     */
+    public void remove(long key) {
+        int i = find(key);
+        if (this.counts[i] == 0)
+            return;
+        if (--this.counts[i] > 0)
+            return;
+        this.used--;
+
+        int mask = this.keys.length - 1;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (this.counts[j] == 0)
+                break;
+            int k = index(this.keys[j]);
+            // Só recua a chave j se a sua posição inicial não estiver entre i (exclusive) e j (inclusive)
+            if (i <= j ? (i < k && k <= j) : (i < k || k <= j))
+                continue;
+            this.keys[i] = this.keys[j];
+            this.counts[i] = this.counts[j];
+            this.counts[j] = 0;
+            i = j;
+        }
+    }
+
+    /**
+     * Retorna o número de ocorrências da célula no conjunto.
+     *
+     * @param key A chave da célula (tipo long).
+     * @return O número de ocorrências (tipo int).
+     */
+    public int count(long key) {
+        return this.counts[find(key)];
+    }
+
+    /**
+     * Verifica se a célula pertence ao conjunto.
+     *
+     * @param key A chave da célula (tipo long).
+     * @return Verdadeiro se a célula tem pelo menos uma ocorrência; falso, caso contrário (tipo booleano).
+     */
+    public boolean contains(long key) {
+        return count(key) > 0;
+    }
+
+    /**
+     * Retorna o número de células distintas no conjunto.
+     *
+     * @return O número de células distintas (tipo int).
+     */
+    public int size() {
+        return this.used;
+    }
+
+    /**
+     * Duplica a capacidade da tabela e volta a inserir todas as chaves.
+     */
+    private void resize() {
+        long[] oldKeys = this.keys;
+        int[] oldCounts = this.counts;
+        this.keys = new long[oldKeys.length * 2];
+        this.counts = new int[oldCounts.length * 2];
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldCounts[i] != 0) {
+                int j = find(oldKeys[i]);
+                this.keys[j] = oldKeys[i];
+                this.counts[j] = oldCounts[i];
+            }
+    }
+}
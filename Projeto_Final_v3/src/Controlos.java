@@ -11,35 +11,36 @@ public class Controlos {
     /**
      * Processa o comando de entrada dado para controlar a movimentação e ações da cobra no jogo.
      * Os comandos suportados incluem movimento em quatro direções ('W', 'A', 'S', 'D') e ações como crescer ('G')
-     * e sair do jogo ('Q').
+     * e sair do jogo ('Q'). Qualquer outro comando faz uma jogada no motor, que roda os obstáculos e verifica
+     * colisões e comida; a cobra só se move se o comando for uma direção aceite por ela.
      *
-     * @param c     A instância da cobra que será controlada (tipo Cobra).
+     * @param motor O motor do jogo cuja cobra será controlada (tipo MotorJogo).
      * @param input A string de entrada representando o comando do usuário (tipo String).
+     * @return O evento da jogada feita (tipo EventoJogo).
      */
-    public void ProcessarControlos(Cobra c, String input) {
+    public EventoJogo ProcessarControlos(MotorJogo motor, String input) {
+        Direcao dir = null;
         switch (input) {
             case "W":
-                if (c.setDir(90))
-                    c.move();
+                dir = Direcao.CIMA;
                 break;
             case "A":
-                if (c.setDir(180))
-                    c.move();
+                dir = Direcao.ESQUERDA;
                 break;
             case "S":
-                if (c.setDir(270))
-                    c.move();
+                dir = Direcao.BAIXO;
                 break;
             case "D":
-                if (c.setDir(0))
-                    c.move();
+                dir = Direcao.DIREITA;
                 break;
             case "G":
-                c.grow();
+                motor.getSnake().grow();
                 break;
             case "Q":
                 System.out.println("Game Over!");
                 System.exit(0);
         }
+        boolean mover = dir != null && motor.getSnake().setDir(dir.getAngulo());
+        return motor.step(null, mover);
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+/**
+ * O enumerado Direcao representa as direções em que a cobra se pode mover, com o ângulo correspondente usado pela
+ * classe Cobra (0: esq-dir; 90: baixo-cima; 180: dir-esq; 270: cima-baixo).
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ */
+
+public enum Direcao {
+    DIREITA(0), CIMA(90), ESQUERDA(180), BAIXO(270);
+
+    private final int angulo;
+
+    /**
+     * Construtor do enumerado Direcao.
+     *
+     * @param angulo O ângulo da direção em graus (tipo int).
+     */
+    Direcao(int angulo) {
+        this.angulo = angulo;
+    }
+
+    /**
+     * Retorna o ângulo da direção, tal como é usado pela classe Cobra.
+     *
+     * @return O ângulo em graus (tipo int).
+     */
+    public int getAngulo() {
+        return this.angulo;
+    }
+
+    /**
+     * Retorna a direção correspondente a um ângulo.
+     *
+     * @param angulo O ângulo em graus (0, 90, 180 ou 270) (tipo int).
+     * @return A direção (tipo Direcao), ou null se o ângulo não corresponder a nenhuma direção.
+     */
+    public static Direcao fromAngulo(int angulo) {
+        for (Direcao d : values())
+            if (d.angulo == angulo)
+                return d;
+        return null;
+    }
+}
@@ -0,0 +1,239 @@
+/**
+ * A classe EstatisticasPontuacoes agrega as pontuações da tabela de recordes à medida que são registadas: para cada
+ * jogador, a melhor pontuação, o número de jogos e a média, num mapa por nome; para todos os jogos, um histograma
+ * log-linear (como um HDR histogram) que responde a percentis sem percorrer as pontuações. As pontuações até 127
+ * têm um contentor cada uma; as maiores são agrupadas em 64 contentores por potência de 2, pelo que os percentis têm
+ * um erro relativo inferior a 1,6%. Registar uma pontuação é O(1) e uma consulta percorre no máximo os 1664
+ * contentores. Os métodos são sincronizados, pois as pontuações chegam pela thread de escrita da tabela.
+ * As estatísticas podem ser escritas e lidas num formato binário compacto, guardado com cada fotografia da tabela.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ */
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+public class EstatisticasPontuacoes {
+    // Pontuações abaixo de 2 * SUB_CONTENTORES têm um contentor cada uma
+    private static final int SUB_CONTENTORES = 64;
+    private static final int EXATOS = 2 * SUB_CONTENTORES;
+    private static final int CONTENTORES = EXATOS + (30 - 6) * SUB_CONTENTORES;
+
+    private final Map<String, Jogador> jogadores = new HashMap<>();
+    private final long[] contagens = new long[CONTENTORES];
+    private long total;
+
+    /**
+     * Regista uma pontuação. Pontuações negativas contam como 0 no histograma.
+     *
+     * @param score A pontuação (tipo int).
+     * @param nome  O nome do jogador (tipo String).
+     */
+    public synchronized void registar(int score, String nome) {
+        this.jogadores.computeIfAbsent(nome, n -> new Jogador()).registar(score);
+        this.contagens[contentor(score)]++;
+        this.total++;
+    }
+
+    /**
+     * Retorna o número de jogos registados.
+     *
+     * @return O número de jogos (tipo long).
+     */
+    public synchronized long getTotal() {
+        return this.total;
+    }
+
+    /**
+     * Retorna as estatísticas de um jogador.
+     *
+     * @param nome O nome do jogador (tipo String).
+     * @return Uma cópia das estatísticas, ou null se o jogador não tiver jogos registados (tipo Jogador).
+     */
+    public synchronized Jogador getJogador(String nome) {
+        Jogador j = this.jogadores.get(nome);
+        return j == null ? null : j.copia();
+    }
+
+    /**
+     * Calcula a percentagem de jogos com pontuação inferior a uma dada, isto é, quantos jogos essa pontuação bate.
+     * Dentro de um contentor com várias pontuações, os jogos são supostos uniformemente distribuídos.
+     *
+     * @param score A pontuação (tipo int).
+     * @return A percentagem, entre 0 e 100, ou 0 se não houver jogos (tipo double).
+     */
+    public synchronized double percentagemAbaixo(int score) {
+        if (this.total == 0)
+            return 0;
+        int c = contentor(score);
+        double abaixo = 0;
+        for (int i = 0; i < c; i++)
+            abaixo += this.contagens[i];
+        if (c >= EXATOS) {
+            long inicio = limiteInferior(c);
+            abaixo += this.contagens[c] * (double) (Math.max(score, 0) - inicio) / (limiteInferior(c + 1) - inicio);
+        }
+        return 100 * abaixo / this.total;
+    }
+
+    /**
+     * Calcula o percentil das pontuações pelo método da ordem mais próxima, com a precisão dos contentores.
+     *
+     * @param p O percentil, entre 0 e 100 (tipo double).
+     * @return O limite inferior do contentor do percentil (tipo int).
+     * @throws IllegalArgumentException Se o percentil estiver fora do intervalo.
+     * @throws IllegalStateException    Se não houver jogos.
+     */
+    public synchronized int percentil(double p) {
+        if (p < 0 || p > 100)
+            throw new IllegalArgumentException("Percentil inválido");
+        if (this.total == 0)
+            throw new IllegalStateException("Sem pontuações");
+        long ordem = Math.max(1, (long) Math.ceil(p / 100 * this.total));
+        long acumulado = 0;
+        int c = 0;
+        while ((acumulado += this.contagens[c]) < ordem)
+            c++;
+        return (int) limiteInferior(c);
+    }
+
+    /**
+     * Escreve as estatísticas: o total, os contentores não vazios (índice e contagem) e, para cada jogador, o nome
+     * em UTF-8, a melhor pontuação, o número de jogos e a soma das pontuações.
+     *
+     * @param out O destino (tipo DataOutput).
+     * @throws IOException Se o destino não puder ser escrito.
+     */
+    synchronized void escrever(DataOutput out) throws IOException {
+        out.writeLong(this.total);
+        int ocupados = 0;
+        for (long contagem : this.contagens)
+            if (contagem != 0)
+                ocupados++;
+        out.writeInt(ocupados);
+        for (int c = 0; c < CONTENTORES; c++)
+            if (this.contagens[c] != 0) {
+                out.writeShort(c);
+                out.writeLong(this.contagens[c]);
+            }
+        out.writeInt(this.jogadores.size());
+        for (Map.Entry<String, Jogador> e : this.jogadores.entrySet()) {
+            byte[] nome = e.getKey().getBytes(StandardCharsets.UTF_8);
+            out.writeShort(nome.length);
+            out.write(nome);
+            out.writeInt(e.getValue().melhor);
+            out.writeLong(e.getValue().jogos);
+            out.writeLong(e.getValue().soma);
+        }
+    }
+
+    /**
+     * Lê estatísticas escritas por escrever, a partir da posição atual do buffer.
+     *
+     * @param in O buffer (tipo ByteBuffer), que avança até ao fim das estatísticas.
+     * @return As estatísticas lidas (tipo EstatisticasPontuacoes).
+     * @throws IllegalArgumentException Se um contentor for inválido.
+     */
+    static EstatisticasPontuacoes ler(ByteBuffer in) {
+        EstatisticasPontuacoes e = new EstatisticasPontuacoes();
+        e.total = in.getLong();
+        for (int i = in.getInt(); i > 0; i--) {
+            int c = in.getShort() & 0xFFFF;
+            if (c >= CONTENTORES)
+                throw new IllegalArgumentException("Contentor inválido: " + c);
+            e.contagens[c] = in.getLong();
+        }
+        for (int i = in.getInt(); i > 0; i--) {
+            byte[] nome = new byte[in.getShort() & 0xFFFF];
+            in.get(nome);
+            Jogador j = new Jogador();
+            j.melhor = in.getInt();
+            j.jogos = in.getLong();
+            j.soma = in.getLong();
+            e.jogadores.put(new String(nome, StandardCharsets.UTF_8), j);
+        }
+        return e;
+    }
+
+    /**
+     * Calcula o contentor de uma pontuação.
+     *
+     * @param score A pontuação (tipo int).
+     * @return O índice do contentor (tipo int).
+     */
+    static int contentor(int score) {
+        if (score < EXATOS)
+            return Math.max(score, 0);
+        int expoente = 31 - Integer.numberOfLeadingZeros(score); // 7 a 30
+        int deslocamento = expoente - 6;
+        return EXATOS + (expoente - 7) * SUB_CONTENTORES + (score >> deslocamento) - SUB_CONTENTORES;
+    }
+
+    /**
+     * Calcula a menor pontuação de um contentor.
+     *
+     * @param c O índice do contentor, até CONTENTORES inclusive (tipo int).
+     * @return A menor pontuação do contentor (tipo long).
+     */
+    static long limiteInferior(int c) {
+        if (c < EXATOS)
+            return c;
+        int expoente = (c - EXATOS) / SUB_CONTENTORES + 7;
+        long mantissa = (c - EXATOS) % SUB_CONTENTORES + SUB_CONTENTORES;
+        return mantissa << (expoente - 6);
+    }
+
+    /**
+     * As estatísticas de um jogador: a melhor pontuação, o número de jogos e a média.
+     */
+    public static final class Jogador {
+        private int melhor = Integer.MIN_VALUE;
+        private long jogos, soma;
+
+        private void registar(int score) {
+            this.melhor = Math.max(this.melhor, score);
+            this.jogos++;
+            this.soma += score;
+        }
+
+        private Jogador copia() {
+            Jogador j = new Jogador();
+            j.melhor = this.melhor;
+            j.jogos = this.jogos;
+            j.soma = this.soma;
+            return j;
+        }
+
+        /**
+         * Retorna a melhor pontuação do jogador.
+         *
+         * @return A melhor pontuação (tipo int).
+         */
+        public int getMelhor() {
+            return this.melhor;
+        }
+
+        /**
+         * Retorna o número de jogos do jogador.
+         *
+         * @return O número de jogos (tipo long).
+         */
+        public long getJogos() {
+            return this.jogos;
+        }
+
+        /**
+         * Retorna a pontuação média do jogador.
+         *
+         * @return A média (tipo double).
+         */
+        public double getMedia() {
+            return (double) this.soma / this.jogos;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+/**
+ * O enumerado EventoJogo representa o resultado de uma jogada do motor de jogo: se a cobra comeu, se o jogo
+ * terminou e porquê, ou se nada de especial aconteceu.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ */
+
+public enum EventoJogo {
+    NENHUM, COMEU, SAIU_DA_ARENA, COMEU_CAUDA, COLIDIU_OBSTACULO, VITORIA;
+
+    /**
+     * Indica se o evento termina o jogo.
+     *
+     * @return Verdadeiro se o jogo terminou com este evento; falso caso contrário (tipo booleano).
+     */
+    public boolean terminaJogo() {
+        return this != NENHUM && this != COMEU;
+    }
+}
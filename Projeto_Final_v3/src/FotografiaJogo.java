@@ -0,0 +1,378 @@
+/**
+ * A classe FotografiaJogo é uma cópia do estado de um jogo no fim de uma jogada, com tudo o que a interface gráfica
+ * precisa para o desenhar: a cobra, a comida, os obstáculos, a pontuação e os tempos da simulação. A simulação usa
+ * duas fotografias à vez: atualiza a que não está publicada enquanto a interface desenha a outra, e só a publica
+ * depois de a atualizar, pelo que uma fotografia publicada não muda enquanto alguém a lê.
+ * Os segmentos da cobra são guardados num buffer circular, como na Cobra: ao atualizar, a fotografia junta as
+ * cabeças novas e larga os segmentos que a cauda deixou, em vez de copiar a cobra toda. As formas da comida e dos
+ * obstáculos são partilhadas com o motor, pois as formas geométricas são imutáveis.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ * @inv Os segmentos guardados são os da cobra do jogo ao fim de getMovimentos() movimentos.
+ */
+
+import java.util.List;
+
+public final class FotografiaJogo {
+    private final MotorJogo jogo;
+    private final int width, height, edge;
+    private int score, dir;
+    private boolean complete;
+    private EventoJogo fim;
+    // Buffer circular dos segmentos, a começar na cabeça, com início em inicio
+    private int[] segX = new int[16], segY = new int[16];
+    private int inicio, length;
+    private long movimentos;
+    private Object comida;
+    private int comidaSize;
+    private Poligono[] obstaculos = new Poligono[0];
+    private int[] poses = new int[0];
+    private boolean[] rodam = new boolean[0];
+    private int colisao;
+    private long jogadas, decisaoIA, atrasoMedio, atrasoMaximo, atrasadas;
+
+    /**
+     * Construtor da classe FotografiaJogo. Copia o estado atual do motor, sem tempos da simulação.
+     *
+     * @param motor O motor do jogo (tipo MotorJogo).
+     */
+    public FotografiaJogo(MotorJogo motor) {
+        this.jogo = motor;
+        this.width = motor.getWidth();
+        this.height = motor.getHeight();
+        this.edge = motor.getSnake().getEdge();
+        atualizar(motor, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Atualiza a fotografia com o estado atual do motor e guarda os tempos da simulação. Só os segmentos da cobra que
+     * mudaram desde a última atualização são copiados.
+     *
+     * @param motor        O motor do jogo (tipo MotorJogo).
+     * @param jogadas      O número de jogadas feitas pela simulação (tipo long).
+     * @param decisaoIA    O tempo da última decisão da IA, em nanossegundos (tipo long).
+     * @param atrasoMedio  O atraso médio do início das jogadas em relação ao previsto, em nanossegundos (tipo long).
+     * @param atrasoMaximo O maior atraso do início de uma jogada, em nanossegundos (tipo long).
+     * @param atrasadas    O número de jogadas feitas fora de horas, para recuperar o atraso (tipo long).
+     * @throws IllegalArgumentException Se o motor não for o do jogo da fotografia.
+     */
+    void atualizar(MotorJogo motor, long jogadas, long decisaoIA, long atrasoMedio, long atrasoMaximo,
+                   long atrasadas) {
+        if (motor != this.jogo)
+            throw new IllegalArgumentException("A fotografia é de outro jogo");
+        this.complete = motor.isComplete();
+        this.score = motor.getScore();
+        this.fim = motor.getFim();
+
+        Cobra snake = motor.getSnake();
+        this.dir = snake.getDir();
+        atualizarCobra(snake);
+
+        this.comida = motor.getFood().getFood();
+        this.comidaSize = motor.getFood().getFoodSize();
+
+        List<Obstaculo> lista = motor.getObstacles();
+        if (lista.size() != this.obstaculos.length) {
+            this.obstaculos = new Poligono[lista.size()];
+            this.poses = new int[lista.size()];
+            this.rodam = new boolean[lista.size()];
+        }
+        int c = -1;
+        for (int i = 0; i < lista.size(); i++) {
+            Obstaculo o = lista.get(i);
+            this.obstaculos[i] = o.getObstaculo() instanceof Poligono poligono ? poligono : null;
+            this.poses[i] = o.getPose();
+            this.rodam[i] = o.isRotating();
+            if (o == motor.getCollisionObstacle())
+                c = i;
+        }
+        this.colisao = c;
+
+        this.jogadas = jogadas;
+        this.decisaoIA = decisaoIA;
+        this.atrasoMedio = atrasoMedio;
+        this.atrasoMaximo = atrasoMaximo;
+        this.atrasadas = atrasadas;
+    }
+
+    /**
+     * Atualiza os segmentos guardados da cobra. Depois de k movimentos, o segmento k está onde estava a cabeça e o
+     * resto do corpo são os segmentos guardados sem os que a cauda largou, seguidos de cópias da cauda se a cobra
+     * cresceu: retiram-se do fim os segmentos a mais ou diferentes da cauda, repete-se a cauda até ao comprimento
+     * certo e juntam-se as k cabeças novas. Se a cobra deu pelo menos tantos passos como o seu comprimento, é
+     * copiada toda.
+     *
+     * @param snake A cobra do jogo (tipo Cobra).
+     */
+    private void atualizarCobra(Cobra snake) {
+        int n = snake.getLength();
+        int k = (int) Math.min(snake.getMoves() - this.movimentos, n);
+        if (n > this.segX.length) {
+            int[] novoX = new int[Math.max(n, 2 * this.segX.length)], novoY = new int[novoX.length];
+            for (int i = 0; i < this.length; i++) {
+                novoX[i] = getSegmentX(i);
+                novoY[i] = getSegmentY(i);
+            }
+            this.segX = novoX;
+            this.segY = novoY;
+            this.inicio = 0;
+        }
+        if (this.length == 0)
+            k = n;
+        if (k == n)
+            this.length = 0;
+        else {
+            int caudaX = snake.getSegmentX(n - 1), caudaY = snake.getSegmentY(n - 1);
+            while (this.length > 0 && (this.length > n - k || getSegmentX(this.length - 1) != caudaX
+                    || getSegmentY(this.length - 1) != caudaY))
+                this.length--;
+            if (this.length == 0)
+                k = n;
+            for (int i = this.length; i < n - k; i++) {
+                this.segX[slot(i)] = caudaX;
+                this.segY[slot(i)] = caudaY;
+            }
+            this.length = n - k;
+        }
+        for (int i = k - 1; i >= 0; i--) {
+            this.inicio = this.inicio == 0 ? this.segX.length - 1 : this.inicio - 1;
+            this.segX[this.inicio] = snake.getSegmentX(i);
+            this.segY[this.inicio] = snake.getSegmentY(i);
+        }
+        this.length = n;
+        this.movimentos = snake.getMoves();
+    }
+
+    /**
+     * Converte a posição de um segmento, contada a partir da cabeça, na posição correspondente do buffer circular.
+     *
+     * @param i A posição do segmento, sendo 0 a cabeça (tipo int).
+     * @return A posição do segmento nos arrays de coordenadas (tipo int).
+     */
+    private int slot(int i) {
+        int j = this.inicio + i;
+        return j < this.segX.length ? j : j - this.segX.length;
+    }
+
+    /**
+     * Retorna o jogo de que esta é uma fotografia, que serve apenas para distinguir fotografias de jogos diferentes.
+     *
+     * @return O identificador do jogo (tipo Object).
+     */
+    public Object getJogo() {
+        return this.jogo;
+    }
+
+    /**
+     * Retorna a largura da arena.
+     *
+     * @return A largura (tipo int).
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Retorna a altura da arena.
+     *
+     * @return A altura (tipo int).
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Indica se o jogo é desenhado no modo completo ou só com o contorno das formas.
+     *
+     * @return Verdadeiro no modo completo (tipo booleano).
+     */
+    public boolean isComplete() {
+        return this.complete;
+    }
+
+    /**
+     * Retorna a pontuação.
+     *
+     * @return A pontuação (tipo int).
+     */
+    public int getScore() {
+        return this.score;
+    }
+
+    /**
+     * Retorna o evento que terminou o jogo.
+     *
+     * @return O evento, ou null se o jogo ainda não terminou (tipo EventoJogo).
+     */
+    public EventoJogo getFim() {
+        return this.fim;
+    }
+
+    /**
+     * Retorna o tamanho da aresta de cada segmento da cobra.
+     *
+     * @return A aresta (tipo int).
+     */
+    public int getEdge() {
+        return this.edge;
+    }
+
+    /**
+     * Retorna a direção da cabeça da cobra.
+     *
+     * @return A direção, ou -1 se a cobra ainda não se mexeu (tipo int).
+     */
+    public int getDir() {
+        return this.dir;
+    }
+
+    /**
+     * Retorna o número de vezes que a cobra se moveu desde o início do jogo.
+     *
+     * @return O número de movimentos (tipo long).
+     */
+    public long getMovimentos() {
+        return this.movimentos;
+    }
+
+    /**
+     * Retorna o número de segmentos da cobra.
+     *
+     * @return O comprimento (tipo int).
+     */
+    public int getLength() {
+        return this.length;
+    }
+
+    /**
+     * Retorna a coordenada x do canto superior esquerdo do segmento indicado.
+     *
+     * @param i A posição do segmento, sendo 0 a cabeça (tipo int).
+     * @return A coordenada x do segmento (tipo int).
+     */
+    public int getSegmentX(int i) {
+        return this.segX[slot(i)];
+    }
+
+    /**
+     * Retorna a coordenada y do canto superior esquerdo do segmento indicado.
+     *
+     * @param i A posição do segmento, sendo 0 a cabeça (tipo int).
+     * @return A coordenada y do segmento (tipo int).
+     */
+    public int getSegmentY(int i) {
+        return this.segY[slot(i)];
+    }
+
+    /**
+     * Retorna a forma da comida.
+     *
+     * @return A forma, um Quadrado ou uma Circunferencia (tipo Object).
+     */
+    public Object getComida() {
+        return this.comida;
+    }
+
+    /**
+     * Retorna o tamanho da comida.
+     *
+     * @return O tamanho (tipo int).
+     */
+    public int getComidaSize() {
+        return this.comidaSize;
+    }
+
+    /**
+     * Retorna o número de obstáculos.
+     *
+     * @return O número de obstáculos (tipo int).
+     */
+    public int getNumeroObstaculos() {
+        return this.obstaculos.length;
+    }
+
+    /**
+     * Retorna a forma atual de um obstáculo.
+     *
+     * @param i O índice do obstáculo (tipo int).
+     * @return A forma, ou null se o obstáculo não chegou a ser colocado (tipo Poligono).
+     */
+    public Poligono getObstaculo(int i) {
+        return this.obstaculos[i];
+    }
+
+    /**
+     * Retorna o índice da posição atual de um obstáculo, que muda sempre que este roda.
+     *
+     * @param i O índice do obstáculo (tipo int).
+     * @return O índice da posição (tipo int).
+     */
+    public int getPose(int i) {
+        return this.poses[i];
+    }
+
+    /**
+     * Indica se um obstáculo roda.
+     *
+     * @param i O índice do obstáculo (tipo int).
+     * @return Verdadeiro se o obstáculo roda (tipo booleano).
+     */
+    public boolean isRotating(int i) {
+        return this.rodam[i];
+    }
+
+    /**
+     * Retorna o índice do obstáculo com que a cobra colidiu.
+     *
+     * @return O índice, ou -1 se não houve colisão (tipo int).
+     */
+    public int getColisao() {
+        return this.colisao;
+    }
+
+    /**
+     * Retorna o número de jogadas feitas pela simulação.
+     *
+     * @return O número de jogadas (tipo long).
+     */
+    public long getJogadas() {
+        return this.jogadas;
+    }
+
+    /**
+     * Retorna o tempo da última decisão da IA.
+     *
+     * @return O tempo em nanossegundos (tipo long).
+     */
+    public long getDecisaoIA() {
+        return this.decisaoIA;
+    }
+
+    /**
+     * Retorna o atraso médio do início das jogadas em relação ao previsto.
+     *
+     * @return O atraso em nanossegundos (tipo long).
+     */
+    public long getAtrasoMedio() {
+        return this.atrasoMedio;
+    }
+
+    /**
+     * Retorna o maior atraso do início de uma jogada em relação ao previsto.
+     *
+     * @return O atraso em nanossegundos (tipo long).
+     */
+    public long getAtrasoMaximo() {
+        return this.atrasoMaximo;
+    }
+
+    /**
+     * Retorna o número de jogadas feitas fora de horas para recuperar o atraso.
+     *
+     * @return O número de jogadas (tipo long).
+     */
+    public long getAtrasadas() {
+        return this.atrasadas;
+    }
+}
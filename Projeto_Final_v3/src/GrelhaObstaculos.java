@@ -0,0 +1,195 @@
+/**
+ * A classe GrelhaObstaculos é uma grelha uniforme sobre as células da grelha de movimento (de lado edge + 1), em que
+ * cada célula guarda os índices dos obstáculos cuja caixa envolvente, na posição atual, a cobre. Uma consulta de
+ * colisão começa por recolher os obstáculos que partilham alguma célula com a região consultada e só estes chegam ao
+ * teste exato, pelo que o custo depende dos obstáculos próximos e não do número total de obstáculos da arena. Quando
+ * um obstáculo roda, é retirado das células da posição antiga e colocado nas da nova.
+ * Como as formas rodadas podem sair da arena, as células fora da grelha são associadas à célula da margem mais
+ * próxima, tanto ao registar como ao consultar, para que nenhuma colisão se perca.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ * @inv Cada obstáculo está exatamente nas células cobertas pela caixa envolvente da sua forma atual.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class GrelhaObstaculos {
+    private final int cols, rows, edge;
+    private final int[][] celulas;
+    private final int[] tamanhos;
+    private final List<Obstaculo> obstaculos = new ArrayList<>();
+    // Caixa de células de cada obstáculo (cx0, cy0, cx1, cy1), vazia se cx0 > cx1
+    private int[] caixas = new int[16];
+    private int[] marcas = new int[4];
+    private int marca;
+    private int[] encontrados = new int[4];
+    private final List<Obstaculo> candidatos = new ArrayList<>();
+    private final List<Obstaculo> vistaCandidatos = Collections.unmodifiableList(this.candidatos);
+
+    /**
+     * Construtor para a classe GrelhaObstaculos. Cria uma grelha vazia que cobre a arena.
+     *
+     * @param width  A largura da arena (tipo int).
+     * @param height A altura da arena (tipo int).
+     * @param edge   O tamanho da aresta da cabeça da cobra (tipo int).
+     * @throws IllegalArgumentException Se a aresta ou o tamanho da arena forem inválidos.
+     */
+    public GrelhaObstaculos(int width, int height, int edge) {
+        if (edge < 1)
+            throw new IllegalArgumentException("Aresta inválida");
+        if (width < 1 || height < 1)
+            throw new IllegalArgumentException("Tamanho de arena inválido");
+        this.edge = edge;
+        this.cols = (width + edge) / (edge + 1);
+        this.rows = (height + edge) / (edge + 1);
+        this.celulas = new int[this.cols * this.rows][];
+        this.tamanhos = new int[this.cols * this.rows];
+    }
+
+    /**
+     * Regista um obstáculo na grelha, nas células cobertas pela sua forma atual.
+     *
+     * @param obstaculo O obstáculo a registar (tipo Obstaculo).
+     * @return O índice do obstáculo na grelha, usado em update (tipo int).
+     */
+    public int add(Obstaculo obstaculo) {
+        int i = this.obstaculos.size();
+        this.obstaculos.add(obstaculo);
+        if (4 * i + 4 > this.caixas.length) {
+            this.caixas = Arrays.copyOf(this.caixas, 2 * this.caixas.length);
+            this.marcas = Arrays.copyOf(this.marcas, 2 * this.marcas.length);
+            this.encontrados = Arrays.copyOf(this.encontrados, 2 * this.encontrados.length);
+        }
+        insert(i);
+        return i;
+    }
+
+    /**
+     * Atualiza as células de um obstáculo depois de este rodar.
+     *
+     * @param i O índice do obstáculo na grelha (tipo int).
+     */
+    public void update(int i) {
+        if (i < 0 || i >= this.obstaculos.size())
+            throw new IndexOutOfBoundsException(i);
+        remove(i);
+        insert(i);
+    }
+
+    /**
+     * Retorna o número de obstáculos registados.
+     *
+     * @return O número de obstáculos (tipo int).
+     */
+    public int size() {
+        return this.obstaculos.size();
+    }
+
+    /**
+     * Retorna os obstáculos que partilham alguma célula com um retângulo de pixels, sem repetições e pela ordem em
+     * que foram registados. Os candidatos podem não tocar o retângulo, mas todos os obstáculos que o tocam estão
+     * entre eles. A lista é reutilizada, pelo que só é válida até à consulta seguinte.
+     *
+     * @param x0 Coordenada x do canto superior esquerdo do retângulo (tipo int).
+     * @param y0 Coordenada y do canto superior esquerdo do retângulo (tipo int).
+     * @param x1 Coordenada x do canto inferior direito do retângulo, inclusiva (tipo int).
+     * @param y1 Coordenada y do canto inferior direito do retângulo, inclusiva (tipo int).
+     * @return Uma lista só de leitura dos obstáculos candidatos (tipo List<Obstaculo>).
+     */
+    public List<Obstaculo> getCandidatos(int x0, int y0, int x1, int y1) {
+        this.candidatos.clear();
+        // Uma marca nova por consulta evita limpar as marcas de todos os obstáculos
+        if (++this.marca == 0) {
+            Arrays.fill(this.marcas, 0);
+            this.marca = 1;
+        }
+        int n = 0;
+        for (int cy = cellY(y0); cy <= cellY(y1); cy++)
+            for (int cx = cellX(x0); cx <= cellX(x1); cx++) {
+                int cell = cy * this.cols + cx;
+                for (int k = 0; k < this.tamanhos[cell]; k++) {
+                    int i = this.celulas[cell][k];
+                    if (this.marcas[i] != this.marca) {
+                        this.marcas[i] = this.marca;
+                        this.encontrados[n++] = i;
+                    }
+                }
+            }
+        Arrays.sort(this.encontrados, 0, n);
+        for (int k = 0; k < n; k++)
+            this.candidatos.add(this.obstaculos.get(this.encontrados[k]));
+        return this.vistaCandidatos;
+    }
+
+    /**
+     * Coloca um obstáculo nas células cobertas pela caixa envolvente da sua forma atual. Os limites da caixa são
+     * arredondados para fora, para incluir tanto a forma exata como os pixels da sua rasterização.
+     *
+     * @param i O índice do obstáculo na grelha (tipo int).
+     */
+    private void insert(int i) {
+        if (!(this.obstaculos.get(i).getObstaculo() instanceof Poligono poligono)) {
+            this.caixas[4 * i] = 0;
+            this.caixas[4 * i + 2] = -1;
+            return;
+        }
+        int cx0 = cellX((int) Math.floor(poligono.getMinX())), cy0 = cellY((int) Math.floor(poligono.getMinY()));
+        int cx1 = cellX((int) Math.ceil(poligono.getMaxX())), cy1 = cellY((int) Math.ceil(poligono.getMaxY()));
+        this.caixas[4 * i] = cx0;
+        this.caixas[4 * i + 1] = cy0;
+        this.caixas[4 * i + 2] = cx1;
+        this.caixas[4 * i + 3] = cy1;
+        for (int cy = cy0; cy <= cy1; cy++)
+            for (int cx = cx0; cx <= cx1; cx++) {
+                int cell = cy * this.cols + cx;
+                if (this.celulas[cell] == null)
+                    this.celulas[cell] = new int[2];
+                else if (this.tamanhos[cell] == this.celulas[cell].length)
+                    this.celulas[cell] = Arrays.copyOf(this.celulas[cell], 2 * this.tamanhos[cell]);
+                this.celulas[cell][this.tamanhos[cell]++] = i;
+            }
+    }
+
+    /**
+     * Retira um obstáculo das células onde foi colocado por insert.
+     *
+     * @param i O índice do obstáculo na grelha (tipo int).
+     */
+    private void remove(int i) {
+        for (int cy = this.caixas[4 * i + 1]; cy <= this.caixas[4 * i + 3]; cy++)
+            for (int cx = this.caixas[4 * i]; cx <= this.caixas[4 * i + 2]; cx++) {
+                int cell = cy * this.cols + cx;
+                int[] indices = this.celulas[cell];
+                for (int k = 0; k < this.tamanhos[cell]; k++)
+                    if (indices[k] == i) {
+                        // A ordem dentro de uma célula não importa, pois os candidatos são ordenados
+                        indices[k] = indices[--this.tamanhos[cell]];
+                        break;
+                    }
+            }
+    }
+
+    /**
+     * Converte uma coordenada x em pixels na coluna da célula correspondente, limitada à grelha.
+     *
+     * @param x A coordenada x (tipo int).
+     * @return A coluna da célula (tipo int).
+     */
+    private int cellX(int x) {
+        return Math.max(0, Math.min(this.cols - 1, Math.floorDiv(x, this.edge + 1)));
+    }
+
+    /**
+     * Converte uma coordenada y em pixels na linha da célula correspondente, limitada à grelha.
+     *
+     * @param y A coordenada y (tipo int).
+     * @return A linha da célula (tipo int).
+     */
+    private int cellY(int y) {
+        return Math.max(0, Math.min(this.rows - 1, Math.floorDiv(y, this.edge + 1)));
+    }
+}
@@ -0,0 +1,338 @@
+/**
+ * A classe IACaminho controla a cobra procurando caminhos na grelha de movimento da cobra, em que cada célula tem
+ * o lado edge + 1. Em cada jogada procura, por pesquisa em largura, o caminho mais curto até à comida e só o segue
+ * se, depois de comer, a cobra ainda conseguir chegar à própria cauda; caso contrário persegue a cauda, que é
+ * sempre uma posição segura. Os segmentos do corpo são tratados como obstáculos temporários: a célula do segmento
+ * i deixa de bloquear ao fim das jogadas necessárias para a cauda passar por ela. Como o jogo é determinista até a
+ * comida ser comida, um caminho seguro continua seguro nas jogadas seguintes e é seguido sem nova pesquisa.
+ * Todos os arrays são reservados uma única vez por jogo, pelo que uma decisão não cria objetos.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ */
+
+import java.util.Arrays;
+
+public class IACaminho implements JogadorIA {
+    //0: esq-dir; 90: baixo-cima; 180: dir-esq; 270: cima-baixo
+    private static final int[] DIRS = {0, 90, 180, 270};
+    private static final int[] DX = {1, 0, -1, 0};
+    private static final int[] DY = {0, -1, 0, 1};
+
+    private MotorJogo motor;
+    private int cols, rows, unit;
+    private boolean[] obstaculo;
+    private int[] livreEm, marcaLivre;
+    private int[] pai, dist, marcaVisita, fila, caminho, virtual, plano;
+    private int planoTam, planoPos, planoCabeca = -1;
+    private Comida planoComida;
+    private int geracaoLivre, geracaoVisita;
+    private final BufferPontos pontos = new BufferPontos();
+
+    /**
+     * Escolhe a direção da cobra para a próxima jogada, seguindo o caminho para a comida se for seguro, a cauda se
+     * não for, ou qualquer célula vizinha livre se não houver caminho para nenhuma das duas.
+     *
+     * @param motor O motor do jogo cuja cobra será controlada (tipo MotorJogo).
+     */
+    @Override
+    public void aiMove(MotorJogo motor) {
+        if (motor != this.motor)
+            preparar(motor);
+        Cobra snake = motor.getSnake();
+        Comida food = motor.getFood();
+        if (food == null || food.getFood() == null)
+            return;
+
+        int cabeca = celula(snake.getSegmentX(0), snake.getSegmentY(0));
+        int n = snake.getLength();
+
+        // Segue o caminho seguro já calculado, se a cobra ainda estiver nele e a comida for a mesma
+        if (food == this.planoComida && cabeca == this.planoCabeca && this.planoPos < this.planoTam) {
+            this.planoCabeca = this.plano[this.planoPos++];
+            seguir(snake, cabeca, this.planoCabeca);
+            return;
+        }
+        this.planoComida = null;
+
+        // A cobra não aceita inverter o sentido, mesmo quando a célula de trás está livre (logo depois de crescer)
+        int proibida = -1;
+        if (n > 1 && snake.getDir() != -1) {
+            int k = (indiceDir(snake.getDir()) + 2) % 4;
+            proibida = vizinha(cabeca, k);
+        }
+
+        marcarCobra(snake);
+        int comida = celulaComida(food);
+        int passoComida = -1;
+        int d = procurar(cabeca, comida, 0, proibida);
+        if (d > 0) {
+            extrairCaminho(comida, d);
+            passoComida = this.caminho[0];
+            if (caminhoSeguro(snake, d)) {
+                System.arraycopy(this.caminho, 0, this.plano, 0, d);
+                this.planoTam = d;
+                this.planoPos = 1;
+                this.planoCabeca = passoComida;
+                this.planoComida = food;
+                seguir(snake, cabeca, passoComida);
+                return;
+            }
+            marcarCobra(snake);
+        }
+
+        // Persegue a cauda pela vizinha mais afastada dela, para que a cobra percorra a arena em vez de repetir
+        // sempre o mesmo ciclo enquanto a comida não é segura
+        int melhor = -1, melhorDist = -1;
+        if (n > 1) {
+            int cauda = celula(snake.getSegmentX(n - 1), snake.getSegmentY(n - 1));
+            for (int k = 0; k < 4; k++) {
+                int v = vizinha(cabeca, k);
+                if (v < 0 || v == proibida || !passavel(v, 1))
+                    continue;
+                int dc = procurar(v, cauda, 1, -1);
+                if (dc > melhorDist) {
+                    melhorDist = dc;
+                    melhor = v;
+                }
+            }
+        }
+        if (melhor >= 0) {
+            seguir(snake, cabeca, melhor);
+            return;
+        }
+
+        if (passoComida >= 0) {
+            seguir(snake, cabeca, passoComida);
+            return;
+        }
+
+        // Sem caminho para a comida nem para a cauda: basta sobreviver a esta jogada
+        for (int k = 0; k < 4; k++) {
+            int v = vizinha(cabeca, k);
+            if (v >= 0 && v != proibida && passavel(v, 1)) {
+                seguir(snake, cabeca, v);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Retorna a célula vizinha de outra numa direção.
+     *
+     * @param c A célula (tipo int).
+     * @param k O índice da direção em DIRS (tipo int).
+     * @return A célula vizinha, ou -1 se ficar fora da arena (tipo int).
+     */
+    private int vizinha(int c, int k) {
+        int nx = c % this.cols + DX[k], ny = c / this.cols + DY[k];
+        if (nx < 0 || ny < 0 || nx >= this.cols || ny >= this.rows)
+            return -1;
+        return ny * this.cols + nx;
+    }
+
+    /**
+     * Retorna o índice em DIRS de uma direção da cobra.
+     *
+     * @param dir A direção em graus (tipo int).
+     * @return O índice da direção (tipo int).
+     */
+    private static int indiceDir(int dir) {
+        return dir / 90;
+    }
+
+    /**
+     * Reserva os arrays para a grelha do motor e marca as células que algum obstáculo ocupa ou pode vir a ocupar
+     * ao rodar. Os obstáculos nunca mudam de conjunto de posições, pelo que isto só é feito uma vez por jogo.
+     *
+     * @param motor O motor do jogo (tipo MotorJogo).
+     */
+    private void preparar(MotorJogo motor) {
+        this.motor = motor;
+        this.planoComida = null;
+        this.unit = motor.getSnake().getEdge() + 1;
+        this.cols = motor.getWidth() / this.unit;
+        this.rows = motor.getHeight() / this.unit;
+        int n = this.cols * this.rows;
+        if (this.livreEm == null || this.livreEm.length != n) {
+            this.obstaculo = new boolean[n];
+            this.livreEm = new int[n];
+            this.marcaLivre = new int[n];
+            this.pai = new int[n];
+            this.dist = new int[n];
+            this.marcaVisita = new int[n];
+            this.fila = new int[n];
+            this.caminho = new int[n + 1];
+            this.virtual = new int[n + 1];
+            this.plano = new int[n + 1];
+            this.geracaoLivre = 0;
+            this.geracaoVisita = 0;
+        } else
+            Arrays.fill(this.obstaculo, false);
+
+        this.pontos.clear();
+        for (Obstaculo o : motor.getObstacles())
+            o.addAllPosesIntPoints(this.pontos);
+        for (int i = 0; i < this.pontos.size(); i++) {
+            int cx = this.pontos.getX(i) / this.unit, cy = this.pontos.getY(i) / this.unit;
+            if (this.pontos.getX(i) >= 0 && this.pontos.getY(i) >= 0 && cx < this.cols && cy < this.rows)
+                this.obstaculo[cy * this.cols + cx] = true;
+        }
+    }
+
+    /**
+     * Marca as células ocupadas pela cobra com o número de jogadas ao fim do qual deixam de bloquear a cabeça.
+     * O segmento i de uma cobra com n segmentos bloqueia durante n - i + 1 jogadas, pois o motor verifica a
+     * colisão com a cauda antes de a retirar.
+     *
+     * @param snake A cobra (tipo Cobra).
+     */
+    private void marcarCobra(Cobra snake) {
+        int g = ++this.geracaoLivre;
+        int n = snake.getLength();
+        for (int i = 0; i < n; i++)
+            bloquear(celula(snake.getSegmentX(i), snake.getSegmentY(i)), n - i + 1, g);
+    }
+
+    /**
+     * Marca uma célula como bloqueada durante um número de jogadas, mantendo o maior valor se já estiver marcada.
+     *
+     * @param c       A célula (tipo int).
+     * @param jogadas O número de jogadas durante as quais a célula bloqueia (tipo int).
+     * @param g       A geração atual das marcas (tipo int).
+     */
+    private void bloquear(int c, int jogadas, int g) {
+        if (this.marcaLivre[c] != g || this.livreEm[c] < jogadas) {
+            this.marcaLivre[c] = g;
+            this.livreEm[c] = jogadas;
+        }
+    }
+
+    /**
+     * Verifica se a cabeça pode entrar numa célula na jogada indicada.
+     *
+     * @param c      A célula (tipo int).
+     * @param jogada O número da jogada, a contar de 1 (tipo int).
+     * @return Verdadeiro se a célula está livre nessa jogada; falso caso contrário (tipo booleano).
+     */
+    private boolean passavel(int c, int jogada) {
+        return !this.obstaculo[c] && (this.marcaLivre[c] != this.geracaoLivre || this.livreEm[c] <= jogada);
+    }
+
+    /**
+     * Pesquisa em largura a partir de uma célula até outra, só entrando em células livres na jogada em que são
+     * alcançadas. O destino pode ser a própria origem, caso em que é procurado o ciclo mais curto.
+     *
+     * @param origem   A célula de partida (tipo int).
+     * @param destino  A célula de chegada (tipo int).
+     * @param jogada   O número da jogada em que a cabeça está na origem (tipo int).
+     * @param proibida Uma célula vizinha da origem para onde não se pode ir diretamente, ou -1 (tipo int).
+     * @return O número da jogada em que se chega ao destino, ou -1 se não houver caminho (tipo int).
+     */
+    private int procurar(int origem, int destino, int jogada, int proibida) {
+        int g = ++this.geracaoVisita;
+        int inicio = 0, fim = 0;
+        this.fila[fim++] = origem;
+        this.marcaVisita[origem] = g;
+        this.dist[origem] = jogada;
+        while (inicio < fim) {
+            int c = this.fila[inicio++];
+            int cx = c % this.cols, cy = c / this.cols, nd = this.dist[c] + 1;
+            for (int k = 0; k < 4; k++) {
+                int nx = cx + DX[k], ny = cy + DY[k];
+                if (nx < 0 || ny < 0 || nx >= this.cols || ny >= this.rows)
+                    continue;
+                int v = ny * this.cols + nx;
+                if (!passavel(v, nd) || c == origem && v == proibida)
+                    continue;
+                if (v == destino) {
+                    this.pai[v] = c;
+                    return nd;
+                }
+                if (this.marcaVisita[v] == g)
+                    continue;
+                this.marcaVisita[v] = g;
+                this.dist[v] = nd;
+                this.pai[v] = c;
+                this.fila[fim++] = v;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Guarda em caminho as células do caminho encontrado pela última pesquisa, da primeira jogada ao destino.
+     *
+     * @param destino A célula de chegada (tipo int).
+     * @param d       O número de jogadas do caminho (tipo int).
+     */
+    private void extrairCaminho(int destino, int d) {
+        int c = destino;
+        for (int k = d - 1; k >= 0; k--) {
+            this.caminho[k] = c;
+            c = this.pai[c];
+        }
+    }
+
+    /**
+     * Verifica se, depois de seguir o caminho até à comida e crescer, a cobra ainda consegue chegar à própria
+     * cauda. Para isso marca a posição que a cobra terá nesse momento e procura um caminho da comida à cauda.
+     *
+     * @param snake A cobra (tipo Cobra).
+     * @param d     O número de jogadas do caminho até à comida, guardado em caminho (tipo int).
+     * @return Verdadeiro se o caminho é seguro; falso caso contrário (tipo booleano).
+     */
+    private boolean caminhoSeguro(Cobra snake, int d) {
+        int n = snake.getLength();
+        for (int j = 0; j < n; j++)
+            this.virtual[j] = j < d ? this.caminho[d - 1 - j]
+                    : celula(snake.getSegmentX(j - d), snake.getSegmentY(j - d));
+        this.virtual[n] = this.virtual[n - 1]; // o novo segmento nasce na posição da cauda
+
+        int g = ++this.geracaoLivre;
+        for (int j = 0; j <= n; j++)
+            bloquear(this.virtual[j], n + 2 - j, g);
+        return procurar(this.virtual[0], this.virtual[n], 0, -1) > 0;
+    }
+
+    /**
+     * Muda a direção da cobra para a célula vizinha da cabeça indicada.
+     *
+     * @param snake  A cobra (tipo Cobra).
+     * @param cabeca A célula da cabeça (tipo int).
+     * @param passo  A célula vizinha para onde a cobra se vai mover (tipo int).
+     */
+    private void seguir(Cobra snake, int cabeca, int passo) {
+        int dx = passo % this.cols - cabeca % this.cols, dy = passo / this.cols - cabeca / this.cols;
+        for (int k = 0; k < 4; k++)
+            if (DX[k] == dx && DY[k] == dy) {
+                snake.setDir(DIRS[k]);
+                return;
+            }
+    }
+
+    /**
+     * Calcula a célula da grelha de movimento que contém um ponto.
+     *
+     * @param x Coordenada x do ponto (tipo int).
+     * @param y Coordenada y do ponto (tipo int).
+     * @return O número da célula (linha * colunas + coluna) (tipo int).
+     */
+    private int celula(int x, int y) {
+        return (y / this.unit) * this.cols + x / this.unit;
+    }
+
+    /**
+     * Calcula a célula onde está a comida, a partir do canto superior esquerdo da sua forma.
+     *
+     * @param food A comida (tipo Comida).
+     * @return O número da célula (tipo int).
+     */
+    private int celulaComida(Comida food) {
+        if (food.getFood() instanceof Quadrado quadrado)
+            return celula((int) quadrado.getTopLeft().getX(), (int) quadrado.getTopLeft().getY());
+        Circunferencia circunferencia = (Circunferencia) food.getFood();
+        return celula((int) (circunferencia.getCenter().getX() - circunferencia.getRadius()),
+                (int) (circunferencia.getCenter().getY() - circunferencia.getRadius()));
+    }
+}
@@ -0,0 +1,226 @@
+/**
+ * A classe IACiclo controla a cobra seguindo um ciclo hamiltoniano da grelha de movimento da cobra, em que cada
+ * célula tem o lado edge + 1. O ciclo passa uma vez por cada célula, pelo que a cobra, ao segui-lo, nunca choca
+ * consigo própria e acaba por encher a arena, que é a condição de vitória do jogo. Enquanto a cobra ocupa menos de
+ * metade da arena, corta caminho por uma célula vizinha mais adiante no ciclo, desde que não passe a comida nem se
+ * aproxime demasiado da cauda; assim o corpo continua ordenado ao longo do ciclo e o atalho é seguro.
+ * O ciclo só depende do tamanho da arena e é calculado uma única vez para cada largura, altura e aresta. Cada
+ * decisão olha apenas para as quatro células vizinhas da cabeça, pelo que demora um tempo constante.
+ * Como o ciclo passa por todas as células, qualquer pixel de obstáculo dentro da arena, em qualquer das poses do
+ * obstáculo, impede que seja seguido: com obstáculos, na prática, a cobra é sempre controlada por IACaminho, tal
+ * como quando a grelha não tem ciclo hamiltoniano (número ímpar de células).
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ */
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class IACiclo implements JogadorIA {
+    //0: esq-dir; 90: baixo-cima; 180: dir-esq; 270: cima-baixo
+    private static final int[] DIRS = {0, 90, 180, 270};
+    private static final int[] DX = {1, 0, -1, 0};
+    private static final int[] DY = {0, -1, 0, 1};
+    // Distância mínima, ao longo do ciclo, entre a célula do atalho e a cauda
+    private static final int MARGEM = 3;
+    private static final Map<Chave, Ciclo> CICLOS = new ConcurrentHashMap<>();
+
+    private final JogadorIA alternativa = new IACaminho();
+    private MotorJogo motor;
+    private Ciclo ciclo;
+    private int cols, rows, unit;
+
+    /**
+     * Escolhe a direção da cobra para a próxima jogada: a célula seguinte no ciclo, ou um atalho seguro.
+     *
+     * @param motor O motor do jogo cuja cobra será controlada (tipo MotorJogo).
+     */
+    @Override
+    public void aiMove(MotorJogo motor) {
+        if (motor != this.motor)
+            preparar(motor);
+        if (this.ciclo == null) {
+            this.alternativa.aiMove(motor);
+            return;
+        }
+        Cobra snake = motor.getSnake();
+        Comida food = motor.getFood();
+        if (food == null || food.getFood() == null)
+            return;
+
+        int[] ordem = this.ciclo.ordem;
+        int total = ordem.length;
+        int n = snake.getLength();
+        int cabeca = celula(snake.getSegmentX(0), snake.getSegmentY(0));
+        int cauda = celula(snake.getSegmentX(n - 1), snake.getSegmentY(n - 1));
+        int pos = ordem[cabeca];
+        int ateCauda = n > 1 ? distancia(pos, ordem[cauda], total) : total;
+        int ateComida = distancia(pos, ordem[celulaComida(food)], total);
+
+        // Por omissão segue o ciclo; um atalho salta para a vizinha mais adiante que não passe a comida
+        int melhor = this.ciclo.celulas[(pos + 1) % total], melhorDist = 1;
+        if (2 * n < total) {
+            int cx = cabeca % this.cols, cy = cabeca / this.cols;
+            for (int k = 0; k < 4; k++) {
+                int nx = cx + DX[k], ny = cy + DY[k];
+                if (nx < 0 || ny < 0 || nx >= this.cols || ny >= this.rows)
+                    continue;
+                int v = ny * this.cols + nx;
+                int d = distancia(pos, ordem[v], total);
+                if (d > melhorDist && d <= ateComida && d < ateCauda - MARGEM) {
+                    melhorDist = d;
+                    melhor = v;
+                }
+            }
+        }
+        seguir(snake, cabeca, melhor);
+    }
+
+    /**
+     * Obtém o ciclo da arena do motor e verifica que nenhum obstáculo ocupa, em alguma das suas poses, uma célula da
+     * arena; se ocupar, o ciclo não é usado. Os obstáculos nunca mudam de conjunto de posições, pelo que isto só é
+     * feito uma vez por jogo.
+     *
+     * @param motor O motor do jogo (tipo MotorJogo).
+     */
+    private void preparar(MotorJogo motor) {
+        this.motor = motor;
+        int edge = motor.getSnake().getEdge();
+        this.unit = edge + 1;
+        this.cols = motor.getWidth() / this.unit;
+        this.rows = motor.getHeight() / this.unit;
+        this.ciclo = CICLOS.computeIfAbsent(new Chave(motor.getWidth(), motor.getHeight(), edge),
+                chave -> Ciclo.criar(this.cols, this.rows));
+        if (this.ciclo == Ciclo.NENHUM) {
+            this.ciclo = null;
+            return;
+        }
+
+        BufferPontos pontos = new BufferPontos();
+        for (Obstaculo o : motor.getObstacles())
+            o.addAllPosesIntPoints(pontos);
+        for (int i = 0; i < pontos.size(); i++) {
+            int cx = pontos.getX(i) / this.unit, cy = pontos.getY(i) / this.unit;
+            if (pontos.getX(i) >= 0 && pontos.getY(i) >= 0 && cx < this.cols && cy < this.rows) {
+                this.ciclo = null;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Calcula quantas posições é preciso avançar no ciclo para ir de uma posição a outra.
+     *
+     * @param de    A posição de partida no ciclo (tipo int).
+     * @param ate   A posição de chegada no ciclo (tipo int).
+     * @param total O número de células do ciclo (tipo int).
+     * @return A distância ao longo do ciclo, entre 0 e total - 1 (tipo int).
+     */
+    private static int distancia(int de, int ate, int total) {
+        int d = ate - de;
+        return d < 0 ? d + total : d;
+    }
+
+    /**
+     * Muda a direção da cobra para a célula vizinha da cabeça indicada.
+     *
+     * @param snake  A cobra (tipo Cobra).
+     * @param cabeca A célula da cabeça (tipo int).
+     * @param passo  A célula vizinha para onde a cobra se vai mover (tipo int).
+     */
+    private void seguir(Cobra snake, int cabeca, int passo) {
+        int dx = passo % this.cols - cabeca % this.cols, dy = passo / this.cols - cabeca / this.cols;
+        for (int k = 0; k < 4; k++)
+            if (DX[k] == dx && DY[k] == dy) {
+                snake.setDir(DIRS[k]);
+                return;
+            }
+    }
+
+    /**
+     * Calcula a célula da grelha de movimento que contém um ponto.
+     *
+     * @param x Coordenada x do ponto (tipo int).
+     * @param y Coordenada y do ponto (tipo int).
+     * @return O número da célula (linha * colunas + coluna) (tipo int).
+     */
+    private int celula(int x, int y) {
+        return (y / this.unit) * this.cols + x / this.unit;
+    }
+
+    /**
+     * Calcula a célula onde está a comida, a partir do canto superior esquerdo da sua forma.
+     *
+     * @param food A comida (tipo Comida).
+     * @return O número da célula (tipo int).
+     */
+    private int celulaComida(Comida food) {
+        if (food.getFood() instanceof Quadrado quadrado)
+            return celula((int) quadrado.getTopLeft().getX(), (int) quadrado.getTopLeft().getY());
+        Circunferencia circunferencia = (Circunferencia) food.getFood();
+        return celula((int) (circunferencia.getCenter().getX() - circunferencia.getRadius()),
+                (int) (circunferencia.getCenter().getY() - circunferencia.getRadius()));
+    }
+
+    /**
+     * Identifica o tamanho de uma arena na cache de ciclos.
+     *
+     * @param width  A largura da arena (tipo int).
+     * @param height A altura da arena (tipo int).
+     * @param edge   O tamanho da aresta da cabeça da cobra (tipo int).
+     */
+    private record Chave(int width, int height, int edge) {
+    }
+
+    /**
+     * Um ciclo hamiltoniano de uma grelha, guardado nos dois sentidos: a posição de cada célula no ciclo e a
+     * célula em cada posição.
+     */
+    static final class Ciclo {
+        // Marca, na cache, as arenas sem ciclo
+        static final Ciclo NENHUM = new Ciclo(new int[0], new int[0]);
+
+        final int[] ordem, celulas;
+
+        private Ciclo(int[] ordem, int[] celulas) {
+            this.ordem = ordem;
+            this.celulas = celulas;
+        }
+
+        /**
+         * Constrói um ciclo hamiltoniano de uma grelha com um número par de linhas ou de colunas. O ciclo
+         * percorre a primeira linha da esquerda para a direita, desce em ziguezague pelas restantes colunas e
+         * volta ao início pela primeira coluna. Se só as colunas forem em número par, é usada a grelha transposta.
+         *
+         * @param cols O número de colunas (tipo int).
+         * @param rows O número de linhas (tipo int).
+         * @return O ciclo, ou NENHUM se a grelha não tiver ciclo hamiltoniano (tipo Ciclo).
+         */
+        static Ciclo criar(int cols, int rows) {
+            if (cols < 2 || rows < 2 || cols % 2 != 0 && rows % 2 != 0)
+                return NENHUM;
+            boolean transposta = rows % 2 != 0;
+            int largura = transposta ? rows : cols, altura = transposta ? cols : rows;
+
+            int[] celulas = new int[cols * rows];
+            int p = 0;
+            for (int x = 0; x < largura; x++)
+                celulas[p++] = indice(x, 0, cols, transposta);
+            for (int y = 1; y < altura; y++)
+                for (int i = 1; i < largura; i++)
+                    celulas[p++] = indice(y % 2 != 0 ? largura - i : i, y, cols, transposta);
+            for (int y = altura - 1; y >= 1; y--)
+                celulas[p++] = indice(0, y, cols, transposta);
+
+            int[] ordem = new int[celulas.length];
+            for (int i = 0; i < celulas.length; i++)
+                ordem[celulas[i]] = i;
+            return new Ciclo(ordem, celulas);
+        }
+
+        private static int indice(int x, int y, int cols, boolean transposta) {
+            return transposta ? x * cols + y : y * cols + x;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * A classe IAGulosa controla a cobra de um jogo sem intervenção do utilizador. Em cada jogada escolhe a direção
+ * que aproxima a cabeça da comida, deixando à cobra a escolha de uma direção segura quando essa não o é. Como só
+ * olha uma jogada à frente, fica muitas vezes encurralada; a IA usada por omissão é IACaminho.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ */
+
+public class IAGulosa implements JogadorIA {
+    /**
+     * Lógica de movimentação da cobra controlada pela IA para se aproximar da comida. Só muda a direção da cobra;
+     * a jogada é feita depois pelo motor.
+     *
+     * @param motor O motor do jogo cuja cobra será controlada (tipo MotorJogo).
+     */
+    @Override
+    public void aiMove(MotorJogo motor) {
+        Cobra snake = motor.getSnake();
+        Comida food = motor.getFood();
+        if (food != null && snake != null) {
+            Ponto foodPosition = new Ponto(0, 0);
+            if (food.getFood() instanceof Quadrado quadrado)
+                foodPosition = quadrado.getTopLeft();
+            else if (food.getFood() instanceof Circunferencia circunferencia)
+                foodPosition = new Ponto(circunferencia.getCenter().getX() - circunferencia.getRadius(),
+                        circunferencia.getCenter().getY() - circunferencia.getRadius());
+
+            int headX = snake.getSegmentX(0), headY = snake.getSegmentY(0);
+
+            //0: esq-dir; 90: baixo-cima; 180: dir-esq; 270: cima-baixo
+            // Lógica básica de IA para mover a cobra em direção à comida
+            if (headY > foodPosition.getY())
+                snake.setSafeDir(90, motor.getWidth(), motor.getHeight());
+            else if (headY < foodPosition.getY())
+                snake.setSafeDir(270, motor.getWidth(), motor.getHeight());
+            else if (headX > foodPosition.getX())
+                snake.setSafeDir(180, motor.getWidth(), motor.getHeight());
+            else if (headX < foodPosition.getX())
+                snake.setSafeDir(0, motor.getWidth(), motor.getHeight());
+        }
+    }
+}
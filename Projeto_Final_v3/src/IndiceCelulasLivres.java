@@ -0,0 +1,171 @@
+/**
+ * A classe IndiceCelulasLivres mantém o conjunto das células da grelha de movimento (de lado edge + 1) onde pode
+ * ser colocada comida, isto é, que não estão ocupadas pela cobra nem por obstáculos. As células livres são
+ * guardadas num array denso com um mapa de posições, para que ocupar, libertar e sortear uma célula livre
+ * uniformemente sejam operações O(1). Cada célula conta quantos elementos a ocupam, pelo que sobreposições entre
+ * segmentos da cobra e obstáculos são tratadas corretamente.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ * @inv Uma célula está no array de células livres se e só se não tem elementos a ocupá-la.
+ */
+
+import java.util.random.RandomGenerator;
+
+public class IndiceCelulasLivres {
+    private final int cols, rows, edge;
+    private final int[] ocupantes;
+    private final int[] livres;
+    private final int[] posicao;
+    private int numLivres;
+
+    /**
+     * Construtor para a classe IndiceCelulasLivres. Inicialmente todas as células da arena estão livres.
+     *
+     * @param width  A largura da arena (tipo int).
+     * @param height A altura da arena (tipo int).
+     * @param edge   O tamanho da aresta da cabeça da cobra (tipo int).
+     */
+    public IndiceCelulasLivres(int width, int height, int edge) {
+        if (edge < 1)
+            throw new IllegalArgumentException("Aresta inválida");
+        this.edge = edge;
+        this.cols = width / (edge + 1);
+        this.rows = height / (edge + 1);
+        int total = this.cols * this.rows;
+        this.ocupantes = new int[total];
+        this.livres = new int[total];
+        this.posicao = new int[total];
+        for (int i = 0; i < total; i++) {
+            this.livres[i] = i;
+            this.posicao[i] = i;
+        }
+        this.numLivres = total;
+    }
+
+    /**
+     * Regista um novo ocupante numa célula. Células fora da arena são ignoradas.
+     *
+     * @param cx Coordenada x da célula (tipo int).
+     * @param cy Coordenada y da célula (tipo int).
+     */
+    public void occupy(int cx, int cy) {
+        if (cx < 0 || cx >= this.cols || cy < 0 || cy >= this.rows)
+            return;
+        int cell = cy * this.cols + cx;
+        if (this.ocupantes[cell]++ == 0) {
+            // Troca a célula com a última livre e encurta o array
+            int ultima = this.livres[--this.numLivres];
+            this.livres[this.posicao[cell]] = ultima;
+            this.posicao[ultima] = this.posicao[cell];
+            this.livres[this.numLivres] = cell;
+            this.posicao[cell] = this.numLivres;
+        }
+    }
+
+    /**
+     * Retira um ocupante de uma célula, que volta a ficar livre quando deixa de ter ocupantes.
+     * Células fora da arena são ignoradas.
+     *
+     * @param cx Coordenada x da célula (tipo int).
+     * @param cy Coordenada y da célula (tipo int).
+     */
+    public void release(int cx, int cy) {
+        if (cx < 0 || cx >= this.cols || cy < 0 || cy >= this.rows)
+            return;
+        int cell = cy * this.cols + cx;
+        if (this.ocupantes[cell] == 0)
+            return;
+        if (--this.ocupantes[cell] == 0) {
+            // A célula está logo a seguir às livres; troca-a com a primeira ocupada e alarga o array
+            int primeira = this.livres[this.numLivres];
+            this.livres[this.posicao[cell]] = primeira;
+            this.posicao[primeira] = this.posicao[cell];
+            this.livres[this.numLivres] = cell;
+            this.posicao[cell] = this.numLivres;
+            this.numLivres++;
+        }
+    }
+
+    /**
+     * Regista um ocupante em cada célula cuja zona de comida contém um dos pixels fornecidos.
+     * A zona de comida de uma célula são as primeiras edge colunas e linhas, pois a comida nunca é maior que a cabeça.
+     *
+     * @param pixels Os pixels (tipo BufferPontos) do elemento que ocupa as células.
+     */
+    public void occupyPixels(BufferPontos pixels) {
+        int unit = this.edge + 1;
+        for (int i = 0; i < pixels.size(); i++) {
+            int x = pixels.getX(i);
+            int y = pixels.getY(i);
+            if (x >= 0 && y >= 0 && x % unit < this.edge && y % unit < this.edge)
+                occupy(x / unit, y / unit);
+        }
+    }
+
+    /**
+     * Retira um ocupante de cada célula cuja zona de comida contém um dos pixels fornecidos.
+     * Deve receber os mesmos pixels que foram passados a occupyPixels.
+     *
+     * @param pixels Os pixels (tipo BufferPontos) do elemento que liberta as células.
+     */
+    public void releasePixels(BufferPontos pixels) {
+        int unit = this.edge + 1;
+        for (int i = 0; i < pixels.size(); i++) {
+            int x = pixels.getX(i);
+            int y = pixels.getY(i);
+            if (x >= 0 && y >= 0 && x % unit < this.edge && y % unit < this.edge)
+                release(x / unit, y / unit);
+        }
+    }
+
+    /**
+     * Verifica se uma célula está livre.
+     *
+     * @param cx Coordenada x da célula (tipo int).
+     * @param cy Coordenada y da célula (tipo int).
+     * @return Verdadeiro se a célula está dentro da arena e livre; falso, caso contrário (tipo booleano).
+     */
+    public boolean isFree(int cx, int cy) {
+        return cx >= 0 && cx < this.cols && cy >= 0 && cy < this.rows && this.ocupantes[cy * this.cols + cx] == 0;
+    }
+
+    /**
+     * Sorteia uniformemente uma célula livre.
+     *
+     * @param random O gerador de números aleatórios a usar (tipo RandomGenerator).
+     * @return O número da célula sorteada (linha * colunas + coluna), ou -1 se não houver células livres (tipo int).
+     */
+    public int randomFreeCell(RandomGenerator random) {
+        if (this.numLivres == 0)
+            return -1;
+        return this.livres[random.nextInt(this.numLivres)];
+    }
+
+    /**
+     * Retorna o número de células livres.
+     *
+     * @return O número de células livres (tipo int).
+     */
+    public int getFreeCount() {
+        return this.numLivres;
+    }
+
+    /**
+     * Retorna o número de colunas da grelha.
+     *
+     * @return O número de colunas (tipo int).
+     */
+    public int getCols() {
+        return this.cols;
+    }
+
+    /**
+     * Retorna o número de linhas da grelha.
+     *
+     * @return O número de linhas (tipo int).
+     */
+    public int getRows() {
+        return this.rows;
+    }
+}
@@ -0,0 +1,16 @@
+/**
+ * A interface JogadorIA representa uma inteligência artificial que controla a cobra de um jogo. Antes de cada
+ * jogada, a IA escolhe a direção da cobra a partir do estado do motor; a jogada é depois feita pelo motor.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ */
+
+public interface JogadorIA {
+    /**
+     * Escolhe a direção da cobra para a próxima jogada.
+     *
+     * @param motor O motor do jogo cuja cobra será controlada (tipo MotorJogo).
+     */
+    void aiMove(MotorJogo motor);
+}
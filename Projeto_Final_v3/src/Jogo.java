@@ -7,7 +7,8 @@
  * @version 1.1 - 12/05/2024
  */
 
-import java.util.*;
+import java.util.Scanner;
+import java.util.SplittableRandom;
 
 public class Jogo {
     /**
@@ -26,9 +27,11 @@ public class Jogo {
     /**
      * Inicia o jogo de cobra, configurando o ambiente de jogo, criando e manipulando elementos como a cobra, comida,
      * e obstáculos. Gerencia o fluxo do jogo e as interações do usuário até o término do jogo, incluindo colisões, pontuação,
-     * e a exibição dos resultados finais.
+     * e a exibição dos resultados finais. O jogo é determinado por uma semente, que é mostrada no início e no fim para
+     * que o mesmo jogo possa ser repetido.
      *
-     * @param args Array de strings dos argumentos da linha de comando (não utilizado).
+     * @param args Array de strings dos argumentos da linha de comando; o primeiro, se existir, é a semente do jogo,
+     *             que de outra forma é sorteada.
      */
     public static void jogo(String[] args) {
         Scanner scanner = new Scanner(System.in);
@@ -60,10 +63,10 @@ public class Jogo {
 
         System.out.print("Insira o comprimento da aresta da cabeça da cobra: ");
         int head = scanner.nextInt();
-        Cobra snake = new Cobra(height, width, head);
 
         System.out.println("A otimizar espaço de arena para melhor jogabilidade...");
-        Arena arena = new Arena(OptimalSizeArena(head, height), OptimalSizeArena(head, width));
+        long semente = args.length > 0 ? Long.parseLong(args[0]) : new SplittableRandom().nextLong();
+        MotorJogo motor = new MotorJogo(width, height, head, complete, wantsObstacles, true, semente);
 
         try {
             Thread.sleep(1000);
@@ -72,74 +75,37 @@ public class Jogo {
             Thread.currentThread().interrupt();
         }
 
-        System.out.println("Otimizado!");
+        System.out.println("Otimizado! Semente do jogo: " + semente);
         scanner.nextLine(); //impede que o sejam renderizadas 2 arenas de imediato
 
-        int currentScore = 0;
         Pontuacao score = new Pontuacao();
         Controlos controls = new Controlos();
+        RenderizadorConsola renderizador = new RenderizadorConsola();
 
-        List<Obstaculo> allObstacles = new ArrayList<>();
-        if (wantsObstacles)
-            for (int i = 0;
-                 i < Math.min(width, height) / (Math.pow(10, String.valueOf(Math.min(width, height)).length() - 1));
-                 i++)
-                allObstacles.add(new Obstaculo(arena.getWidth(), arena.getHeight(), snake));
-
-        Comida food = new Comida(arena.getHeight(), arena.getWidth(), allObstacles, snake);
-
-        boolean gameover = false;
-        while (!gameover) {
-            arena.deleteEatenFood();
-            if (!(arena.drawSnake(snake, complete)))
-                gameover = true;
-            else {
-                if (wantsObstacles) {
-                    for (Obstaculo o : allObstacles) {
-                        if (o.isRotating()) {
-                            arena.deleteObstacle(o, complete);
-                            o.rotate();
-                            arena.drawObstacle(o, complete);
-                        } else
-                            arena.drawObstacle(o, complete);
-                    }
-
-                    List<Ponto> Collision = snake.findIntersections(allObstacles);
-                    if (!(Collision.isEmpty())) {
-                        arena.drawCollisions(Collision);
-                        gameover = true;
-                    }
-                }
-
-                arena.drawFood(food, complete);
-                if (snake.containsFood(food)) {
-                    arena.drawEatenFood(food, complete);
-                    snake.grow();
-                    currentScore += food.getAllIntPoints().length;
-                    food = new Comida(arena.getHeight(), arena.getWidth(), allObstacles, snake);
-                    if (!food.wasGenerated()) {
-                        gameover = true;
-                        currentScore = Integer.MAX_VALUE;
-                    }
-                }
-
-                System.out.println(arena.printBoard());
-                System.out.println("Dir H: "+snake.getDir()+"\t Pontos: " + currentScore);
-            }
-            if (gameover) {
-                System.out.println("GAME OVER!");
-                System.out.print("Digite seu nome (sem espaços): ");
-                String playerName = scanner.next();
-                score.adicionarPontuacao(currentScore, playerName);
-                System.out.println("Introduza quantos Recordes de Jogo quer ver: ");
-                int Nresultados = scanner.nextInt();
-                scanner.nextLine();
-                score.imprimirTopNPontuacoes(Nresultados);
-                System.exit(0);
-            }
+        renderizador.render(motor.getArena());
+        System.out.println("Dir H: " + motor.getSnake().getDir() + "\t Pontos: " + motor.getScore());
+        while (!motor.isGameOver()) {
             System.out.println("'WASD' para mover arena cobra.\n'Q' para sair imediatamente.");
             String controlInput = scanner.nextLine().toUpperCase();
-            controls.ProcessarControlos(snake, controlInput);
+            EventoJogo evento = controls.ProcessarControlos(motor, controlInput);
+
+            // Quando a cobra sai da arena não há nada de novo para mostrar
+            if (evento != EventoJogo.SAIU_DA_ARENA) {
+                renderizador.render(motor.getArena());
+                System.out.println("Dir H: " + motor.getSnake().getDir() + "\t Pontos: " + motor.getScore());
+            }
         }
+
+        System.out.println("GAME OVER!");
+        System.out.println("Semente do jogo: " + semente);
+        System.out.print("Digite seu nome (sem espaços): ");
+        String playerName = scanner.next();
+        score.adicionarPontuacao(motor.getScore(), playerName);
+        System.out.println(score.resumo(motor.getScore(), playerName));
+        System.out.println("Introduza quantos Recordes de Jogo quer ver: ");
+        int Nresultados = scanner.nextInt();
+        scanner.nextLine();
+        score.imprimirTopNPontuacoes(Nresultados);
+        System.exit(0);
     }
-}
\ No newline at end of file
+}
@@ -11,21 +11,21 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.*;
-import javax.swing.Timer;
 import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class JogoGUI extends JFrame {
-    private Cobra snake;
-    private Arena arena;
-    private Comida food;
-    private List<Obstaculo> allObstacles;
-    private Obstaculo collisionObstacle = null;
+    private SimulacaoJogo simulacao;
     private boolean complete;
     private boolean wantsObstacles;
-    private int currentScore;
-    private Timer gameTimer;
-    private boolean isPaused = false;
     private boolean isAI = false;
+    private boolean aiCiclo;
+    private boolean gameOverShown;
+    private long semente;
+    private final String sementeInicial;
+    private final AtomicBoolean updatePending = new AtomicBoolean();
+    private final RenderizadorGrafico renderizador = new RenderizadorGrafico();
 
     private JPanel gamePanel;
     private JPanel menuPanel;
@@ -36,12 +36,26 @@ public class JogoGUI extends JFrame {
     private JLabel snakeSizeLabel;
     private JLabel currentScoreLabel;
     private JLabel snakeDirectionLabel;
+    private JLabel aiLatencyLabel;
+    private JLabel jitterLabel;
+    private JLabel seedLabel;
     private JSlider speedSlider;
 
     /**
      * Construtor da classe JogoGUI. Configura a interface inicial do jogo e adiciona os componentes principais.
      */
     public JogoGUI() {
+        this("");
+    }
+
+    /**
+     * Construtor da classe JogoGUI. Configura a interface inicial do jogo, com o campo da semente preenchido com a
+     * semente fornecida, para repetir um jogo anterior.
+     *
+     * @param semente A semente inicial do campo, ou vazia para sortear uma semente por jogo (tipo String).
+     */
+    public JogoGUI(String semente) {
+        this.sementeInicial = semente;
         setTitle("OOP SNAKE");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
@@ -139,6 +153,9 @@ public class JogoGUI extends JFrame {
         snakeSizeLabel = new JLabel();
         currentScoreLabel = new JLabel();
         snakeDirectionLabel = new JLabel();
+        aiLatencyLabel = new JLabel();
+        jitterLabel = new JLabel();
+        seedLabel = new JLabel();
 
         JLabel controlsLabel = new JLabel("<html>&nbsp;&nbsp;Controlos<br>" +
                 "&nbsp;&nbsp;&nbsp;WASD para mover<br>&nbsp;&nbsp;&nbsp;P para pausa/continuar" +
@@ -150,6 +167,9 @@ public class JogoGUI extends JFrame {
         infoPanel.add(snakeSizeLabel);
         infoPanel.add(snakeDirectionLabel);
         infoPanel.add(currentScoreLabel);
+        infoPanel.add(aiLatencyLabel);
+        infoPanel.add(jitterLabel);
+        infoPanel.add(seedLabel);
 
         gamePanel.setLayout(new BorderLayout());
         gamePanel.add(infoPanel, BorderLayout.EAST);
@@ -229,6 +249,23 @@ public class JogoGUI extends JFrame {
         optionsPanel.add(speedSlider, gbc);
         gbc.gridwidth = 1;
 
+        JLabel aiLabel = new JLabel("Estratégia da IA: ");
+        JComboBox<String> aiComboBox = new JComboBox<>(new String[]{"Caminho mais curto", "Ciclo hamiltoniano"});
+        aiComboBox.setEnabled(isAI);
+        gbc.gridx = 0;
+        gbc.gridy = 7;
+        optionsPanel.add(aiLabel, gbc);
+        gbc.gridx = 1;
+        optionsPanel.add(aiComboBox, gbc);
+
+        JLabel seedFieldLabel = new JLabel("Semente (vazio para sortear): ");
+        JTextField seedField = new JTextField(sementeInicial);
+        gbc.gridx = 0;
+        gbc.gridy = 8;
+        optionsPanel.add(seedFieldLabel, gbc);
+        gbc.gridx = 1;
+        optionsPanel.add(seedField, gbc);
+
         JButton cancelButton = new JButton("Cancelar");
         cancelButton.addActionListener(e -> {
             setContentPane(menuPanel);
@@ -236,17 +273,20 @@ public class JogoGUI extends JFrame {
             repaint();
         });
         gbc.gridx = 0;
-        gbc.gridy = 7;
+        gbc.gridy = 9;
         optionsPanel.add(cancelButton, gbc);
 
         JButton saveButton = new JButton("Jogar");
         saveButton.addActionListener(e -> {
             complete = rasterizationComboBox.getSelectedIndex() == 1;
             wantsObstacles = !isAI && obstaclesComboBox.getSelectedIndex() == 1;
+            aiCiclo = isAI && aiComboBox.getSelectedIndex() == 1;
             int width = Integer.parseInt(widthField.getText());
             int height = Integer.parseInt(heightField.getText());
             int head = Integer.parseInt(headField.getText());
             int delay = speedSlider.getValue();
+            semente = seedField.getText().isBlank() ? new SplittableRandom().nextLong()
+                    : Long.parseLong(seedField.getText().trim());
 
             initializeGame(width, height, head, delay);
             setContentPane(gamePanel);
@@ -261,13 +301,21 @@ public class JogoGUI extends JFrame {
      * Atualiza os componentes do painel de informações.
      */
     private void updateInfoPanel() {
-        if (arena != null)
-            arenaSizeLabel.setText("   Tamanho da Arena: " + arena.getWidth() + " x " + arena.getHeight() + "   ");
-        if (snake != null) {
-            snakeSizeLabel.setText("   Size H: " + snake.getEdge() + "   ");
-            snakeDirectionLabel.setText("   Dir H: " + snake.getDir() + "   ");
+        if (simulacao == null)
+            return;
+        FotografiaJogo jogo = simulacao.adquirirFotografia();
+        try {
+            arenaSizeLabel.setText("   Tamanho da Arena: " + jogo.getWidth() + " x " + jogo.getHeight() + "   ");
+            snakeSizeLabel.setText("   Size H: " + jogo.getEdge() + "   ");
+            snakeDirectionLabel.setText("   Dir H: " + jogo.getDir() + "   ");
+            currentScoreLabel.setText("   Pontos Atuais: " + jogo.getScore() + "   ");
+            aiLatencyLabel.setText(isAI ? String.format("   Decisão IA: %.1f µs   ", jogo.getDecisaoIA() / 1e3) : "");
+            jitterLabel.setText(String.format("   Jitter: %.2f ms (máx %.2f ms), %d atrasadas   ",
+                    jogo.getAtrasoMedio() / 1e6, jogo.getAtrasoMaximo() / 1e6, jogo.getAtrasadas()));
+        } finally {
+            simulacao.libertarFotografia(jogo);
         }
-        currentScoreLabel.setText("   Pontos Atuais: " + currentScore + "   ");
+        seedLabel.setText("   Semente: " + semente + "   ");
     }
 
     /**
@@ -284,25 +332,26 @@ public class JogoGUI extends JFrame {
     }
 
     /**
-     * Exibe as pontuações registradas em um diálogo de mensagem.
+     * Exibe as pontuações registradas em um diálogo de mensagem. A lista só pede as páginas de pontuações que
+     * chega a mostrar, pelo que abre logo mesmo com tabelas muito grandes.
      */
     private void showScores() {
         Pontuacao pontuacao = new Pontuacao();
-        List<String> pontuacoes = pontuacao.getPontuacoes();
-
-        JTextArea textArea = new JTextArea();
-        for (String p : pontuacoes)
-            textArea.append(p + "\n");
-        textArea.setEditable(false);
+        JList<String> list = new JList<>(new ScoresListModel(pontuacao));
+        // Com um protótipo, a lista não precisa de ler todas as pontuações para calcular o seu tamanho
+        list.setPrototypeCellValue("0000000000 " + "W".repeat(20));
 
-        JScrollPane scrollPane = new JScrollPane(textArea);
+        JScrollPane scrollPane = new JScrollPane(list);
         scrollPane.setPreferredSize(new Dimension(300, 400));
 
         JOptionPane.showMessageDialog(this, scrollPane, "Pontuações", JOptionPane.INFORMATION_MESSAGE);
     }
 
     /**
-     * Inicializa os componentes do jogo, como a cobra, a arena, a comida e os obstáculos.
+     * Inicializa o motor do jogo, que cria a cobra, a comida e os obstáculos, e começa a simulação numa thread
+     * própria. A interface gráfica desenha os elementos diretamente, por isso o motor não mantém a arena de
+     * caracteres. O jogo é criado a partir da semente escolhida nas opções, que é mostrada no painel de informações
+     * e na consola para que o jogo possa ser repetido.
      *
      * @param width A largura da arena (tipo int).
      * @param height A altura da arena (tipo int).
@@ -310,104 +359,40 @@ public class JogoGUI extends JFrame {
      * @param delay O atraso entre os ciclos do jogo em milissegundos (tipo int).
      */
     private void initializeGame(int width, int height, int head, int delay) {
-        snake = new Cobra(height, width, head);
-        arena = new Arena(Jogo.OptimalSizeArena(head, height), Jogo.OptimalSizeArena(head, width));
-
-        currentScore = 0;
-        allObstacles = new ArrayList<>();
-        if (wantsObstacles)
-            for (int i = 0;
-                 i < Math.min(width, height) / (Math.pow(10, String.valueOf(Math.min(width, height)).length() - 1));
-                 i++)
-                allObstacles.add(new Obstaculo(arena.getWidth(), arena.getHeight(), snake));
-
-        food = new Comida(arena.getHeight(), arena.getWidth(), allObstacles, snake);
-
-        gameTimer = new Timer(delay, e -> gameLoop());
-        gameTimer.start();
+        if (simulacao != null)
+            simulacao.parar();
+        MotorJogo motor = new MotorJogo(width, height, head, complete, wantsObstacles, false, semente);
+        System.out.println("Semente do jogo: " + semente);
+        gameOverShown = false;
+        JogadorIA ia = !isAI ? null : aiCiclo ? new IACiclo() : new IACaminho();
+        simulacao = new SimulacaoJogo(motor, ia, delay * 1_000_000L, this::requestUpdate);
+        simulacao.iniciar();
 
         updateInfoPanel();
     }
 
     /**
-     * Lógica de movimentação da cobra controlada pela IA para se aproximar da comida.
+     * Chamado pela thread da simulação depois de cada jogada. Pede uma atualização da interface à thread da
+     * interface, a não ser que ainda haja uma por fazer, para que esta nunca acumule atualizações em atraso.
      */
-    private void aiMove() {
-        if (food != null && snake != null) {
-            Ponto foodPosition = new Ponto(0, 0);
-            if (food.getFood() instanceof Quadrado quadrado)
-                foodPosition = quadrado.getTopLeft();
-            else if (food.getFood() instanceof Circunferencia circunferencia)
-                foodPosition = new Ponto(circunferencia.getCenter().getX() - circunferencia.getRadius(),
-                        circunferencia.getCenter().getY() - circunferencia.getRadius());
-
-            Ponto snakeHead = snake.getSnake().get(0).getTopLeft();
-
-            //0: esq-dir; 90: baixo-cima; 180: dir-esq; 270: cima-baixo
-            // Lógica básica de IA para mover a cobra em direção à comida
-            if (snakeHead.getY() > foodPosition.getY())
-                snake.setSafeDir(90, arena.getWidth(), arena.getHeight());
-            else if (snakeHead.getY() < foodPosition.getY())
-                snake.setSafeDir(270, arena.getWidth(), arena.getHeight());
-            else if (snakeHead.getX() > foodPosition.getX())
-                snake.setSafeDir(180, arena.getWidth(), arena.getHeight());
-            else if (snakeHead.getX() < foodPosition.getX())
-                snake.setSafeDir(0, arena.getWidth(), arena.getHeight());
-        }
+    private void requestUpdate() {
+        if (updatePending.compareAndSet(false, true))
+            SwingUtilities.invokeLater(this::gameLoop);
     }
 
     /**
-     * Lógica principal do jogo, responsável por atualizar a posição da cobra, verificar colisões,
-     * desenhar a arena e atualizar a pontuação.
+     * Atualiza a interface com a última fotografia publicada pela simulação e trata o fim do jogo.
      */
     private void gameLoop() {
-        if (!isPaused) {
-            try {
-                if (snake.getDir() != -1) {
-                    if (isAI)
-                        aiMove();
-                    snake.move();
-                }
-            } catch (IllegalArgumentException e) {
-                gameOver();
-            }
-
-            if (!arena.drawSnake(snake, complete))
-                gameOver();
-            else {
-                if (wantsObstacles) {
-                    for (Obstaculo o : allObstacles) {
-                        if (o.isRotating()) {
-                            arena.deleteObstacle(o, complete);
-                            o.rotate();
-                            arena.drawObstacle(o, complete);
-                        } else
-                            arena.drawObstacle(o, complete);
-                    }
-
-                    if (!snake.getIntersectedObstacles(allObstacles).isEmpty()) {
-                        collisionObstacle = snake.getIntersectedObstacles(allObstacles).get(0);
-                        if (collisionObstacle != null)
-                            gameOver();
-                    }
-                }
-
-                arena.drawFood(food, complete);
-                if (snake.containsFood(food)) {
-                    arena.drawEatenFood(food, complete);
-                    snake.grow();
-                    currentScore += food.getAllIntPoints().length;
-                    food = new Comida(arena.getHeight(), arena.getWidth(), allObstacles, snake);
-                    if (!food.wasGenerated()) {
-                        currentScore = Integer.MAX_VALUE;
-                        gameOver();
-                    }
-                }
-
-                gamePanel.repaint();
-                updateScore();
-                updateInfoPanel();
-            }
+        updatePending.set(false);
+        if (simulacao == null)
+            return;
+        gamePanel.repaint();
+        updateScore();
+        updateInfoPanel();
+        if (simulacao.getFim() != null && !gameOverShown) {
+            gameOverShown = true;
+            gameOver();
         }
     }
 
@@ -421,14 +406,14 @@ public class JogoGUI extends JFrame {
             System.exit(0);
         if (keyCode == KeyEvent.VK_P)
             togglePause();
-        if (gameTimer != null && gameTimer.isRunning()) {
+        if (simulacao != null && simulacao.isAtiva()) {
             switch (keyCode) {
-                case KeyEvent.VK_W -> snake.setDir(90);
-                case KeyEvent.VK_A -> snake.setDir(180);
-                case KeyEvent.VK_S -> snake.setDir(270);
-                case KeyEvent.VK_D -> snake.setDir(0);
+                case KeyEvent.VK_W -> simulacao.setDirecao(Direcao.CIMA);
+                case KeyEvent.VK_A -> simulacao.setDirecao(Direcao.ESQUERDA);
+                case KeyEvent.VK_S -> simulacao.setDirecao(Direcao.BAIXO);
+                case KeyEvent.VK_D -> simulacao.setDirecao(Direcao.DIREITA);
                 case KeyEvent.VK_Q -> {
-                    gameTimer.stop();
+                    simulacao.parar();
                     setContentPane(menuPanel);
                     revalidate();
                     repaint();
@@ -441,27 +426,30 @@ public class JogoGUI extends JFrame {
      * Alterna o estado de pausa do jogo.
      */
     private void togglePause() {
-        isPaused = !isPaused;
-        if (isPaused)
-            gameTimer.stop();
-        else
-            gameTimer.start();
+        if (simulacao != null)
+            simulacao.setPausado(!simulacao.isPausado());
     }
 
     /**
      * Atualiza a pontuação atual exibida na interface do usuário.
      */
     private void updateScore() {
-        currentScoreLabel.setText("Pontos: " + currentScore);
+        FotografiaJogo jogo = simulacao.adquirirFotografia();
+        try {
+            currentScoreLabel.setText("Pontos: " + jogo.getScore());
+        } finally {
+            simulacao.libertarFotografia(jogo);
+        }
     }
 
     /**
      * Trata o final do jogo, exibindo a pontuação final e permitindo que o jogador insira seu nome para salvar a pontuação.
      */
     private void gameOver() {
-        gameTimer.stop();
+        simulacao.parar();
         gamePanel.repaint();
 
+        int currentScore = simulacao.getFotografia().getScore();
         SwingUtilities.invokeLater(() -> {
             if (currentScore == 0)
                 JOptionPane.showMessageDialog(this, "Pontuação igual a 0, não foi adicionada " +
@@ -470,102 +458,98 @@ public class JogoGUI extends JFrame {
                 String nomeJogador = JOptionPane.showInputDialog(this, "Game Over! Pontuação: "
                         + currentScore + "\nDigite seu nome:", "Game Over!", JOptionPane.ERROR_MESSAGE);
                 if (nomeJogador != null && !nomeJogador.trim().isEmpty()) {
+                    // A pontuação é escrita pela thread de escrita da tabela e o resumo, que pode ter de ler as
+                    // estatísticas da tabela, é calculado noutra thread; o resultado só é mostrado quando estiver
+                    // pronto, sem bloquear a interface
+                    String nome = nomeJogador.trim();
                     Pontuacao pontuacao = new Pontuacao();
-                    pontuacao.adicionarPontuacao(currentScore, nomeJogador.trim());
+                    pontuacao.submeterPontuacao(currentScore, nome)
+                            .thenApplyAsync(feito -> pontuacao.resumo(currentScore, nome))
+                            .whenComplete((resumo, erro) -> SwingUtilities.invokeLater(() -> showRecord(resumo, erro)));
+                    returnToMenu();
+                    return;
                 }
             }
 
             showScores();
-
-            setContentPane(menuPanel);
-            revalidate();
-            repaint();
+            returnToMenu();
         });
     }
 
     /**
-     * Desenha o estado atual do jogo na interface gráfica.
+     * Mostra o resumo de uma pontuação submetida aos recordes, ou o erro se não pôde ser guardada, seguido da
+     * lista de pontuações.
+     *
+     * @param resumo O resumo da pontuação face aos recordes (tipo String).
+     * @param erro   O erro da escrita ou do resumo, ou null se não houve erro (tipo Throwable).
+     */
+    private void showRecord(String resumo, Throwable erro) {
+        if (erro != null) {
+            Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+            JOptionPane.showMessageDialog(this, "Não foi possível guardar a pontuação: " + causa.getMessage(),
+                    "Recordes", JOptionPane.ERROR_MESSAGE);
+        } else
+            JOptionPane.showMessageDialog(this, resumo, "Recordes", JOptionPane.INFORMATION_MESSAGE);
+        showScores();
+    }
+
+    /**
+     * Volta ao menu inicial.
+     */
+    private void returnToMenu() {
+        setContentPane(menuPanel);
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Desenha a última fotografia do jogo publicada pela simulação. A cobra e os obstáculos são mantidos em
+     * camadas pelo renderizador, que só redesenha o que mudou desde a última pintura.
      *
      * @param g O objeto Graphics usado para desenhar os componentes.
      */
     private void drawGame(Graphics g) {
-        if (snake == null || arena == null)
+        if (simulacao == null)
             return;
+        FotografiaJogo jogo = simulacao.adquirirFotografia();
+        try {
+            renderizador.render(g, jogo);
+        } finally {
+            simulacao.libertarFotografia(jogo);
+        }
+    }
 
-        g.setColor(Color.WHITE);
-        g.drawRect(0, 0, arena.getWidth(), arena.getHeight());
-        if (complete) {
-            g.setColor(Color.GREEN);
-            for (Quadrado q : snake.getSnake())
-                g.fillRect((int) q.getTopLeft().getX(), (int) q.getTopLeft().getY(),
-                        snake.getEdge(), snake.getEdge());
-
-            g.setColor(Color.PINK);
-            if (food.getFood() instanceof Quadrado quadrado)
-                g.fillRect((int) quadrado.getTopLeft().getX(), (int) quadrado.getTopLeft().getY(),
-                        food.getFoodSize(), food.getFoodSize());
-            else if (food.getFood() instanceof Circunferencia circunferencia)
-                g.fillOval((int) (circunferencia.getCenter().getX() - circunferencia.getRadius()),
-                        (int) (circunferencia.getCenter().getY() - circunferencia.getRadius()),
-                        food.getFoodSize(), food.getFoodSize());
-
-            if (wantsObstacles) {
-                for (Obstaculo obstaculo : allObstacles) {
-                    if (obstaculo == collisionObstacle)
-                        g.setColor(Color.YELLOW);
-                    else
-                        g.setColor(Color.RED);
-
-                    if (obstaculo.getObstaculo() instanceof Quadrado quadrado)
-                        g.fillRect((int) quadrado.getTopLeft().getX(), (int) quadrado.getTopLeft().getY(),
-                                obstaculo.getObsSize(), obstaculo.getObsSize());
-                    else if (obstaculo.getObstaculo() instanceof Retangulo retangulo)
-                        g.fillRect((int) retangulo.getTopLeft().getX(), (int) retangulo.getTopLeft().getY(),
-                                obstaculo.getRectBigSide(), obstaculo.getObsSize());
-                    else if (obstaculo.getObstaculo() instanceof Triangulo triangulo) {
-                        Ponto[] vertices = triangulo.getVertices();
-                        int[] xPoints = {(int) vertices[0].getX(), (int) vertices[1].getX(), (int) vertices[2].getX()};
-                        int[] yPoints = {(int) vertices[0].getY(), (int) vertices[1].getY(), (int) vertices[2].getY()};
-                        g.fillPolygon(xPoints, yPoints, 3);
-                    }
-                }
-            }
-            System.out.println();
-        } else {
-            g.setColor(Color.GREEN);
-            for (Quadrado quadrado : snake.getSnake())
-                g.drawRect((int) quadrado.getTopLeft().getX(), (int) quadrado.getTopLeft().getY(), snake.getEdge(), snake.getEdge());
-
-            g.setColor(Color.PINK);
-            if (food.getFood() instanceof Quadrado quadrado)
-                g.drawRect((int) quadrado.getTopLeft().getX(), (int) quadrado.getTopLeft().getY(),
-                        food.getFoodSize(), food.getFoodSize());
-            else if (food.getFood() instanceof Circunferencia circunferencia)
-                g.drawOval((int) (circunferencia.getCenter().getX() - circunferencia.getRadius()),
-                        (int) (circunferencia.getCenter().getY() - circunferencia.getRadius()),
-                        food.getFoodSize(), food.getFoodSize());
-
-            if (wantsObstacles) {
-                for (Obstaculo obstaculo : allObstacles) {
-                    if (obstaculo == collisionObstacle)
-                        g.setColor(Color.YELLOW);
-                    else
-                        g.setColor(Color.RED);
-
-                    if (obstaculo.getObstaculo() instanceof Quadrado quadrado)
-                        g.drawRect((int) quadrado.getTopLeft().getX(), (int) quadrado.getTopLeft().getY(),
-                                obstaculo.getObsSize(), obstaculo.getObsSize());
-                    else if (obstaculo.getObstaculo() instanceof Retangulo retangulo)
-                        g.drawRect((int) retangulo.getTopLeft().getX(), (int) retangulo.getTopLeft().getY(),
-                                obstaculo.getRectBigSide(), obstaculo.getObsSize());
-                    else if (obstaculo.getObstaculo() instanceof Triangulo triangulo) {
-                        Ponto[] vertices = triangulo.getVertices();
-                        int[] xPoints = {(int) vertices[0].getX(), (int) vertices[1].getX(), (int) vertices[2].getX()};
-                        int[] yPoints = {(int) vertices[0].getY(), (int) vertices[1].getY(), (int) vertices[2].getY()};
-                        g.drawPolygon(xPoints, yPoints, 3);
-                    }
-                }
+    /**
+     * Modelo da lista de pontuações que lê as pontuações por páginas, à medida que a lista as mostra, e guarda a
+     * última página lida.
+     */
+    private static class ScoresListModel extends AbstractListModel<String> {
+        private static final long serialVersionUID = 1L;
+        private static final int PAGE_SIZE = 100;
+
+        private final Pontuacao pontuacao;
+        private final int size;
+        private List<String> page = List.of();
+        private int pageStart = -1;
+
+        ScoresListModel(Pontuacao pontuacao) {
+            this.pontuacao = pontuacao;
+            this.size = pontuacao.getNumeroPontuacoes();
+        }
+
+        @Override
+        public int getSize() {
+            return this.size;
+        }
+
+        @Override
+        public String getElementAt(int index) {
+            int start = index - index % PAGE_SIZE;
+            if (start != this.pageStart) {
+                this.page = this.pontuacao.getPontuacoes(start, PAGE_SIZE);
+                this.pageStart = start;
             }
+            return index - start < this.page.size() ? this.page.get(index - start) : "";
         }
     }
 }
@@ -1,13 +1,15 @@
 /**
  * A classe Main é o ponto de entrada do programa, onde o utilizador escolhe entre dois modos de jogo:
  * rasterização ou gráfico. Dependendo da escolha, o método correspondente da classe Jogo é chamado
- * ou a interface gráfica do usuário é inicializada.
+ * ou a interface gráfica do usuário é inicializada. Com o argumento "simular", são jogados em lote jogos da IA
+ * (ver SimuladorIA). Qualquer outro argumento é a semente do jogo, para repetir um jogo anterior.
  *
  * @author Jorge Silva, Paulo Martins, Vasile Karpa
  * @version 1.1 - 22/05/2024
  */
 
 import javax.swing.*;
+import java.util.Arrays;
 import java.util.Scanner;
 
 public class Main {
@@ -18,13 +20,18 @@ public class Main {
      * @param args Argumentos da linha de comando que podem ser passados ao iniciar o programa.
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("simular")) {
+            SimuladorIA.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
         System.out.println("Escolha o modo que quer, rasterização(0) ou gráfico(1): ");
         int escolha = scanner.nextInt();
 
         if (escolha == 0)
             Jogo.jogo(args);else if (escolha == 1)
-            SwingUtilities.invokeLater(JogoGUI::new);
+            SwingUtilities.invokeLater(() -> new JogoGUI(args.length > 0 ? args[0] : ""));
         else
             System.out.println("Escolha inválida. Por favor, execute o programa novamente e escolha 0 ou 1.");
 
@@ -0,0 +1,141 @@
+/**
+ * A classe MapaOcupacao representa um mapa de bits com o tamanho da arena, em que cada bit indica se o pixel
+ * correspondente está ocupado. Os pixels são guardados em palavras de 64 bits (long), linha a linha, o que permite
+ * verificar a ocupação de um pixel com uma única operação sobre bits.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ * @inv O mapa deve ter largura e altura superiores a 0;
+ * @inv Os pixels fora dos limites do mapa nunca estão ocupados.
+ */
+
+import java.util.Arrays;
+
+public class MapaOcupacao {
+    private final int width, height;
+    private final long[] words;
+
+    /**
+     * Construtor para a classe MapaOcupacao. Cria um mapa vazio com as dimensões indicadas.
+     *
+     * @param width  A largura do mapa (tipo int).
+     * @param height A altura do mapa (tipo int).
+     */
+    public MapaOcupacao(int width, int height) {
+        if (width < 1 || height < 1)
+            throw new IllegalArgumentException("Tamanho de mapa inválido");
+        this.width = width;
+        this.height = height;
+        this.words = new long[(int) (((long) width * height + 63) >>> 6)];
+    }
+
+    /**
+     * Marca um pixel como ocupado. Os pixels fora dos limites do mapa são ignorados.
+     *
+     * @param x Coordenada x do pixel (tipo int).
+     * @param y Coordenada y do pixel (tipo int).
+     */
+    public void set(int x, int y) {
+        if (x >= 0 && x < this.width && y >= 0 && y < this.height) {
+            int bit = y * this.width + x;
+            this.words[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Marca um pixel como livre. Os pixels fora dos limites do mapa são ignorados.
+     *
+     * @param x Coordenada x do pixel (tipo int).
+     * @param y Coordenada y do pixel (tipo int).
+     */
+    public void remove(int x, int y) {
+        if (x >= 0 && x < this.width && y >= 0 && y < this.height) {
+            int bit = y * this.width + x;
+            this.words[bit >>> 6] &= ~(1L << bit);
+        }
+    }
+
+    /**
+     * Verifica se um pixel está ocupado.
+     *
+     * @param x Coordenada x do pixel (tipo int).
+     * @param y Coordenada y do pixel (tipo int).
+     * @return Verdadeiro se o pixel está dentro do mapa e ocupado; falso, caso contrário (tipo booleano).
+     */
+    public boolean contains(int x, int y) {
+        if (x < 0 || x >= this.width || y < 0 || y >= this.height)
+            return false;
+        int bit = y * this.width + x;
+        return (this.words[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Marca como ocupados todos os pixels do buffer fornecido.
+     *
+     * @param pontos Os pixels (tipo BufferPontos) a marcar.
+     */
+    public void stamp(BufferPontos pontos) {
+        for (int i = 0; i < pontos.size(); i++)
+            set(pontos.getX(i), pontos.getY(i));
+    }
+
+    /**
+     * Marca como ocupados todos os pixels dos segmentos fornecidos. Cada segmento é marcado palavra a palavra,
+     * com uma máscara nas palavras das pontas, em vez de pixel a pixel. As partes fora do mapa são ignoradas.
+     *
+     * @param segmentos Os segmentos (tipo BufferSegmentos) a marcar.
+     */
+    public void stamp(BufferSegmentos segmentos) {
+        for (int i = 0; i < segmentos.size(); i++)
+            setSpan(segmentos.getY(i), segmentos.getInicio(i), segmentos.getFim(i));
+    }
+
+    /**
+     * Marca como ocupados os pixels de uma linha entre duas colunas, ambas inclusivas.
+     *
+     * @param y      A linha (tipo int).
+     * @param inicio A primeira coluna (tipo int).
+     * @param fim    A última coluna (tipo int).
+     */
+    public void setSpan(int y, int inicio, int fim) {
+        inicio = Math.max(inicio, 0);
+        fim = Math.min(fim, this.width - 1);
+        if (y < 0 || y >= this.height || inicio > fim)
+            return;
+        int primeiro = y * this.width + inicio, ultimo = y * this.width + fim;
+        int palavra = primeiro >>> 6, ultimaPalavra = ultimo >>> 6;
+        long mascaraInicio = -1L << primeiro, mascaraFim = -1L >>> (63 - (ultimo & 63));
+        if (palavra == ultimaPalavra) {
+            this.words[palavra] |= mascaraInicio & mascaraFim;
+            return;
+        }
+        this.words[palavra] |= mascaraInicio;
+        Arrays.fill(this.words, palavra + 1, ultimaPalavra, -1L);
+        this.words[ultimaPalavra] |= mascaraFim;
+    }
+
+    /**
+     * Limpa o mapa, deixando todos os pixels livres.
+     */
+    public void clear() {
+        Arrays.fill(this.words, 0L);
+    }
+
+    /**
+     * Retorna a largura do mapa.
+     *
+     * @return A largura do mapa (tipo int).
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Retorna a altura do mapa.
+     *
+     * @return A altura do mapa (tipo int).
+     */
+    public int getHeight() {
+        return this.height;
+    }
+}
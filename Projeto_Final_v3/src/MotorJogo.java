@@ -0,0 +1,348 @@
+/**
+ * A classe MotorJogo contém as regras do jogo de cobra, independentes da forma como o jogo é apresentado: movimento
+ * da cobra, rotação dos obstáculos, colisões, comida e pontuação. Cada jogada é feita por step, que não lê nem
+ * escreve nada e devolve o evento resultante, pelo que o mesmo motor é usado pelo jogo na consola, pelo jogo
+ * gráfico e por simulações sem interface. A arena de caracteres só é mantida se for pedido o desenho.
+ * Com a mesma semente e as mesmas direções, um jogo é reproduzido exatamente: a cobra, cada obstáculo e a sequência
+ * de comida recebem geradores de números aleatórios separados a partir de um único gerador inicial.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ * @inv Depois de uma jogada que termina o jogo, não podem ser feitas mais jogadas.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class MotorJogo {
+    private final int width, height;
+    private final boolean complete;
+    private final Arena arena;
+    private final Cobra snake;
+    private final List<Obstaculo> obstacles = new ArrayList<>();
+    private final GrelhaObstaculos obstacleGrid;
+    private final IndiceCelulasLivres freeCells;
+    private final BufferPontos pontos = new BufferPontos();
+    private final SplittableRandom foodRandom;
+    private Comida food;
+    private int score;
+    private EventoJogo fim;
+    private List<Ponto> collisions = Collections.emptyList();
+    private Obstaculo collisionObstacle;
+
+    /**
+     * Construtor da classe MotorJogo. Cria um jogo novo que mantém a arena de caracteres desenhada.
+     *
+     * @param width          A largura pedida para a arena (tipo int).
+     * @param height         A altura pedida para a arena (tipo int).
+     * @param head           O tamanho da aresta da cabeça da cobra (tipo int).
+     * @param complete       Indica se os elementos são desenhados completos ou só o contorno (tipo booleano).
+     * @param wantsObstacles Indica se são gerados obstáculos (tipo booleano).
+     */
+    public MotorJogo(int width, int height, int head, boolean complete, boolean wantsObstacles) {
+        this(width, height, head, complete, wantsObstacles, true);
+    }
+
+    /**
+     * Construtor da classe MotorJogo. Cria um jogo novo: a arena é ajustada ao movimento da cobra e a cobra,
+     * os obstáculos e a comida são colocados aleatoriamente.
+     *
+     * @param width          A largura pedida para a arena (tipo int).
+     * @param height         A altura pedida para a arena (tipo int).
+     * @param head           O tamanho da aresta da cabeça da cobra (tipo int).
+     * @param complete       Indica se os elementos são desenhados completos ou só o contorno (tipo booleano).
+     * @param wantsObstacles Indica se são gerados obstáculos (tipo booleano).
+     * @param desenhar       Indica se a arena de caracteres é mantida; sem ela as jogadas são mais rápidas (tipo booleano).
+     * @throws IllegalArgumentException Se a cobra ou a arena tiverem um tamanho inválido.
+     */
+    public MotorJogo(int width, int height, int head, boolean complete, boolean wantsObstacles, boolean desenhar) {
+        this(width, height, head, complete, wantsObstacles, desenhar, new SplittableRandom());
+    }
+
+    /**
+     * Construtor da classe MotorJogo. Cria um jogo novo determinado pela semente fornecida.
+     *
+     * @param width          A largura pedida para a arena (tipo int).
+     * @param height         A altura pedida para a arena (tipo int).
+     * @param head           O tamanho da aresta da cabeça da cobra (tipo int).
+     * @param complete       Indica se os elementos são desenhados completos ou só o contorno (tipo booleano).
+     * @param wantsObstacles Indica se são gerados obstáculos (tipo booleano).
+     * @param desenhar       Indica se a arena de caracteres é mantida; sem ela as jogadas são mais rápidas (tipo booleano).
+     * @param semente        A semente do jogo (tipo long).
+     * @throws IllegalArgumentException Se a cobra ou a arena tiverem um tamanho inválido.
+     */
+    public MotorJogo(int width, int height, int head, boolean complete, boolean wantsObstacles, boolean desenhar,
+                     long semente) {
+        this(width, height, head, complete, wantsObstacles, desenhar, new SplittableRandom(semente));
+    }
+
+    /**
+     * Construtor da classe MotorJogo. Cria um jogo novo: a arena é ajustada ao movimento da cobra e a cobra,
+     * os obstáculos e a comida são colocados com geradores separados obtidos do gerador fornecido.
+     *
+     * @param width          A largura pedida para a arena (tipo int).
+     * @param height         A altura pedida para a arena (tipo int).
+     * @param head           O tamanho da aresta da cabeça da cobra (tipo int).
+     * @param complete       Indica se os elementos são desenhados completos ou só o contorno (tipo booleano).
+     * @param wantsObstacles Indica se são gerados obstáculos (tipo booleano).
+     * @param desenhar       Indica se a arena de caracteres é mantida (tipo booleano).
+     * @param random         O gerador de números aleatórios inicial (tipo SplittableRandom).
+     * @throws IllegalArgumentException Se a cobra ou a arena tiverem um tamanho inválido.
+     */
+    private MotorJogo(int width, int height, int head, boolean complete, boolean wantsObstacles, boolean desenhar,
+                      SplittableRandom random) {
+        this.snake = new Cobra(height, width, head, random.split());
+        this.foodRandom = random.split();
+        this.width = Jogo.OptimalSizeArena(head, width);
+        this.height = Jogo.OptimalSizeArena(head, height);
+        if (this.height < 10 || this.width < 10)
+            throw new IllegalArgumentException("Tamanho de Arena inválido");
+        this.complete = complete;
+        this.arena = desenhar ? new Arena(this.height, this.width) : null;
+
+        if (wantsObstacles)
+            for (int i = 0;
+                 i < Math.min(width, height) / (Math.pow(10, String.valueOf(Math.min(width, height)).length() - 1));
+                 i++)
+                this.obstacles.add(new Obstaculo(this.width, this.height, this.snake, random.split()));
+
+        this.obstacleGrid = new GrelhaObstaculos(this.width, this.height, head);
+        this.freeCells = new IndiceCelulasLivres(this.width, this.height, head);
+        this.snake.setFreeCellIndex(this.freeCells);
+        for (Obstaculo o : this.obstacles) {
+            this.obstacleGrid.add(o);
+            o.occupyCells(this.freeCells);
+        }
+        this.food = new Comida(this.freeCells, this.snake, this.foodRandom);
+
+        if (this.arena != null) {
+            this.arena.drawSnake(this.snake, complete);
+            for (Obstaculo o : this.obstacles)
+                this.arena.drawObstacle(o, complete);
+            this.arena.drawFood(this.food, complete);
+        }
+    }
+
+    /**
+     * Faz uma jogada: muda a direção da cobra (uma inversão de sentido é ignorada), move-a se já tiver direção,
+     * roda os obstáculos e verifica colisões e comida.
+     *
+     * @param dir A direção pedida, ou null para manter a direção atual (tipo Direcao).
+     * @return O evento resultante da jogada (tipo EventoJogo).
+     * @throws IllegalStateException Se o jogo já tiver terminado.
+     */
+    public EventoJogo step(Direcao dir) {
+        return step(dir, true);
+    }
+
+    /**
+     * Faz uma jogada, movendo ou não a cobra. Sem mover a cobra, a jogada continua a rodar os obstáculos e a
+     * verificar colisões e comida, como no jogo da consola quando o comando não move a cobra.
+     *
+     * @param dir   A direção pedida, ou null para manter a direção atual (tipo Direcao).
+     * @param mover Indica se a cobra é movida, caso já tenha direção (tipo booleano).
+     * @return O evento resultante da jogada (tipo EventoJogo).
+     * @throws IllegalStateException Se o jogo já tiver terminado.
+     */
+    public EventoJogo step(Direcao dir, boolean mover) {
+        if (this.fim != null)
+            throw new IllegalStateException("O jogo já terminou");
+
+        if (this.arena != null)
+            this.arena.deleteEatenFood();
+        if (dir != null)
+            this.snake.setDir(dir.getAngulo());
+        if (mover && this.snake.getDir() != -1) {
+            try {
+                this.snake.move();
+            } catch (IllegalArgumentException e) {
+                return terminar(EventoJogo.COMEU_CAUDA);
+            }
+        }
+
+        // Só a cabeça pode ter saído da arena, pois o resto do corpo ocupa posições onde a cabeça já esteve
+        int x = this.snake.getSegmentX(0), y = this.snake.getSegmentY(0), edge = this.snake.getEdge();
+        if (x < 0 || y < 0 || x + edge >= this.width || y + edge >= this.height)
+            return terminar(EventoJogo.SAIU_DA_ARENA);
+        if (this.arena != null)
+            this.arena.drawSnake(this.snake, this.complete);
+
+        if (!this.obstacles.isEmpty()) {
+            boolean rotated = false;
+            for (int i = 0; i < this.obstacles.size(); i++) {
+                Obstaculo o = this.obstacles.get(i);
+                if (o.isRotating()) {
+                    if (this.arena != null)
+                        this.arena.deleteObstacle(o, this.complete);
+                    o.releaseCells(this.freeCells);
+                    o.rotate();
+                    o.occupyCells(this.freeCells);
+                    this.obstacleGrid.update(i);
+                    rotated = true;
+                }
+            }
+
+            // Apagar um obstáculo que rodou pode ter apagado partes de outros que se sobrepunham
+            if (rotated && this.arena != null)
+                for (Obstaculo o : this.obstacles)
+                    this.arena.drawObstacle(o, this.complete);
+
+            // O corpo só ocupa posições por onde a cabeça já passou sem colidir, por isso só a cabeça pode tocar os
+            // obstáculos que não rodaram; o corpo inteiro só é testado contra os que rodaram nesta jogada. A grelha
+            // limita o teste da cabeça aos obstáculos da sua célula
+            Obstaculo atingido = this.snake.findHeadCollision(this.obstacleGrid);
+            for (int i = 0; rotated && atingido == null && i < this.obstacles.size(); i++) {
+                Obstaculo o = this.obstacles.get(i);
+                if (o.isRotating() && this.snake.intersects(o))
+                    atingido = o;
+            }
+            if (atingido != null) {
+                // Todas as interseções só são calculadas no fim do jogo, para serem assinaladas
+                this.collisions = this.snake.findIntersections(this.obstacles);
+                this.collisionObstacle = atingido;
+                if (this.arena != null)
+                    this.arena.drawCollisions(this.collisions);
+                return terminar(EventoJogo.COLIDIU_OBSTACULO);
+            }
+        }
+
+        if (this.arena != null)
+            this.arena.drawFood(this.food, this.complete);
+        if (this.snake.containsFood(this.food)) {
+            if (this.arena != null)
+                this.arena.drawEatenFood(this.food, this.complete);
+            this.snake.grow();
+            this.pontos.clear();
+            this.food.addAllIntPoints(this.pontos);
+            this.score += this.pontos.size();
+            this.food = new Comida(this.freeCells, this.snake, this.foodRandom);
+            if (!this.food.wasGenerated()) {
+                this.score = Integer.MAX_VALUE;
+                return terminar(EventoJogo.VITORIA);
+            }
+            return EventoJogo.COMEU;
+        }
+        return EventoJogo.NENHUM;
+    }
+
+    /**
+     * Regista o fim do jogo.
+     *
+     * @param evento O evento que terminou o jogo (tipo EventoJogo).
+     * @return O mesmo evento (tipo EventoJogo).
+     */
+    private EventoJogo terminar(EventoJogo evento) {
+        this.fim = evento;
+        return evento;
+    }
+
+    /**
+     * Indica se o jogo já terminou.
+     *
+     * @return Verdadeiro se o jogo terminou; falso caso contrário (tipo booleano).
+     */
+    public boolean isGameOver() {
+        return this.fim != null;
+    }
+
+    /**
+     * Retorna o evento que terminou o jogo.
+     *
+     * @return O evento final (tipo EventoJogo), ou null se o jogo ainda não terminou.
+     */
+    public EventoJogo getFim() {
+        return this.fim;
+    }
+
+    /**
+     * Retorna a pontuação atual, que é Integer.MAX_VALUE se a cobra encheu a arena.
+     *
+     * @return A pontuação (tipo int).
+     */
+    public int getScore() {
+        return this.score;
+    }
+
+    /**
+     * Retorna a arena de caracteres.
+     *
+     * @return A arena (tipo Arena), ou null se o motor foi criado sem desenho.
+     */
+    public Arena getArena() {
+        return this.arena;
+    }
+
+    /**
+     * Retorna a cobra do jogo.
+     *
+     * @return A cobra (tipo Cobra).
+     */
+    public Cobra getSnake() {
+        return this.snake;
+    }
+
+    /**
+     * Retorna a comida atual.
+     *
+     * @return A comida (tipo Comida).
+     */
+    public Comida getFood() {
+        return this.food;
+    }
+
+    /**
+     * Retorna os obstáculos do jogo.
+     *
+     * @return Uma lista só de leitura dos obstáculos (tipo List<Obstaculo>).
+     */
+    public List<Obstaculo> getObstacles() {
+        return Collections.unmodifiableList(this.obstacles);
+    }
+
+    /**
+     * Retorna os pontos onde a cobra colidiu com obstáculos.
+     *
+     * @return A lista de pontos de colisão (tipo List<Ponto>), vazia se não houve colisão.
+     */
+    public List<Ponto> getCollisions() {
+        return this.collisions;
+    }
+
+    /**
+     * Retorna o obstáculo com que a cobra colidiu.
+     *
+     * @return O obstáculo (tipo Obstaculo), ou null se não houve colisão.
+     */
+    public Obstaculo getCollisionObstacle() {
+        return this.collisionObstacle;
+    }
+
+    /**
+     * Retorna a largura da arena, já ajustada ao movimento da cobra.
+     *
+     * @return A largura da arena (tipo int).
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Retorna a altura da arena, já ajustada ao movimento da cobra.
+     *
+     * @return A altura da arena (tipo int).
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Indica se os elementos são desenhados completos ou só o contorno.
+     *
+     * @return Verdadeiro se o desenho é completo (tipo booleano).
+     */
+    public boolean isComplete() {
+        return this.complete;
+    }
+}
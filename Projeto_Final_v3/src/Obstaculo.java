@@ -10,14 +10,17 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class Obstaculo {
     private Object obstaculo;
     private int obsSize, rectBigSide;
     private Ponto pontoRot;
     private int angRot;
-    private final Random r = new Random();
+    private Object[] poses;
+    private BufferPontos[] pixelsPoses, arestasPoses;
+    private BufferSegmentos[] segmentosPoses;
+    private int pose;
 
     /**
      * Constrói um obstáculo em uma posição aleatória dentro da arena que não interfira com a cobra.
@@ -27,6 +30,19 @@ public class Obstaculo {
      * @param snake  A cobra no jogo, para evitar sobreposição ao criar o obstáculo (tipo Cobra).
      */
     public Obstaculo(int width, int height, Cobra snake) {
+        this(width, height, snake, new SplittableRandom());
+    }
+
+    /**
+     * Constrói um obstáculo dentro da arena que não interfira com a cobra, sorteando a posição, a forma e a
+     * rotação com o gerador de números aleatórios fornecido, para que o obstáculo possa ser reproduzido.
+     *
+     * @param width  Largura da arena onde o obstáculo será colocado (tipo int).
+     * @param height Altura da arena onde o obstáculo será colocado (tipo int).
+     * @param snake  A cobra no jogo, para evitar sobreposição ao criar o obstáculo (tipo Cobra).
+     * @param random O gerador de números aleatórios a usar (tipo SplittableRandom).
+     */
+    public Obstaculo(int width, int height, Cobra snake, SplittableRandom random) {
         int edge = snake.getEdge();
         int movementUnit = edge + 1;
         List<Ponto> potentialPositions = new ArrayList<>();
@@ -36,14 +52,17 @@ public class Obstaculo {
             for (int y = 0; y < height - height % movementUnit; y += movementUnit)
                 potentialPositions.add(new Ponto(x, y));
 
-        Collections.shuffle(potentialPositions, r); // Embaralhar posições para garantir aleatoriedade
+        // Embaralhar posições para garantir aleatoriedade (Fisher-Yates, pois Collections.shuffle exige um Random)
+        for (int i = potentialPositions.size() - 1; i > 0; i--)
+            Collections.swap(potentialPositions, i, random.nextInt(i + 1));
 
         for (Ponto pos : potentialPositions) {
-            this.obsSize = r.nextInt(edge / 4, edge + 1);
-            this.obstaculo = createShape(pos);
+            this.obsSize = random.nextInt(edge / 4, edge + 1);
+            this.obstaculo = createShape(pos, random);
             if (isPositionFree(snake)) {
-                setPontoRot();
-                setAngRot();
+                setPontoRot(random);
+                setAngRot(random);
+                setPoses();
                 return; // Obstáculo foi colocado com sucesso
             }
         }
@@ -52,11 +71,25 @@ public class Obstaculo {
 
     /**
      * Define um ponto aleatório para a rotação do obstáculo.
+     *
+     * @param random O gerador de números aleatórios a usar (tipo SplittableRandom).
      */
-    private void setPontoRot() {
-        List<Ponto> potentialRotPoints = new ArrayList<>(List.of(this.getBoundaryIntPoints()));
+    private void setPontoRot(SplittableRandom random) {
+        BufferPontos arestas = new BufferPontos();
+        ((Poligono) this.obstaculo).addBoundaryIntVertices(arestas);
+        List<Ponto> potentialRotPoints = arestas.toList();
         potentialRotPoints.add(((Poligono) this.getObstaculo()).centroid());
-        this.pontoRot = potentialRotPoints.get(this.r.nextInt(0, potentialRotPoints.size()));
+        this.pontoRot = potentialRotPoints.get(random.nextInt(0, potentialRotPoints.size()));
+    }
+
+    /**
+     * Retorna o índice da posição atual do obstáculo entre as calculadas na criação, que muda sempre que o
+     * obstáculo roda.
+     *
+     * @return O índice da posição atual (tipo int).
+     */
+    public int getPose() {
+        return this.pose;
     }
 
     /**
@@ -70,9 +103,11 @@ public class Obstaculo {
 
     /**
      * Define um ângulo aleatório para a rotação do obstáculo.
+     *
+     * @param random O gerador de números aleatórios a usar (tipo SplittableRandom).
      */
-    private void setAngRot() {
-        switch (r.nextInt(5) - 1) {
+    private void setAngRot(SplittableRandom random) {
+        switch (random.nextInt(5) - 1) {
             case 0 -> angRot = 0;
             case 1 -> angRot = 90;
             case 2 -> angRot = 180;
@@ -80,18 +115,73 @@ public class Obstaculo {
         }
     }
 
+    /**
+     * Calcula, uma única vez, todas as posições por que o obstáculo passa ao rodar, bem como os respetivos pixels.
+     * Como o ângulo é múltiplo de 90 graus e o ponto de rotação é fixo, há no máximo 4 posições, cada uma obtida
+     * rodando a forma original pelo ângulo acumulado, para que o ciclo feche exatamente sem acumular arredondamentos.
+     */
+    private void setPoses() {
+        int numPoses = this.angRot == 0 ? 1 : 360 / mdc(this.angRot, 360);
+        this.poses = new Object[numPoses];
+        this.pixelsPoses = new BufferPontos[numPoses];
+        this.arestasPoses = new BufferPontos[numPoses];
+        this.segmentosPoses = new BufferSegmentos[numPoses];
+        for (int k = 0; k < numPoses; k++) {
+            Object forma = k == 0 ? this.obstaculo : rotateShape(this.obstaculo, k * this.angRot);
+            this.poses[k] = forma;
+            this.segmentosPoses[k] = new BufferSegmentos();
+            this.pixelsPoses[k] = new BufferPontos();
+            this.arestasPoses[k] = new BufferPontos();
+            if (forma instanceof Poligono poligono) {
+                poligono.addSpans(this.segmentosPoses[k]);
+                this.segmentosPoses[k].addPontos(this.pixelsPoses[k]);
+                poligono.addBoundaryIntVertices(this.arestasPoses[k]);
+            }
+        }
+        this.pose = 0;
+    }
+
+    /**
+     * Calcula o máximo divisor comum de dois inteiros positivos.
+     *
+     * @param a O primeiro inteiro (tipo int).
+     * @param b O segundo inteiro (tipo int).
+     * @return O máximo divisor comum (tipo int).
+     */
+    private static int mdc(int a, int b) {
+        return b == 0 ? a : mdc(b, a % b);
+    }
+
+    /**
+     * Roda uma forma em torno do ponto de rotação do obstáculo.
+     *
+     * @param forma A forma a rodar (Quadrado, Retangulo ou Triangulo).
+     * @param ang   O ângulo de rotação em graus (tipo int).
+     * @return A forma rodada (tipo Object).
+     */
+    private Object rotateShape(Object forma, int ang) {
+        if (forma instanceof Quadrado quadrado)
+            return quadrado.rotate(ang, this.pontoRot);
+        else if (forma instanceof Retangulo retangulo)
+            return retangulo.rotate(ang, this.pontoRot);
+        else if (forma instanceof Triangulo triangulo)
+            return triangulo.rotate(ang, this.pontoRot);
+        return forma;
+    }
+
     /**
      * Cria uma forma geométrica como obstáculo com base na posição e tamanho especificados.
      * A forma pode ser um quadrado, retângulo ou triângulo, escolhido aleatoriamente.
      *
      * @param upLeft O ponto superior esquerdo onde a forma será baseada (tipo Ponto).
+     * @param random O gerador de números aleatórios a usar (tipo SplittableRandom).
      * @return Uma instância de um objeto geométrico (Quadrado, Retangulo ou Triangulo).
      */
-    private Object createShape(Ponto upLeft) {
-        int chooseShape = r.nextInt(3);
+    private Object createShape(Ponto upLeft, SplittableRandom random) {
+        int chooseShape = random.nextInt(3);
         return switch (chooseShape) {
             case 0 -> createQuadrado(upLeft);
-            case 1 -> createRetangulo(upLeft);
+            case 1 -> createRetangulo(upLeft, random);
             case 2 -> createTriangulo(upLeft);
             default -> null;
         };
@@ -116,10 +206,11 @@ public class Obstaculo {
      * Cria um retângulo como obstáculo.
      *
      * @param upLeft O ponto superior esquerdo do retângulo (tipo Ponto).
+     * @param random O gerador de números aleatórios a usar (tipo SplittableRandom).
      * @return Um novo objeto Retangulo.
      */
-    private Retangulo createRetangulo(Ponto upLeft) {
-        int length_x = r.nextInt(1, this.obsSize + 1);
+    private Retangulo createRetangulo(Ponto upLeft, SplittableRandom random) {
+        int length_x = random.nextInt(1, this.obsSize + 1);
         this.rectBigSide = this.obsSize + length_x;
         return new Retangulo(new Ponto[]{
                 upLeft,
@@ -149,13 +240,32 @@ public class Obstaculo {
      * @return Um array de pontos (Ponto[]) representando todos os pontos inteiros que compõem o obstáculo.
      */
     public Ponto[] getAllIntPoints() {
-        if (obstaculo instanceof Quadrado quadrado)
-            return quadrado.getAllIntVertices();
-        else if (obstaculo instanceof Retangulo retangulo)
-            return retangulo.getAllIntVertices();
-        else if (obstaculo instanceof Triangulo triangulo)
-            return triangulo.getAllIntVertices();
-        return new Ponto[0];
+        BufferPontos pontos = new BufferPontos();
+        addAllIntPoints(pontos);
+        return pontos.toPontos();
+    }
+
+    /**
+     * Acrescenta ao buffer fornecido todos os pontos inteiros que compõem o obstáculo.
+     *
+     * @param pontos O buffer (tipo BufferPontos) onde os pontos são acrescentados.
+     */
+    public void addAllIntPoints(BufferPontos pontos) {
+        if (this.pixelsPoses != null)
+            pontos.addAll(this.pixelsPoses[this.pose]);
+    }
+
+    /**
+     * Acrescenta ao buffer fornecido os segmentos horizontais que preenchem o obstáculo na posição atual.
+     *
+     * @param segmentos O buffer (tipo BufferSegmentos) onde os segmentos são acrescentados.
+     */
+    public void addSpans(BufferSegmentos segmentos) {
+        if (this.segmentosPoses != null) {
+            BufferSegmentos atuais = this.segmentosPoses[this.pose];
+            for (int i = 0; i < atuais.size(); i++)
+                segmentos.add(atuais.getY(i), atuais.getInicio(i), atuais.getFim(i));
+        }
     }
 
     /**
@@ -164,42 +274,97 @@ public class Obstaculo {
      * @return Um array de pontos (Ponto[]) representando todos os pontos inteiros que compõem as arestas do obstáculo.
      */
     public Ponto[] getBoundaryIntPoints() {
-        if (obstaculo instanceof Quadrado quadrado)
-            return quadrado.getBoundaryIntVertices();
-        else if (obstaculo instanceof Retangulo retangulo)
-            return retangulo.getBoundaryIntVertices();
-        else if (obstaculo instanceof Triangulo triangulo)
-            return triangulo.getBoundaryIntVertices();
-        return new Ponto[0];
+        BufferPontos pontos = new BufferPontos();
+        addBoundaryIntPoints(pontos);
+        return pontos.toPontos();
+    }
+
+    /**
+     * Acrescenta ao buffer fornecido todos os pontos inteiros que compõem as arestas do obstáculo.
+     *
+     * @param pontos O buffer (tipo BufferPontos) onde os pontos são acrescentados.
+     */
+    public void addBoundaryIntPoints(BufferPontos pontos) {
+        if (this.arestasPoses != null)
+            pontos.addAll(this.arestasPoses[this.pose]);
+    }
+
+    /**
+     * Acrescenta ao buffer fornecido os pontos inteiros de todas as posições por que o obstáculo passa ao rodar,
+     * isto é, todos os pixels que o obstáculo pode vir a ocupar.
+     *
+     * @param pontos O buffer (tipo BufferPontos) onde os pontos são acrescentados.
+     */
+    public void addAllPosesIntPoints(BufferPontos pontos) {
+        if (this.pixelsPoses != null)
+            for (BufferPontos pixels : this.pixelsPoses)
+                pontos.addAll(pixels);
     }
 
     /**
-     * Roda o obstáculo em torno de um ponto por um ângulo, ambos aleatórios.
+     * Marca como ocupadas, no índice de células livres, as células onde o obstáculo impede a colocação de comida.
+     *
+     * @param livres O índice de células livres (tipo IndiceCelulasLivres) a atualizar.
+     */
+    public void occupyCells(IndiceCelulasLivres livres) {
+        if (this.pixelsPoses != null)
+            livres.occupyPixels(this.pixelsPoses[this.pose]);
+    }
+
+    /**
+     * Liberta, no índice de células livres, as células ocupadas pelo obstáculo. Deve ser chamado antes de o
+     * obstáculo rodar, com a mesma forma que foi usada em occupyCells.
+     *
+     * @param livres O índice de células livres (tipo IndiceCelulasLivres) a atualizar.
+     */
+    public void releaseCells(IndiceCelulasLivres livres) {
+        if (this.pixelsPoses != null)
+            livres.releasePixels(this.pixelsPoses[this.pose]);
+    }
+
+    /**
+     * Roda o obstáculo em torno de um ponto por um ângulo, ambos aleatórios, avançando para a posição seguinte
+     * das que foram calculadas na criação do obstáculo.
      */
     public void rotate() {
-        if (this.angRot != 0)
-            if (obstaculo instanceof Quadrado quadrado)
-                this.obstaculo = quadrado.rotate(this.angRot, this.pontoRot);
-            else if (obstaculo instanceof Retangulo retangulo)
-                this.obstaculo = retangulo.rotate(this.angRot, this.pontoRot);
-            else if (obstaculo instanceof Triangulo triangulo)
-                this.obstaculo = triangulo.rotate(this.angRot, this.pontoRot);
+        if (this.angRot != 0 && this.poses != null) {
+            this.pose = (this.pose + 1) % this.poses.length;
+            this.obstaculo = this.poses[this.pose];
+        }
     }
 
     /**
-     * Verifica se a posição escolhida para o obstáculo não interfere com a cobra.
+     * Verifica se a posição escolhida para o obstáculo não interfere com a cobra. Cada segmento horizontal do
+     * obstáculo é procurado no conjunto de células da cobra, em vez de ser comparado com todos os pixels da cobra.
      *
      * @param snake A cobra atual no jogo, para evitar sobreposição (tipo Cobra).
      * @return Verdadeiro se a posição estiver livre, falso se sobrepõe à cobra (tipo booleano).
      */
     private boolean isPositionFree(Cobra snake) {
-        Ponto[] shapePoints = getAllIntPoints(); // Obter pontos do obstáculo a ser colocado
-        List<Ponto> snakePoints = snake.getAllIntPoints();
-        for (Ponto sp : snakePoints)
-            for (Ponto shapePoint : shapePoints)
-                if (sp.equals(shapePoint))
-                    return false; // Obstáculo sobreporia a cobra
-        return true; // Nenhuma sobreposição encontrada
+        BufferSegmentos segmentos = new BufferSegmentos(); // Obter os segmentos do obstáculo a ser colocado
+        ((Poligono) this.obstaculo).addSpans(segmentos);
+        return !snake.intersects(segmentos);
+    }
+
+    /**
+     * Verifica se o obstáculo, na posição atual, ocupa algum pixel de um retângulo.
+     *
+     * @param x0 Coordenada x do canto superior esquerdo do retângulo (tipo int).
+     * @param y0 Coordenada y do canto superior esquerdo do retângulo (tipo int).
+     * @param x1 Coordenada x do canto inferior direito do retângulo, inclusiva (tipo int).
+     * @param y1 Coordenada y do canto inferior direito do retângulo, inclusiva (tipo int).
+     * @return Verdadeiro se o obstáculo ocupa algum pixel do retângulo (tipo booleano).
+     */
+    public boolean intersects(int x0, int y0, int x1, int y1) {
+        if (this.segmentosPoses == null)
+            return false;
+        BufferSegmentos atuais = this.segmentosPoses[this.pose];
+        for (int i = 0; i < atuais.size(); i++) {
+            int y = atuais.getY(i);
+            if (y >= y0 && y <= y1 && atuais.getInicio(i) <= x1 && atuais.getFim(i) >= x0)
+                return true;
+        }
+        return false;
     }
 
     /**
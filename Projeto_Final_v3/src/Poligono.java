@@ -2,6 +2,9 @@
  * A classe Poligono representa um polígono definido por um conjunto de pontos no espaço bidimensional.
  * Esta verifica se os pontos fornecidos formam um polígono válido, garantindo que são três ou mais pontos,
  * que não são colineares e que os segmentos de reta formados pelos pontos não se interceptam.
+ * Como um polígono nunca muda, a caixa envolvente e o ponto superior esquerdo são calculados na construção e os
+ * segmentos das arestas na primeira interseção, sendo depois reutilizados. As interseções e as verificações de
+ * contenção começam por comparar as caixas envolventes, o que evita quase sempre os testes entre arestas.
  *
  * @author Jorge Silva, Paulo Martins, Vasile Karpa
  * @version 1.5 - 22/05/2024
@@ -15,6 +18,9 @@
 
 public class Poligono {
     private final Ponto[] pointsPol;
+    private final double[] caixa;
+    private final Ponto topLeft;
+    private volatile SegmentoReta[] segmentos;
 
     /**
      * Construtor para a classe Poligono. Copia os pontos fornecidos para o array de pontos do polígono,
@@ -24,9 +30,23 @@ public class Poligono {
      * @param pontos Array de pontos (tipo Ponto) que formam o polígono.
      */
     public Poligono(Ponto[] pontos) {
+        this(pontos, true);
+    }
+
+    /**
+     * Construtor para a classe Poligono usado internamente para polígonos obtidos de um polígono já válido por
+     * uma transformação rígida (translação), em que a validação pode ser dispensada.
+     *
+     * @param pontos  Array de pontos (tipo Ponto) que formam o polígono.
+     * @param validar Verdadeiro se os pontos devem ser validados (tipo booleano).
+     */
+    Poligono(Ponto[] pontos, boolean validar) {
         this.pointsPol = new Ponto[pontos.length];
         System.arraycopy(pontos, 0, this.pointsPol, 0, pontos.length);
-        isPolygon();
+        if (validar)
+            isPolygon();
+        this.caixa = caixa(this.pointsPol);
+        this.topLeft = topLeft(this.pointsPol);
     }
 
     /**
@@ -48,6 +68,39 @@ public class Poligono {
                 this.pointsPol[cont++] = new Ponto(Integer.parseInt(partes[i]), Integer.parseInt(partes[i + 1]));
         }
         isPolygon();
+        this.caixa = caixa(this.pointsPol);
+        this.topLeft = topLeft(this.pointsPol);
+    }
+
+    /**
+     * Calcula a caixa envolvente de um conjunto de pontos, alinhada com os eixos.
+     *
+     * @param pontos Os pontos (tipo Ponto[]).
+     * @return As coordenadas mínimas e máximas, pela ordem x mínimo, y mínimo, x máximo e y máximo (tipo double[]).
+     */
+    private static double[] caixa(Ponto[] pontos) {
+        double[] caixa = {Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+        for (Ponto p : pontos) {
+            caixa[0] = Math.min(caixa[0], p.getX());
+            caixa[1] = Math.min(caixa[1], p.getY());
+            caixa[2] = Math.max(caixa[2], p.getX());
+            caixa[3] = Math.max(caixa[3], p.getY());
+        }
+        return caixa;
+    }
+
+    /**
+     * Procura o ponto superior esquerdo de um conjunto de pontos, como descrito em getTopLeft.
+     *
+     * @param pontos Os pontos (tipo Ponto[]).
+     * @return O ponto superior esquerdo (tipo Ponto).
+     */
+    private static Ponto topLeft(Ponto[] pontos) {
+        Ponto topLeft = null;
+        for (Ponto vertex : pontos)
+            if (topLeft == null || vertex.getX() < topLeft.getX() && vertex.getY() < topLeft.getY())
+                topLeft = vertex;
+        return topLeft;
     }
 
     /**
@@ -82,17 +135,70 @@ public class Poligono {
     }
 
     /**
-     * Retorna os segmentos de reta que compõem este polígono.
+     * Retorna os segmentos de reta que compõem este polígono, criados no primeiro pedido e depois reutilizados.
+     * O campo é volátil e o array só é guardado depois de preenchido, pelo que outra thread que o leia vê sempre o
+     * array completo; se duas threads o criarem ao mesmo tempo, cada uma usa o seu, com segmentos iguais e imutáveis.
      *
      * @return Array de segmentos de reta (tipo SegmentoReta[]) que compõem o polígono.
      */
     private SegmentoReta[] getPolygonSegments() {
-        SegmentoReta[] segments = new SegmentoReta[this.pointsPol.length];
-        for (int i = 0; i < this.pointsPol.length; i++)
-            segments[i] = new SegmentoReta(this.pointsPol[i], this.pointsPol[(i + 1) % this.pointsPol.length]);
+        SegmentoReta[] segments = this.segmentos;
+        if (segments == null) {
+            segments = new SegmentoReta[this.pointsPol.length];
+            for (int i = 0; i < this.pointsPol.length; i++)
+                segments[i] = new SegmentoReta(this.pointsPol[i], this.pointsPol[(i + 1) % this.pointsPol.length]);
+            this.segmentos = segments;
+        }
         return segments;
     }
 
+    /**
+     * Retorna a menor coordenada x dos vértices do polígono.
+     *
+     * @return O x mínimo da caixa envolvente (tipo double).
+     */
+    public double getMinX() {
+        return this.caixa[0];
+    }
+
+    /**
+     * Retorna a menor coordenada y dos vértices do polígono.
+     *
+     * @return O y mínimo da caixa envolvente (tipo double).
+     */
+    public double getMinY() {
+        return this.caixa[1];
+    }
+
+    /**
+     * Retorna a maior coordenada x dos vértices do polígono.
+     *
+     * @return O x máximo da caixa envolvente (tipo double).
+     */
+    public double getMaxX() {
+        return this.caixa[2];
+    }
+
+    /**
+     * Retorna a maior coordenada y dos vértices do polígono.
+     *
+     * @return O y máximo da caixa envolvente (tipo double).
+     */
+    public double getMaxY() {
+        return this.caixa[3];
+    }
+
+    /**
+     * Verifica se as caixas envolventes deste polígono e de outro se tocam ou sobrepõem.
+     *
+     * @param other O outro polígono (tipo Poligono).
+     * @return Verdadeiro se as caixas envolventes têm algum ponto em comum (tipo booleano).
+     */
+    public boolean boundsIntersect(Poligono other) {
+        return other.caixa[0] <= this.caixa[2] && other.caixa[2] >= this.caixa[0] &&
+                other.caixa[1] <= this.caixa[3] && other.caixa[3] >= this.caixa[1];
+    }
+
     /**
      * Retorna os vértices do polígono.
      *
@@ -107,11 +213,16 @@ public class Poligono {
      * A interseção é determinada verificando se algum dos segmentos de reta que formam este polígono
      * intersecta qualquer um dos segmentos de reta que formam o outro polígono.
      *
+     * Dois segmentos só se cruzam num ponto que pertence às duas caixas envolventes, por isso polígonos com caixas
+     * separadas são rejeitados sem testar as arestas.
+     *
      * @param other O outro polígono (tipo Poligono) com o qual a interseção será verificada.
      * @return Verdadeiro se houver pelo menos uma interseção entre um segmento deste polígono
      * e um segmento do outro polígono; falso, caso contrário (tipo booleano).
      */
     public boolean intersects(Poligono other) {
+        if (!boundsIntersect(other))
+            return false;
         for (SegmentoReta segmentThis : this.getPolygonSegments())
             for (SegmentoReta segmentOther : other.getPolygonSegments())
                 if (segmentThis.intersects(segmentOther))
@@ -202,7 +313,7 @@ public class Poligono {
         for (int i = 0; i < this.pointsPol.length; i++)
             p[i] = pointsPol[i].translate(x, y);
 
-        return new Poligono(p);
+        return new Poligono(p, false);
     }
 
     /**
@@ -217,16 +328,222 @@ public class Poligono {
         return translate(x - cent.getX(), y - cent.getY());
     }
 
+    /**
+     * Retorna todos os pontos inteiros do polígono preenchido, linha a linha e da esquerda para a direita.
+     *
+     * @return Um array de pontos (tipo Ponto[]) representando todos os pontos inteiros do polígono.
+     */
+    public Ponto[] getAllIntVertices() {
+        BufferPontos pontos = new BufferPontos();
+        addAllIntVertices(pontos);
+        return pontos.toPontos();
+    }
+
+    /**
+     * Acrescenta ao buffer fornecido todos os pontos inteiros do polígono preenchido, sem criar objetos Ponto.
+     * Os segmentos do preenchimento são calculados num buffer temporário; quem rasteriza muitos polígonos deve usar
+     * a versão que recebe esse buffer, para o reutilizar.
+     *
+     * @param pontos O buffer (tipo BufferPontos) onde os pontos são acrescentados.
+     */
+    public void addAllIntVertices(BufferPontos pontos) {
+        addAllIntVertices(pontos, new BufferSegmentos());
+    }
+
+    /**
+     * Acrescenta ao buffer fornecido todos os pontos inteiros do polígono preenchido, usando o buffer de segmentos
+     * fornecido como rascunho, que é esvaziado antes de ser usado.
+     *
+     * @param pontos   O buffer (tipo BufferPontos) onde os pontos são acrescentados.
+     * @param rascunho O buffer (tipo BufferSegmentos) onde os segmentos do preenchimento são calculados.
+     */
+    public void addAllIntVertices(BufferPontos pontos, BufferSegmentos rascunho) {
+        rascunho.clear();
+        addSpans(rascunho);
+        rascunho.addPontos(pontos);
+    }
+
+    /**
+     * Acrescenta ao buffer fornecido os segmentos horizontais que preenchem o polígono, por ordem de linha e,
+     * dentro de cada linha, da esquerda para a direita, sem segmentos sobrepostos nem contíguos.
+     * Em cada linha de varrimento, os cruzamentos com as arestas (com a regra meio-aberta em y, para que cada
+     * vértice conte uma só vez) delimitam, pela regra par-ímpar, os pixels interiores; a estes juntam-se os pixels
+     * das arestas, para que o preenchimento contenha sempre o contorno devolvido por addBoundaryIntVertices.
+     * Os pixels das arestas e os intervalos interiores são escritos no próprio buffer, a seguir aos segmentos que
+     * já lá estavam, e depois ordenados e juntados no lugar, pelo que só é reservada memória quando o buffer cresce.
+     *
+     * @param segmentos O buffer (tipo BufferSegmentos) onde os segmentos são acrescentados.
+     */
+    public void addSpans(BufferSegmentos segmentos) {
+        int n = this.pointsPol.length, desde = segmentos.size();
+        int minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            minY = Math.min(minY, verticeY(i));
+            maxY = Math.max(maxY, verticeY(i));
+            addEdgeSpans(segmentos, verticeX(i), verticeY(i), verticeX((i + 1) % n), verticeY((i + 1) % n));
+        }
+
+        for (int y = minY; y <= maxY; y++) {
+            // Os cruzamentos são percorridos por ordem, escolhendo de cada vez o menor a seguir ao anterior (com o
+            // índice da aresta a desempatar), para os emparelhar sem os guardar
+            double anterior = Double.NEGATIVE_INFINITY, inicio = 0;
+            int arestaAnterior = -1;
+            for (int k = 0; ; k++) {
+                double cruzamento = Double.POSITIVE_INFINITY;
+                int aresta = -1;
+                for (int i = 0; i < n; i++) {
+                    int x0 = verticeX(i), y0 = verticeY(i), x1 = verticeX((i + 1) % n), y1 = verticeY((i + 1) % n);
+                    if (y0 == y1 || y < Math.min(y0, y1) || y >= Math.max(y0, y1))
+                        continue;
+                    double c = x0 + (double) (y - y0) * (x1 - x0) / (y1 - y0);
+                    if ((c > anterior || (c == anterior && i > arestaAnterior)) && c < cruzamento) {
+                        cruzamento = c;
+                        aresta = i;
+                    }
+                }
+                if (aresta < 0)
+                    break;
+                if (k % 2 == 0)
+                    inicio = cruzamento;
+                else if (Math.ceil(inicio) <= Math.floor(cruzamento))
+                    segmentos.add(y, (int) Math.ceil(inicio), (int) Math.floor(cruzamento));
+                anterior = cruzamento;
+                arestaAnterior = aresta;
+            }
+        }
+
+        segmentos.juntar(desde);
+    }
+
+    /**
+     * Retorna a coordenada x de um vértice, arredondada ao pixel.
+     *
+     * @param i O índice do vértice (tipo int).
+     * @return A coordenada x arredondada (tipo int).
+     */
+    private int verticeX(int i) {
+        return (int) Math.round(this.pointsPol[i].getX());
+    }
+
+    /**
+     * Retorna a coordenada y de um vértice, arredondada ao pixel.
+     *
+     * @param i O índice do vértice (tipo int).
+     * @return A coordenada y arredondada (tipo int).
+     */
+    private int verticeY(int i) {
+        return (int) Math.round(this.pointsPol[i].getY());
+    }
+
+    /**
+     * Retorna apenas os pontos inteiros ao longo das arestas do polígono.
+     *
+     * @return Um array de pontos (tipo Ponto[]) representando os pontos inteiros ao longo das arestas.
+     */
+    public Ponto[] getBoundaryIntVertices() {
+        BufferPontos pontos = new BufferPontos();
+        addBoundaryIntVertices(pontos);
+        return pontos.toPontos();
+    }
+
+    /**
+     * Acrescenta ao buffer fornecido os pontos inteiros ao longo das arestas do polígono, sem criar objetos Ponto.
+     *
+     * @param pontos O buffer (tipo BufferPontos) onde os pontos são acrescentados.
+     */
+    public void addBoundaryIntVertices(BufferPontos pontos) {
+        int n = this.pointsPol.length;
+        for (int i = 0; i < n; i++) {
+            Ponto start = this.pointsPol[i];
+            Ponto end = this.pointsPol[(i + 1) % n]; // Loop circular para ligar o último vértice ao primeiro
+            addEdgePoints(pontos, (int) Math.round(start.getX()), (int) Math.round(start.getY()),
+                    (int) Math.round(end.getX()), (int) Math.round(end.getY()));
+        }
+    }
+
+    /**
+     * Adiciona pontos inteiros ao longo da aresta entre dois pontos dados ao buffer fornecido.
+     * Os pontos são calculados usando o algoritmo de Bresenham para linhas.
+     *
+     * @param points Buffer (tipo BufferPontos) para adicionar os pontos calculados.
+     * @param x0     Coordenada x do início da aresta (tipo int).
+     * @param y0     Coordenada y do início da aresta (tipo int).
+     * @param x1     Coordenada x do fim da aresta (tipo int).
+     * @param y1     Coordenada y do fim da aresta (tipo int).
+     */
+    private static void addEdgePoints(BufferPontos points, int x0, int y0, int x1, int y1) {
+        int dx = Math.abs(x1 - x0);
+        int dy = Math.abs(y1 - y0);
+
+        int sx = x0 < x1 ? 1 : -1;
+        int sy = y0 < y1 ? 1 : -1;
+
+        int err = dx - dy;
+
+        while (true) {
+            points.add(x0, y0);
+            if (x0 == x1 && y0 == y1) break;
+
+            int e2 = 2 * err;
+            if (e2 > -dy) {
+                err -= dy;
+                x0 += sx;
+            }
+            if (e2 < dx) {
+                err += dx;
+                y0 += sy;
+            }
+        }
+    }
+
+    /**
+     * Acrescenta ao buffer de segmentos fornecido os pixels da aresta entre dois pontos, pelo mesmo algoritmo de
+     * Bresenham de addEdgePoints, juntando num só segmento os pixels seguidos da mesma linha.
+     *
+     * @param segmentos Buffer (tipo BufferSegmentos) para adicionar os segmentos calculados.
+     * @param x0        Coordenada x do início da aresta (tipo int).
+     * @param y0        Coordenada y do início da aresta (tipo int).
+     * @param x1        Coordenada x do fim da aresta (tipo int).
+     * @param y1        Coordenada y do fim da aresta (tipo int).
+     */
+    private static void addEdgeSpans(BufferSegmentos segmentos, int x0, int y0, int x1, int y1) {
+        int dx = Math.abs(x1 - x0);
+        int dy = Math.abs(y1 - y0);
+
+        int sx = x0 < x1 ? 1 : -1;
+        int sy = y0 < y1 ? 1 : -1;
+
+        int err = dx - dy;
+        int inicio = x0;
+
+        while (true) {
+            if (x0 == x1 && y0 == y1) {
+                segmentos.add(y0, Math.min(inicio, x0), Math.max(inicio, x0));
+                break;
+            }
+
+            int e2 = 2 * err;
+            int x = x0;
+            if (e2 > -dy) {
+                err -= dy;
+                x0 += sx;
+            }
+            if (e2 < dx) {
+                err += dx;
+                // A linha muda: o segmento dos pixels desta linha termina no último pixel escrito nela
+                segmentos.add(y0, Math.min(inicio, x), Math.max(inicio, x));
+                y0 += sy;
+                inicio = x0;
+            }
+        }
+    }
+
     /**
      * Retorna o ponto superior esquerdo (top-left) do polígono.
      *
      * @return O ponto superior esquerdo do polígono (tipo Ponto).
      */
     public Ponto getTopLeft() {
-        Ponto topLeft = new Ponto(Double.MAX_VALUE, Double.MAX_VALUE);
-        for (Ponto vertex : this.pointsPol)
-            if (vertex.getX() < topLeft.getX() && vertex.getY() < topLeft.getY())
-                topLeft = vertex;
-        return topLeft;
+        return this.topLeft;
     }
 }
\ No newline at end of file
@@ -88,9 +88,15 @@ public class Ponto {
         double angRad = Math.toRadians(ang);
         double dx = this.x - pontoRot.getX();
         double dy = this.y - pontoRot.getY();
+        double cos = Math.cos(angRad), sin = Math.sin(angRad);
+        // Para múltiplos de 90 graus usa valores exatos, para que o arredondamento seja igual em todos os vértices
+        if (ang % 90 == 0) {
+            cos = Math.rint(cos);
+            sin = Math.rint(sin);
+        }
 
-        double xRodado = dx * Math.cos(angRad) - dy * Math.sin(angRad) + pontoRot.getX();
-        double yRodado = dx * Math.sin(angRad) + dy * Math.cos(angRad) + pontoRot.getY();
+        double xRodado = dx * cos - dy * sin + pontoRot.getX();
+        double yRodado = dx * sin + dy * cos + pontoRot.getY();
         return new Ponto(Math.round(xRodado), Math.round(yRodado));
     }
 
@@ -1,21 +1,45 @@
 /**
- * A classe Pontuacao gere as pontuações de um jogo, permitindo adicionar, organizar e recuperar
- * as melhores pontuações armazenadas em um arquivo. As pontuações são mantidas em um arquivo de texto
- * chamado "resultados.txt".
+ * A classe Pontuacao gere as pontuações de um jogo, permitindo adicionar e recuperar as melhores pontuações.
+ * As pontuações são guardadas por um RegistoPontuacoes, nos ficheiros "pontuacoes.g.dat" (fotografia ordenada da
+ * geração g) e "pontuacoes.log" (pontuações novas); as do antigo ficheiro de texto "resultados.txt" são
+ * importadas na primeira utilização. Todas as instâncias que usam a mesma diretoria partilham a mesma tabela, e as
+ * pontuações podem ser registadas ao mesmo tempo por vários jogos, mesmo em processos diferentes.
  *
  * @author Jorge Silva, Paulo Martins, Vasile Karpa
  * @version 1.2 - 22/05/2024
  */
 
-import java.io.*;
-import java.util.*;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class Pontuacao {
     private static final String FILE_NAME = "resultados.txt";
+    private static final String BASE = "pontuacoes";
+
+    private final RegistoPontuacoes registo;
+
+    /**
+     * Construtor da classe Pontuacao, com os ficheiros de pontuações na diretoria atual.
+     */
+    public Pontuacao() {
+        this(Path.of(""));
+    }
+
+    /**
+     * Construtor da classe Pontuacao. Lê as pontuações registadas por outros processos desde a última leitura.
+     *
+     * @param diretoria A diretoria dos ficheiros de pontuações (tipo Path).
+     */
+    public Pontuacao(Path diretoria) {
+        this.registo = RegistoPontuacoes.abrir(diretoria.resolve(BASE), diretoria.resolve(FILE_NAME));
+        this.registo.atualizar();
+    }
 
     /**
-     * Adiciona uma pontuação ao arquivo de resultados. Se a pontuação for zero, ela não é adicionada.
-     * Após adicionar uma nova pontuação, as pontuações são reorganizadas.
+     * Adiciona uma pontuação aos recordes e espera que esteja guardada. Se a pontuação for zero, ela não é
+     * adicionada.
      *
      * @param score A pontuação a ser adicionada (tipo int).
      * @param nome  O nome do jogador (tipo String).
@@ -23,71 +47,104 @@ public class Pontuacao {
     public void adicionarPontuacao(int score, String nome) {
         if (score == 0)
             System.out.println("Pontuação igual a 0, não foi adicionada aos recordes.");
-        else {
-            try (FileWriter fw = new FileWriter(FILE_NAME, true);
-                 BufferedWriter bw = new BufferedWriter(fw);
-                 PrintWriter out = new PrintWriter(bw)) {
-                out.println(score + " " + nome);
-            } catch (IOException e) {
-                System.err.println("Erro ao escrever no arquivo: " + e.getMessage());
-            }
-        }
-        organizarPontuacoes();
+        else
+            this.registo.adicionar(score, nome);
     }
 
     /**
-     * Organiza o arquivo de pontuações por pontuação máxima. As pontuações são lidas, ordenadas e reescritas
-     * de volta ao arquivo.
+     * Submete uma pontuação aos recordes sem esperar que seja guardada, para quem não pode bloquear, como a thread
+     * da interface gráfica. Se a pontuação for zero, ela não é adicionada.
+     *
+     * @param score A pontuação a ser adicionada (tipo int).
+     * @param nome  O nome do jogador (tipo String).
+     * @return Um futuro concluído quando a pontuação estiver guardada (tipo CompletableFuture<Void>).
      */
-    private void organizarPontuacoes() {
-        List<String> pontuacoes = lerPontuacoes();
-        List<PontuacaoJogo> listaPontuacoes = new ArrayList<>();
-        for (String pontuacao : pontuacoes) {
-            String[] parts = pontuacao.split(" ");
-            int score = Integer.parseInt(parts[0]);
-            String nome = parts[1];
-            listaPontuacoes.add(new PontuacaoJogo(score, nome));
+    public CompletableFuture<Void> submeterPontuacao(int score, String nome) {
+        if (score == 0) {
+            System.out.println("Pontuação igual a 0, não foi adicionada aos recordes.");
+            return CompletableFuture.completedFuture(null);
         }
+        return this.registo.submeter(score, nome);
+    }
 
-        listaPontuacoes.sort(Collections.reverseOrder());
+    /**
+     * Retorna todas as pontuações, da maior para a menor, cada uma no formato "pontuação nome".
+     *
+     * @return Lista de pontuações (List<String>).
+     */
+    public List<String> getPontuacoes() {
+        return formatar(this.registo.top(this.registo.getTamanho()));
+    }
 
-        try (PrintWriter out = new PrintWriter(new FileWriter(FILE_NAME))) {
-            for (PontuacaoJogo pj : listaPontuacoes) {
-                out.println(pj.score + " " + pj.nome);
-            }
-        } catch (IOException e) {
-            System.err.println("Erro ao reescrever o arquivo: " + e.getMessage());
-        }
+    /**
+     * Retorna uma página das pontuações, da maior para a menor, cada uma no formato "pontuação nome". Só as
+     * pontuações da página são lidas por inteiro, pelo que é adequado a tabelas muito grandes.
+     *
+     * @param inicio A posição da primeira pontuação da página, a contar de 0 (tipo int).
+     * @param n      O número máximo de pontuações da página (tipo int).
+     * @return Lista de pontuações (List<String>).
+     */
+    public List<String> getPontuacoes(int inicio, int n) {
+        return formatar(this.registo.pagina(inicio, n));
     }
 
     /**
-     * Lê as pontuações do arquivo e retorna uma lista de strings, cada uma contendo uma pontuação e o nome
-     * do jogador associado.
+     * Retorna o número de pontuações registadas.
      *
-     * @return Uma lista de pontuações (tipo List<String>).
+     * @return O número de pontuações (tipo int).
      */
-    private List<String> lerPontuacoes() {
-        List<String> pontuacoes = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(FILE_NAME))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                pontuacoes.add(line);
-            }
-        } catch (FileNotFoundException e) {
-            System.err.println("Arquivo não encontrado: " + e.getMessage());
-        } catch (IOException e) {
-            System.err.println("Erro ao ler o arquivo: " + e.getMessage());
-        }
-        return pontuacoes;
+    public int getNumeroPontuacoes() {
+        return this.registo.getTamanho();
     }
 
     /**
-     * Retorna as pontuações lidas do arquivo.
+     * Retorna as estatísticas de um jogador: a melhor pontuação, o número de jogos e a média.
      *
-     * @return Lista de pontuações (List<String>).
+     * @param nome O nome do jogador (tipo String).
+     * @return As estatísticas, ou null se o jogador não tiver pontuações registadas
+     * (tipo EstatisticasPontuacoes.Jogador).
      */
-    public List<String> getPontuacoes() {
-        return lerPontuacoes();
+    public EstatisticasPontuacoes.Jogador getEstatisticasJogador(String nome) {
+        return this.registo.getEstatisticas().getJogador(nome);
+    }
+
+    /**
+     * Calcula a percentagem dos jogos registados que uma pontuação bate, isto é, com pontuação inferior.
+     *
+     * @param score A pontuação (tipo int).
+     * @return A percentagem, entre 0 e 100 (tipo double).
+     */
+    public double getPercentagemSuperada(int score) {
+        return this.registo.getEstatisticas().percentagemAbaixo(score);
+    }
+
+    /**
+     * Calcula um percentil das pontuações registadas, com um erro relativo inferior a 1,6%.
+     *
+     * @param p O percentil, entre 0 e 100 (tipo double).
+     * @return A pontuação do percentil (tipo int).
+     * @throws IllegalArgumentException Se o percentil estiver fora do intervalo.
+     * @throws IllegalStateException    Se não houver pontuações.
+     */
+    public int getPercentil(double p) {
+        return this.registo.getEstatisticas().percentil(p);
+    }
+
+    /**
+     * Retorna um resumo do resultado de um jogo face aos recordes: a percentagem de jogos que a pontuação bate e
+     * as estatísticas do jogador.
+     *
+     * @param score A pontuação do jogo (tipo int).
+     * @param nome  O nome do jogador (tipo String).
+     * @return O resumo, em uma ou duas linhas (tipo String).
+     */
+    public String resumo(int score, String nome) {
+        String resumo = String.format("Bateu %.0f%% dos jogos registados.", getPercentagemSuperada(score));
+        EstatisticasPontuacoes.Jogador jogador = getEstatisticasJogador(nome);
+        if (jogador != null)
+            resumo += String.format("%n%s: melhor %d, %d jogos, média %.1f", nome, jogador.getMelhor(),
+                    jogador.getJogos(), jogador.getMedia());
+        return resumo;
     }
 
     /**
@@ -97,28 +154,21 @@ public class Pontuacao {
      * @param n O número de top pontuações a imprimir (tipo int).
      */
     public void imprimirTopNPontuacoes(int n) {
-        List<String> pontuacoes = lerPontuacoes();
         System.out.println("Top " + n + " Pontuações:");
-        for (int i = 0; i < Math.min(n, pontuacoes.size()); i++)
-            System.out.println(pontuacoes.get(i));
+        for (String pontuacao : formatar(this.registo.top(Math.max(n, 0))))
+            System.out.println(pontuacao);
     }
 
     /**
-     * Classe interna PontuacaoJogo define a estrutura de uma pontuação no jogo, incluindo o score e o nome
-     * do jogador. Esta implementa Comparable para permitir a ordenação das pontuações.
+     * Converte pontuações para o formato "pontuação nome".
+     *
+     * @param entradas As pontuações (tipo List<RegistoPontuacoes.Entrada>).
+     * @return As pontuações formatadas (tipo List<String>).
      */
-    private static class PontuacaoJogo implements Comparable<PontuacaoJogo> {
-        int score;
-        String nome;
-
-        PontuacaoJogo(int score, String nome) {
-            this.score = score;
-            this.nome = nome;
-        }
-
-        @Override
-        public int compareTo(PontuacaoJogo o) {
-            return Integer.compare(this.score, o.score);
-        }
+    private static List<String> formatar(List<RegistoPontuacoes.Entrada> entradas) {
+        List<String> pontuacoes = new ArrayList<>(entradas.size());
+        for (RegistoPontuacoes.Entrada e : entradas)
+            pontuacoes.add(e.toString());
+        return pontuacoes;
     }
 }
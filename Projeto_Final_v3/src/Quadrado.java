@@ -17,8 +17,20 @@ public class Quadrado extends Retangulo {
      * @param pontos Array de pontos (tipo Ponto) que formam o quadrado.
      */
     public Quadrado(Ponto[] pontos) {
-        super(pontos);
-        isSquare();
+        this(pontos, true);
+    }
+
+    /**
+     * Construtor para a classe Quadrado usado internamente para quadrados obtidos de um quadrado já válido por uma
+     * transformação rígida (translação), em que a validação pode ser dispensada.
+     *
+     * @param pontos  Array de pontos (tipo Ponto) que formam o quadrado.
+     * @param validar Verdadeiro se os pontos devem ser validados (tipo booleano).
+     */
+    Quadrado(Ponto[] pontos, boolean validar) {
+        super(pontos, validar);
+        if (validar)
+            isSquare();
     }
 
     /**
@@ -97,7 +109,7 @@ public class Quadrado extends Retangulo {
         for (int i = 0; i < this.getVertices().length; i++)
             p[i] = getVertices()[i].translate(x, y);
 
-        return new Quadrado(p);
+        return new Quadrado(p, false);
     }
 
     /**
@@ -115,33 +127,21 @@ public class Quadrado extends Retangulo {
 
     /**
      * Verifica se este quadrado contém completamente outro quadrado. Um quadrado é considerado contido
-     * se todos os seus vértices estão dentro dos limites deste quadrado.
+     * se todos os seus vértices estão dentro dos limites deste quadrado. Como os limites de ambos os quadrados
+     * estão guardados e a truncagem preserva a ordem, basta comparar as caixas envolventes.
      *
      * @param other O outro quadrado a ser verificado (tipo Quadrado).
      * @return Verdadeiro se este quadrado contém completamente o outro; falso caso contrário (tipo booleano).
      */
     public boolean containsQuadrado(Quadrado other) {
-        int minX = Integer.MAX_VALUE;
-        int maxX = Integer.MIN_VALUE;
-        int minY = Integer.MAX_VALUE;
-        int maxY = Integer.MIN_VALUE;
-
-        for (Ponto p : this.getVertices()) {
-            if (p.getX() < minX) minX = (int) p.getX();
-            if (p.getX() > maxX) maxX = (int) p.getX();
-            if (p.getY() < minY) minY = (int) p.getY();
-            if (p.getY() > maxY) maxY = (int) p.getY();
-        }
-
-        // Verifica cada vértice do outro quadrado
-        for (Ponto p : other.getVertices()) {
-            int x = (int) p.getX();
-            int y = (int) p.getY();
-            if (x < minX || x > maxX || y < minY || y > maxY)
-                return false; // Se qualquer vértice estiver fora dos limites, o quadrado não está contido
-        }
-
-        return true; // Todos os vértices estão dentro dos limites
+        int minX = (int) getMinX();
+        int maxX = (int) getMaxX();
+        int minY = (int) getMinY();
+        int maxY = (int) getMaxY();
+
+        // Todos os vértices do outro quadrado estão dentro dos limites se os seus extremos estiverem
+        return (int) other.getMinX() >= minX && (int) other.getMaxX() <= maxX &&
+                (int) other.getMinY() >= minY && (int) other.getMaxY() <= maxY;
     }
 
     /**
@@ -161,18 +161,11 @@ public class Quadrado extends Retangulo {
         double left = centro.getX() - raio;
         double right = centro.getX() + raio;
 
-        // Determina os limites do quadrado
-        int minX = Integer.MAX_VALUE;
-        int maxX = Integer.MIN_VALUE;
-        int minY = Integer.MAX_VALUE;
-        int maxY = Integer.MIN_VALUE;
-
-        for (Ponto p : this.getVertices()) {
-            if (p.getX() < minX) minX = (int) p.getX();
-            if (p.getX() > maxX) maxX = (int) p.getX();
-            if (p.getY() < minY) minY = (int) p.getY();
-            if (p.getY() > maxY) maxY = (int) p.getY();
-        }
+        // Limites do quadrado, guardados na sua construção
+        int minX = (int) getMinX();
+        int maxX = (int) getMaxX();
+        int minY = (int) getMinY();
+        int maxY = (int) getMaxY();
 
         // Verifica se todos os pontos extremos da circunferência estão dentro do quadrado
         return left >= minX && right <= maxX && top >= minY && bottom <= maxY;
@@ -0,0 +1,855 @@
+/**
+ * A classe RegistoPontuacoes guarda a tabela de recordes do jogo em dois ficheiros: uma fotografia ordenada por
+ * pontuação decrescente e um registo binário (append-only) com as pontuações chegadas depois dela.
+ * A fotografia tem registos de largura fixa (pontuação, posição e tamanho do nome) seguidos dos nomes, e é lida através
+ * de um mapeamento em memória: a pontuação i está numa posição conhecida, pelo que uma consulta por páginas encontra o
+ * início da página por pesquisa binária nas pontuações da fotografia, só lê os nomes das pontuações que devolve, e
+ * abrir a tabela não depende do número de pontuações da fotografia. As pontuações do registo são mantidas em memória
+ * numa skip list ordenada e fundidas com as da fotografia em cada consulta.
+ * Quando o registo cresce, as duas partes são fundidas numa fotografia nova com a geração seguinte, escrita num
+ * ficheiro temporário e movida atomicamente; cada fotografia tem o seu ficheiro, para que a anterior, ainda
+ * mapeada, não tenha de ser substituída. Um registo de geração anterior à da fotografia já foi compactado e é
+ * descartado, e um registo cortado a meio por uma falha é truncado no último registo completo.
+ * As pontuações submetidas são escritas por uma única thread, que junta num lote todas as que estão em espera e
+ * as força para o disco de uma só vez. Cada lote é escrito com o ficheiro base.lock trancado (FileChannel.lock),
+ * depois de ler o que outros processos tenham escrito entretanto, pelo que vários jogos, na mesma máquina virtual
+ * ou em processos diferentes, podem registar pontuações ao mesmo tempo sem as perder.
+ * As estatísticas por jogador e o histograma dos percentis são guardados no fim de cada fotografia, seguidos da
+ * posição onde começam; na primeira consulta são lidos daí e só as pontuações do registo são acrescentadas, e depois
+ * são atualizados com cada pontuação lida ou escrita. Uma fotografia do formato anterior, sem estatísticas, é
+ * percorrida por inteiro na primeira consulta.
+ * Na primeira utilização, as pontuações do antigo ficheiro de texto (linhas "pontuação nome") são importadas.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ */
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class RegistoPontuacoes implements AutoCloseable {
+    private static final int MAGIC_FOTOGRAFIA = 0x50544633; // "PTF3"
+    private static final int MAGIC_FOTOGRAFIA_SEM_ESTATISTICAS = 0x50544632; // "PTF2"
+    private static final int MAGIC_REGISTO = 0x50544C31; // "PTL1"
+    private static final int TAMANHO_CABECALHO_FOTOGRAFIA = 16;
+    private static final int TAMANHO_CABECALHO_REGISTO = 12;
+    // Pontuação, posição do nome na zona dos nomes e tamanho do nome em bytes
+    private static final int TAMANHO_ENTRADA = 12;
+    // Número mínimo de pontuações no registo antes de compactar, para tabelas pequenas
+    private static final int MINIMO_COMPACTAR = 1024;
+    private static final int MAXIMO_LOTE = 1024;
+    private static final Comparator<Entrada> ORDEM =
+            Comparator.comparingInt(Entrada::getScore).reversed().thenComparingLong(e -> e.sequencia);
+    private static final Pedido FECHAR = new Pedido(0, null, null);
+
+    // Uma tabela aberta por ficheiro, e um trinco por ficheiro para as threads da mesma máquina virtual, que o
+    // trinco do sistema de ficheiros não distingue
+    private static final Map<Path, RegistoPontuacoes> ABERTOS = new ConcurrentHashMap<>();
+    private static final Map<Path, ReentrantLock> TRINCOS = new ConcurrentHashMap<>();
+
+    private final Path base, registo, trinco;
+    private final ReentrantLock trincoLocal;
+    private final BlockingQueue<Pedido> fila = new LinkedBlockingQueue<>();
+    private Thread escritor;
+    private boolean fechado;
+    private volatile Estado estado = new Estado(null, 0, 0, -1);
+    private volatile EstatisticasPontuacoes estatisticas;
+    // Só usados com o trinco
+    private long posicaoRegisto, proximaSequencia;
+
+    /**
+     * Construtor da classe RegistoPontuacoes. Mapeia a fotografia mais recente e lê o registo; se nenhum dos dois
+     * existir, importa as pontuações do ficheiro de texto antigo, se existir, e cria a primeira fotografia.
+     *
+     * @param base   O caminho base dos ficheiros: a fotografia da geração g é base.g.dat, o registo é base.log e
+     *               o ficheiro trancado durante as escritas é base.lock (tipo Path).
+     * @param legado O antigo ficheiro de texto de pontuações (tipo Path).
+     * @throws UncheckedIOException Se os ficheiros não puderem ser lidos ou escritos.
+     */
+    public RegistoPontuacoes(Path base, Path legado) {
+        this.base = base.toAbsolutePath();
+        this.registo = irmao(".log");
+        this.trinco = irmao(".lock");
+        this.trincoLocal = TRINCOS.computeIfAbsent(this.base, b -> new ReentrantLock());
+        try {
+            trancado(() -> {
+                if (procurarFotografia() == 0 && !Files.exists(this.registo) && Files.exists(legado)) {
+                    importar(legado);
+                    compactarTrancado();
+                } else
+                    sincronizar();
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Retorna a tabela aberta para um caminho base, abrindo-a se ainda não estiver aberta. Todas as partes do jogo
+     * que usam os mesmos ficheiros partilham assim a mesma tabela e a mesma thread de escrita.
+     *
+     * @param base   O caminho base dos ficheiros (tipo Path).
+     * @param legado O antigo ficheiro de texto de pontuações (tipo Path).
+     * @return A tabela (tipo RegistoPontuacoes).
+     * @throws UncheckedIOException Se os ficheiros não puderem ser lidos ou escritos.
+     */
+    public static RegistoPontuacoes abrir(Path base, Path legado) {
+        return ABERTOS.computeIfAbsent(base.toAbsolutePath(), b -> new RegistoPontuacoes(b, legado));
+    }
+
+    /**
+     * Submete uma pontuação à thread de escrita, sem esperar que seja escrita.
+     *
+     * @param score A pontuação (tipo int).
+     * @param nome  O nome do jogador (tipo String).
+     * @return Um futuro concluído quando a pontuação estiver no disco e na tabela (tipo CompletableFuture<Void>).
+     * @throws IllegalArgumentException Se o nome for nulo ou tiver mais de 65535 bytes em UTF-8.
+     * @throws IllegalStateException    Se a tabela já tiver sido fechada.
+     */
+    public CompletableFuture<Void> submeter(int score, String nome) {
+        if (nome == null)
+            throw new IllegalArgumentException("Nome inválido");
+        byte[] bytes = nome.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF)
+            throw new IllegalArgumentException("Nome demasiado comprido");
+        Pedido pedido = new Pedido(score, nome, bytes);
+        synchronized (this.fila) {
+            if (this.fechado)
+                throw new IllegalStateException("Tabela de pontuações fechada");
+            if (this.escritor == null) {
+                this.escritor = new Thread(this::escrever, "Escritor de pontuações");
+                this.escritor.setDaemon(true);
+                this.escritor.start();
+            }
+            this.fila.add(pedido);
+        }
+        return pedido.feito;
+    }
+
+    /**
+     * Acrescenta uma pontuação à tabela e espera que esteja no disco.
+     *
+     * @param score A pontuação (tipo int).
+     * @param nome  O nome do jogador (tipo String).
+     * @throws IllegalArgumentException Se o nome for nulo ou tiver mais de 65535 bytes em UTF-8.
+     * @throws IllegalStateException    Se a tabela já tiver sido fechada.
+     * @throws UncheckedIOException     Se o registo não puder ser escrito.
+     */
+    public void adicionar(int score, String nome) {
+        try {
+            submeter(score, nome).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa)
+                throw causa;
+            throw e;
+        }
+    }
+
+    /**
+     * Lê as pontuações que outros processos tenham registado desde a última leitura.
+     *
+     * @throws UncheckedIOException Se os ficheiros não puderem ser lidos.
+     */
+    public void atualizar() {
+        try {
+            trancado(this::sincronizar);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Retorna as melhores pontuações, da maior para a menor; pontuações iguais ficam pela ordem em que foram
+     * registadas.
+     *
+     * @param n O número máximo de pontuações (tipo int).
+     * @return As n melhores pontuações, ou todas se houver menos (tipo List<Entrada>).
+     * @throws IllegalArgumentException Se n for negativo.
+     */
+    public List<Entrada> top(int n) {
+        return pagina(0, n);
+    }
+
+    /**
+     * Retorna uma página da tabela ordenada. O início da página é encontrado por pesquisa binária na fotografia,
+     * percorrendo só as pontuações do registo que ficam antes dele, e só as pontuações da página são lidas.
+     *
+     * @param inicio A posição da primeira pontuação da página, a contar de 0 (tipo int).
+     * @param n      O número máximo de pontuações da página (tipo int).
+     * @return As pontuações da página, menos de n se a tabela acabar antes (tipo List<Entrada>).
+     * @throws IllegalArgumentException Se inicio ou n forem negativos.
+     */
+    public List<Entrada> pagina(int inicio, int n) {
+        if (inicio < 0 || n < 0)
+            throw new IllegalArgumentException("Número de pontuações inválido");
+        Cursor cursor = new Cursor(this.estado, inicio);
+        List<Entrada> pagina = new ArrayList<>(Math.max(0, Math.min(n, cursor.restantes() - inicio)));
+        while (pagina.size() < n && cursor.temProxima())
+            pagina.add(cursor.proxima());
+        return pagina;
+    }
+
+    /**
+     * Retorna o número de pontuações registadas.
+     *
+     * @return O número de pontuações (tipo int).
+     */
+    public int getTamanho() {
+        Estado e = this.estado;
+        return e.tamanho + e.registadas.size();
+    }
+
+    /**
+     * Retorna as estatísticas das pontuações registadas. Na primeira chamada, e depois de outro processo compactar a
+     * tabela, lê as estatísticas guardadas na fotografia e acrescenta-lhes as pontuações do registo, pelo que o custo
+     * depende do número de jogadores e do tamanho do registo, e não do número de pontuações; depois são atualizadas
+     * com cada pontuação nova. Só uma fotografia do formato anterior é percorrida por inteiro. O objeto devolvido
+     * deve ser pedido de novo em cada consulta, pois é substituído se outro processo compactar a tabela.
+     *
+     * @return As estatísticas (tipo EstatisticasPontuacoes).
+     * @throws UncheckedIOException Se os ficheiros não puderem ser lidos.
+     */
+    public EstatisticasPontuacoes getEstatisticas() {
+        EstatisticasPontuacoes atuais = this.estatisticas;
+        if (atuais != null)
+            return atuais;
+        try {
+            trancado(() -> {
+                sincronizar();
+                if (this.estatisticas == null) {
+                    Estado atual = this.estado;
+                    EstatisticasPontuacoes novas;
+                    if (atual.estatisticas >= 0) {
+                        novas = EstatisticasPontuacoes.ler(atual.mapa.duplicate().position(atual.estatisticas));
+                        for (Entrada e : atual.registadas)
+                            novas.registar(e.score, e.nome);
+                    } else {
+                        novas = new EstatisticasPontuacoes();
+                        for (Cursor cursor = new Cursor(atual); cursor.temProxima(); ) {
+                            Entrada e = cursor.proxima();
+                            novas.registar(e.score, e.nome);
+                        }
+                    }
+                    this.estatisticas = novas;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this.estatisticas;
+    }
+
+    /**
+     * Funde a fotografia e o registo numa fotografia nova com a geração seguinte e esvazia o registo.
+     *
+     * @throws UncheckedIOException Se os ficheiros não puderem ser escritos.
+     */
+    public void compactar() {
+        try {
+            trancado(() -> {
+                sincronizar();
+                compactarTrancado();
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Escreve as pontuações já submetidas e termina a thread de escrita. A tabela continua a poder ser consultada.
+     */
+    @Override
+    public void close() {
+        Thread t;
+        synchronized (this.fila) {
+            if (this.fechado)
+                return;
+            this.fechado = true;
+            t = this.escritor;
+            if (t != null)
+                this.fila.add(FECHAR);
+        }
+        ABERTOS.remove(this.base, this);
+        if (t != null)
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+    }
+
+    /**
+     * Ciclo da thread de escrita: espera por pontuações e escreve cada lote de pontuações em espera com uma única
+     * escrita e uma única sincronização com o disco.
+     */
+    private void escrever() {
+        List<Pedido> lote = new ArrayList<>();
+        boolean continuar = true;
+        while (continuar) {
+            try {
+                lote.add(this.fila.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            this.fila.drainTo(lote, MAXIMO_LOTE - 1);
+            continuar = !lote.remove(FECHAR);
+            if (lote.isEmpty())
+                continue;
+            try {
+                trancado(() -> escreverLote(lote));
+                for (Pedido p : lote)
+                    p.feito.complete(null);
+            } catch (IOException | RuntimeException e) {
+                RuntimeException erro = e instanceof IOException io ? new UncheckedIOException(io)
+                        : (RuntimeException) e;
+                for (Pedido p : lote)
+                    p.feito.completeExceptionally(erro);
+            }
+            lote.clear();
+        }
+    }
+
+    /**
+     * Acrescenta um lote de pontuações ao registo, forçando-o para o disco uma vez, e compacta-o se tiver crescido
+     * o suficiente: quando tem um quarto das pontuações da fotografia (e pelo menos MINIMO_COMPACTAR), o que
+     * mantém o custo amortizado constante e limita o que é lido ao abrir a tabela. Chamado com o trinco.
+     *
+     * @param lote As pontuações (tipo List<Pedido>).
+     * @throws IOException Se o registo não puder ser escrito.
+     */
+    private void escreverLote(List<Pedido> lote) throws IOException {
+        sincronizar();
+        int bytes = 0;
+        for (Pedido p : lote)
+            bytes += 6 + p.bytes.length;
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        for (Pedido p : lote)
+            buffer.putInt(p.score).putShort((short) p.bytes.length).put(p.bytes);
+        buffer.flip();
+        try (FileChannel canal = FileChannel.open(this.registo, StandardOpenOption.WRITE)) {
+            canal.position(this.posicaoRegisto);
+            while (buffer.hasRemaining())
+                canal.write(buffer);
+            canal.force(false);
+        }
+        this.posicaoRegisto += bytes;
+
+        Estado e = this.estado;
+        for (Pedido p : lote)
+            adicionarRegistada(e, new Entrada(p.score, p.nome, this.proximaSequencia++));
+        if (e.registadas.size() >= Math.max(MINIMO_COMPACTAR, e.tamanho / 4))
+            compactarTrancado();
+    }
+
+    /**
+     * Põe a tabela em memória de acordo com os ficheiros: mapeia a fotografia mais recente, se outro processo a
+     * tiver criado, e lê as pontuações do registo que ainda não foram lidas. Chamado com o trinco.
+     *
+     * @throws IOException Se os ficheiros não puderem ser lidos ou escritos.
+     */
+    private void sincronizar() throws IOException {
+        long ultima = procurarFotografia();
+        if (ultima != this.estado.geracao) {
+            // Outro processo compactou a tabela; as estatísticas são recalculadas na próxima consulta
+            this.estado = ultima > 0 ? mapearFotografia(ultima) : new Estado(null, 0, 0, -1);
+            this.posicaoRegisto = 0;
+            this.estatisticas = null;
+        }
+        if (!Files.exists(this.registo) || Files.size(this.registo) < TAMANHO_CABECALHO_REGISTO) {
+            novoRegisto();
+            return;
+        }
+
+        try (FileChannel canal = FileChannel.open(this.registo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(canal)));
+            if (in.readInt() != MAGIC_REGISTO)
+                throw new IOException("Registo de pontuações inválido: " + this.registo);
+            if (in.readLong() != this.estado.geracao) {
+                novoRegisto();
+                return;
+            }
+            long valido = Math.max(this.posicaoRegisto, TAMANHO_CABECALHO_REGISTO);
+            canal.position(valido);
+            in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(canal)));
+            while (true) {
+                int score, tamanho;
+                byte[] bytes;
+                try {
+                    score = in.readInt();
+                    tamanho = in.readUnsignedShort();
+                    bytes = in.readNBytes(tamanho);
+                } catch (EOFException e) {
+                    break;
+                }
+                if (bytes.length < tamanho)
+                    break;
+                adicionarRegistada(this.estado, new Entrada(score, new String(bytes, StandardCharsets.UTF_8),
+                        this.proximaSequencia++));
+                valido += 6 + tamanho;
+            }
+            // Com o trinco, um registo incompleto só pode ter sido deixado por uma falha
+            if (canal.size() > valido)
+                canal.truncate(valido);
+            this.posicaoRegisto = valido;
+        }
+    }
+
+    /**
+     * Acrescenta uma pontuação lida ou escrita no registo às pontuações em memória e às estatísticas, se já
+     * tiverem sido calculadas. Chamado com o trinco.
+     *
+     * @param estado O estado atual da tabela (tipo Estado).
+     * @param e      A pontuação (tipo Entrada).
+     */
+    private void adicionarRegistada(Estado estado, Entrada e) {
+        estado.registadas.add(e);
+        EstatisticasPontuacoes atuais = this.estatisticas;
+        if (atuais != null)
+            atuais.registar(e.score, e.nome);
+    }
+
+    /**
+     * Funde a fotografia e o registo numa fotografia nova com a geração seguinte e esvazia o registo. Depois dos nomes,
+     * a fotografia guarda as estatísticas de todas as pontuações e, nos últimos 8 bytes, a posição onde estas começam;
+     * se ainda não tiverem sido calculadas, são calculadas ao percorrer a tabela para a escrever, e ficam também em
+     * memória. A fotografia é escrita num ficheiro temporário, forçada para o disco e movida atomicamente; se houver
+     * uma falha antes de o registo ser esvaziado, a sua geração antiga indica que já foi compactado. A fotografia
+     * anterior é apagada se o sistema o permitir; caso contrário, é apagada quando a tabela voltar a ser aberta.
+     * Chamado com o trinco.
+     *
+     * @throws IOException Se os ficheiros não puderem ser escritos.
+     */
+    private void compactarTrancado() throws IOException {
+        Estado atual = this.estado;
+        EstatisticasPontuacoes totais = this.estatisticas;
+        EstatisticasPontuacoes calculadas = totais == null ? new EstatisticasPontuacoes() : null;
+        long nova = atual.geracao + 1;
+        Path destino = ficheiroFotografia(nova);
+        Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try (FileOutputStream fos = new FileOutputStream(temporario.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+            out.writeInt(MAGIC_FOTOGRAFIA);
+            out.writeLong(nova);
+            out.writeInt(atual.tamanho + atual.registadas.size());
+
+            // Primeiro os registos de largura fixa, depois os nomes pela mesma ordem
+            int posicao = 0;
+            for (Cursor cursor = new Cursor(atual); cursor.temProxima(); cursor.saltar()) {
+                byte[] nome = cursor.nomeBytes();
+                int tamanho = nome.length;
+                if (calculadas != null)
+                    calculadas.registar(cursor.score(), new String(nome, StandardCharsets.UTF_8));
+                out.writeInt(cursor.score());
+                out.writeInt(posicao);
+                out.writeShort(tamanho);
+                out.writeShort(0);
+                posicao += tamanho;
+            }
+            for (Cursor cursor = new Cursor(atual); cursor.temProxima(); cursor.saltar())
+                out.write(cursor.nomeBytes());
+            long inicioEstatisticas = out.size();
+            (totais != null ? totais : calculadas).escrever(out);
+            out.writeLong(inicioEstatisticas);
+            out.flush();
+            fos.getChannel().force(false);
+        }
+        Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+
+        this.estado = mapearFotografia(nova);
+        if (calculadas != null)
+            this.estatisticas = calculadas;
+        novoRegisto();
+        if (atual.geracao > 0)
+            apagar(ficheiroFotografia(atual.geracao));
+    }
+
+    /**
+     * Procura a fotografia de maior geração e apaga as restantes, incluindo fotografias temporárias deixadas por
+     * uma falha. Chamado com o trinco.
+     *
+     * @return A geração da fotografia mais recente, ou 0 se não houver nenhuma (tipo long).
+     * @throws IOException Se a diretoria não puder ser lida.
+     */
+    private long procurarFotografia() throws IOException {
+        String prefixo = this.base.getFileName() + ".";
+        List<Path> ficheiros = new ArrayList<>();
+        long ultima = 0;
+        try (DirectoryStream<Path> dir = Files.newDirectoryStream(this.base.getParent(), prefixo + "*.dat*")) {
+            for (Path p : dir) {
+                ficheiros.add(p);
+                String nome = p.getFileName().toString();
+                if (!nome.endsWith(".dat"))
+                    continue;
+                try {
+                    ultima = Math.max(ultima, Long.parseLong(nome.substring(prefixo.length(), nome.length() - 4)));
+                } catch (NumberFormatException e) {
+                    // Não é uma fotografia desta tabela
+                }
+            }
+        }
+        for (Path p : ficheiros)
+            if (ultima == 0 || !p.equals(ficheiroFotografia(ultima)))
+                apagar(p);
+        return ultima;
+    }
+
+    /**
+     * Mapeia em memória a fotografia de uma geração.
+     *
+     * @param geracao A geração da fotografia (tipo long).
+     * @return O estado da tabela com a fotografia e sem pontuações do registo (tipo Estado).
+     * @throws IOException Se a fotografia não puder ser lida ou for inválida.
+     */
+    private Estado mapearFotografia(long geracao) throws IOException {
+        Path ficheiro = ficheiroFotografia(geracao);
+        try (FileChannel canal = FileChannel.open(ficheiro, StandardOpenOption.READ)) {
+            if (canal.size() > Integer.MAX_VALUE)
+                throw new IOException("Fotografia de pontuações demasiado grande: " + ficheiro);
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            int magic = mapa.limit() < TAMANHO_CABECALHO_FOTOGRAFIA ? 0 : mapa.getInt(0);
+            if ((magic != MAGIC_FOTOGRAFIA && magic != MAGIC_FOTOGRAFIA_SEM_ESTATISTICAS) || mapa.getLong(4) != geracao)
+                throw new IOException("Fotografia de pontuações inválida: " + ficheiro);
+            int estatisticas = -1;
+            if (magic == MAGIC_FOTOGRAFIA) {
+                long inicio = mapa.limit() >= TAMANHO_CABECALHO_FOTOGRAFIA + 8 ? mapa.getLong(mapa.limit() - 8) : -1;
+                if (inicio < TAMANHO_CABECALHO_FOTOGRAFIA || inicio > mapa.limit() - 8)
+                    throw new IOException("Fotografia de pontuações inválida: " + ficheiro);
+                estatisticas = (int) inicio;
+            }
+            return new Estado(mapa, mapa.getInt(12), geracao, estatisticas);
+        }
+    }
+
+    /**
+     * Importa as pontuações do antigo ficheiro de texto, ignorando as linhas que não sejam "pontuação nome" e as
+     * de nomes com mais de 65535 bytes em UTF-8, que não cabem na fotografia. Chamado com o trinco.
+     *
+     * @param legado O antigo ficheiro de texto de pontuações (tipo Path).
+     * @throws IOException Se o ficheiro não puder ser lido.
+     */
+    private void importar(Path legado) throws IOException {
+        for (String linha : Files.readAllLines(legado, StandardCharsets.UTF_8)) {
+            linha = linha.trim();
+            int espaco = linha.indexOf(' ');
+            if (espaco < 0)
+                continue;
+            try {
+                int score = Integer.parseInt(linha.substring(0, espaco));
+                String nome = linha.substring(espaco + 1).trim();
+                // O tamanho do nome é guardado em 16 bits, como em submeter
+                if (nome.getBytes(StandardCharsets.UTF_8).length > 0xFFFF) {
+                    System.err.println("Linha de pontuação ignorada: " + linha.substring(0, espaco) + " " +
+                            nome.substring(0, 20) + "...");
+                    continue;
+                }
+                this.estado.registadas.add(new Entrada(score, nome, this.proximaSequencia++));
+            } catch (NumberFormatException e) {
+                System.err.println("Linha de pontuação ignorada: " + linha);
+            }
+        }
+    }
+
+    /**
+     * Recomeça o registo, vazio e com a geração da fotografia atual. Chamado com o trinco.
+     *
+     * @throws IOException Se o registo não puder ser escrito.
+     */
+    private void novoRegisto() throws IOException {
+        try (FileOutputStream fos = new FileOutputStream(this.registo.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+            out.writeInt(MAGIC_REGISTO);
+            out.writeLong(this.estado.geracao);
+            out.flush();
+            fos.getChannel().force(false);
+        }
+        this.posicaoRegisto = TAMANHO_CABECALHO_REGISTO;
+    }
+
+    /**
+     * Executa uma operação com o trinco da máquina virtual e o do sistema de ficheiros, que exclui as escritas
+     * de outros processos. O trinco do ficheiro é libertado explicitamente antes de o canal ser fechado.
+     *
+     * @param operacao A operação (tipo OperacaoTrancada).
+     * @throws IOException Se o trinco não puder ser obtido ou a operação falhar.
+     */
+    private void trancado(OperacaoTrancada operacao) throws IOException {
+        this.trincoLocal.lock();
+        try (FileChannel canal = FileChannel.open(this.trinco, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock trincoFicheiro = canal.lock();
+            try {
+                operacao.executar();
+            } finally {
+                trincoFicheiro.release();
+            }
+        } finally {
+            this.trincoLocal.unlock();
+        }
+    }
+
+    /**
+     * Retorna um ficheiro com o nome do caminho base seguido de um sufixo.
+     *
+     * @param sufixo O sufixo (tipo String).
+     * @return O ficheiro (tipo Path).
+     */
+    private Path irmao(String sufixo) {
+        return this.base.resolveSibling(this.base.getFileName() + sufixo);
+    }
+
+    /**
+     * Retorna o ficheiro da fotografia de uma geração.
+     *
+     * @param geracao A geração (tipo long).
+     * @return O ficheiro (tipo Path).
+     */
+    private Path ficheiroFotografia(long geracao) {
+        return irmao("." + geracao + ".dat");
+    }
+
+    /**
+     * Apaga um ficheiro, ignorando a falha se o sistema não o permitir (por exemplo, por ainda estar mapeado).
+     *
+     * @param ficheiro O ficheiro (tipo Path).
+     */
+    private static void apagar(Path ficheiro) {
+        try {
+            Files.deleteIfExists(ficheiro);
+        } catch (IOException e) {
+            System.err.println("Não foi possível apagar " + ficheiro + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Uma operação sobre os ficheiros que tem de ser feita com o trinco.
+     */
+    private interface OperacaoTrancada {
+        void executar() throws IOException;
+    }
+
+    /**
+     * Uma pontuação submetida à thread de escrita, com o futuro que é concluído quando estiver escrita.
+     */
+    private static final class Pedido {
+        private final int score;
+        private final String nome;
+        private final byte[] bytes;
+        private final CompletableFuture<Void> feito = new CompletableFuture<>();
+
+        private Pedido(int score, String nome, byte[] bytes) {
+            this.score = score;
+            this.nome = nome;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * O estado da tabela numa geração: a fotografia mapeada, a posição das estatísticas guardadas nela (-1 se não
+     * as tiver) e as pontuações do registo. Uma compactação cria um estado novo em vez de alterar o atual, pelo que
+     * uma consulta nunca vê uma pontuação em ambas as partes.
+     */
+    private static final class Estado {
+        private final MappedByteBuffer mapa;
+        private final int tamanho, estatisticas;
+        private final long geracao;
+        private final ConcurrentSkipListSet<Entrada> registadas = new ConcurrentSkipListSet<>(ORDEM);
+
+        private Estado(MappedByteBuffer mapa, int tamanho, long geracao, int estatisticas) {
+            this.mapa = mapa;
+            this.tamanho = tamanho;
+            this.geracao = geracao;
+            this.estatisticas = estatisticas;
+        }
+    }
+
+    /**
+     * Percorre a tabela ordenada de um estado, fundindo a fotografia mapeada com as pontuações do registo. Numa
+     * pontuação igual, a da fotografia vem primeiro, pois foi registada antes.
+     */
+    private static final class Cursor {
+        private final MappedByteBuffer mapa;
+        private final int tamanho, nomes;
+        private final Iterator<Entrada> iterador;
+        private final int restantes;
+        private int i;
+        private Entrada registada;
+
+        Cursor(Estado estado) {
+            this.mapa = estado.mapa;
+            this.tamanho = estado.tamanho;
+            this.nomes = TAMANHO_CABECALHO_FOTOGRAFIA + TAMANHO_ENTRADA * estado.tamanho;
+            this.restantes = estado.tamanho + estado.registadas.size();
+            this.iterador = estado.registadas.iterator();
+            avancarRegisto();
+        }
+
+        /**
+         * Cria um cursor já colocado numa posição da tabela. As pontuações do registo que ficam antes da posição são
+         * percorridas, e a posição de cada uma é a sua ordem no registo mais o número de pontuações da fotografia
+         * que a precedem, obtido por pesquisa binária; as restantes pontuações antes da posição são da fotografia.
+         *
+         * @param estado O estado da tabela (tipo Estado).
+         * @param inicio A posição, a contar de 0 (tipo int).
+         */
+        Cursor(Estado estado, int inicio) {
+            this(estado);
+            int antes = 0;
+            while (this.registada != null && precedentes(this.registada.score) + antes < inicio) {
+                avancarRegisto();
+                antes++;
+            }
+            this.i = Math.min(this.tamanho, inicio - antes);
+        }
+
+        /**
+         * Conta as pontuações da fotografia que precedem uma pontuação do registo, isto é, as maiores ou iguais,
+         * por pesquisa binária nos registos de largura fixa.
+         *
+         * @param score A pontuação do registo (tipo int).
+         * @return O número de pontuações da fotografia (tipo int).
+         */
+        private int precedentes(int score) {
+            int baixo = 0, alto = this.tamanho;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (this.mapa.getInt(posicao(meio)) >= score)
+                    baixo = meio + 1;
+                else
+                    alto = meio;
+            }
+            return baixo;
+        }
+
+        /**
+         * Retorna o número aproximado de pontuações a percorrer, pois o registo pode crescer entretanto.
+         *
+         * @return O número de pontuações (tipo int).
+         */
+        int restantes() {
+            return this.restantes;
+        }
+
+        /**
+         * Verifica se ainda há pontuações por percorrer.
+         *
+         * @return Verdadeiro se há; falso caso contrário (tipo booleano).
+         */
+        boolean temProxima() {
+            return this.i < this.tamanho || this.registada != null;
+        }
+
+        /**
+         * Retorna a pontuação seguinte, sem avançar.
+         *
+         * @return A pontuação (tipo int).
+         */
+        int score() {
+            return daFotografia() ? this.mapa.getInt(posicao(this.i)) : this.registada.score;
+        }
+
+        /**
+         * Retorna o nome da pontuação seguinte em UTF-8, sem avançar.
+         *
+         * @return Os bytes do nome (tipo byte[]).
+         */
+        byte[] nomeBytes() {
+            if (!daFotografia())
+                return this.registada.nome.getBytes(StandardCharsets.UTF_8);
+            int p = posicao(this.i);
+            byte[] bytes = new byte[this.mapa.getShort(p + 8) & 0xFFFF];
+            this.mapa.get(this.nomes + this.mapa.getInt(p + 4), bytes);
+            return bytes;
+        }
+
+        /**
+         * Retorna a pontuação seguinte e avança.
+         *
+         * @return A pontuação (tipo Entrada).
+         */
+        Entrada proxima() {
+            Entrada e = daFotografia() ? new Entrada(score(), new String(nomeBytes(), StandardCharsets.UTF_8), -1)
+                    : this.registada;
+            saltar();
+            return e;
+        }
+
+        /**
+         * Avança para a pontuação seguinte sem a ler.
+         */
+        void saltar() {
+            if (daFotografia())
+                this.i++;
+            else
+                avancarRegisto();
+        }
+
+        private boolean daFotografia() {
+            return this.i < this.tamanho
+                    && (this.registada == null || this.mapa.getInt(posicao(this.i)) >= this.registada.score);
+        }
+
+        private void avancarRegisto() {
+            this.registada = this.iterador.hasNext() ? this.iterador.next() : null;
+        }
+
+        private static int posicao(int i) {
+            return TAMANHO_CABECALHO_FOTOGRAFIA + TAMANHO_ENTRADA * i;
+        }
+    }
+
+    /**
+     * Uma pontuação da tabela de recordes. A sequência desempata pontuações iguais do registo pela ordem de
+     * chegada.
+     */
+    public static final class Entrada {
+        private final int score;
+        private final String nome;
+        private final long sequencia;
+
+        private Entrada(int score, String nome, long sequencia) {
+            this.score = score;
+            this.nome = nome;
+            this.sequencia = sequencia;
+        }
+
+        /**
+         * Retorna a pontuação.
+         *
+         * @return A pontuação (tipo int).
+         */
+        public int getScore() {
+            return this.score;
+        }
+
+        /**
+         * Retorna o nome do jogador.
+         *
+         * @return O nome (tipo String).
+         */
+        public String getNome() {
+            return this.nome;
+        }
+
+        /**
+         * Retorna a pontuação no formato do antigo ficheiro de texto, "pontuação nome".
+         *
+         * @return A pontuação e o nome (tipo String).
+         */
+        @Override
+        public String toString() {
+            return this.score + " " + this.nome;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/**
+ * A classe RenderizadorConsola desenha a arena no terminal usando sequências de escape ANSI. Na primeira jogada
+ * (ou quando as dimensões da arena ou do terminal mudam) a arena é desenhada por completo; nas jogadas seguintes
+ * só são escritas as posições que mudaram, posicionando o cursor diretamente sobre cada uma. Os bytes de cada jogada
+ * são acumulados num buffer reutilizado e enviados ao terminal numa única escrita.
+ * Quando a janela do terminal é redimensionada, o terminal volta a partir as linhas e o ecrã deixa de corresponder ao
+ * que foi enviado, pelo que o tamanho do terminal é consultado (com stty size, onde existir). Como cada consulta
+ * lança um processo, o tamanho fica guardado e só volta a ser consultado quando passa o intervalo indicado desde a
+ * consulta anterior, e não em cada jogada.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ * @inv O conteúdo guardado do ecrã corresponde sempre ao que foi enviado para o terminal.
+ */
+
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class RenderizadorConsola {
+    private static final byte ESC = 27;
+    // Tempo mínimo entre consultas do tamanho do terminal, em nanossegundos
+    static final long INTERVALO_TAMANHO = 500_000_000L;
+    private static volatile boolean semStty;
+
+    private final WritableByteChannel canal;
+    private final Supplier<String> tamanhoTerminal;
+    private final long intervalo;
+    private String tamanho;
+    private long consultado;
+    private final BufferPontos alteradas = new BufferPontos();
+    private byte[] bytes = new byte[8192];
+    private ByteBuffer buffer = ByteBuffer.wrap(this.bytes);
+    private int pos;
+    private char[] ecra;
+    private int width, height;
+    private int cursorX = -1, cursorY = -1;
+
+    /**
+     * Construtor para a classe RenderizadorConsola. Escreve diretamente na saída padrão do processo.
+     */
+    public RenderizadorConsola() {
+        this(Channels.newChannel(new FileOutputStream(FileDescriptor.out)), RenderizadorConsola::tamanhoStty);
+    }
+
+    /**
+     * Construtor para a classe RenderizadorConsola. Escreve no canal fornecido, sem detetar mudanças de tamanho
+     * do terminal.
+     *
+     * @param canal O canal (tipo WritableByteChannel) para onde os bytes de cada jogada são enviados.
+     */
+    public RenderizadorConsola(WritableByteChannel canal) {
+        this(canal, () -> null);
+    }
+
+    /**
+     * Construtor para a classe RenderizadorConsola. Escreve no canal fornecido e consulta o tamanho do terminal no
+     * máximo uma vez a cada INTERVALO_TAMANHO; sempre que este muda, a arena é desenhada por completo.
+     *
+     * @param canal           O canal (tipo WritableByteChannel) para onde os bytes de cada jogada são enviados.
+     * @param tamanhoTerminal Devolve o tamanho atual do terminal, ou null se for desconhecido (tipo Supplier<String>).
+     */
+    public RenderizadorConsola(WritableByteChannel canal, Supplier<String> tamanhoTerminal) {
+        this(canal, tamanhoTerminal, INTERVALO_TAMANHO);
+    }
+
+    /**
+     * Construtor para a classe RenderizadorConsola. Escreve no canal fornecido e consulta o tamanho do terminal na
+     * primeira jogada e depois só quando tiver passado o intervalo indicado desde a consulta anterior.
+     *
+     * @param canal           O canal (tipo WritableByteChannel) para onde os bytes de cada jogada são enviados.
+     * @param tamanhoTerminal Devolve o tamanho atual do terminal, ou null se for desconhecido (tipo Supplier<String>).
+     * @param intervalo       O tempo mínimo entre consultas do tamanho, em nanossegundos (tipo long).
+     * @throws IllegalArgumentException Se o intervalo for negativo.
+     */
+    public RenderizadorConsola(WritableByteChannel canal, Supplier<String> tamanhoTerminal, long intervalo) {
+        if (intervalo < 0)
+            throw new IllegalArgumentException("Intervalo inválido");
+        this.canal = canal;
+        this.tamanhoTerminal = tamanhoTerminal;
+        this.intervalo = intervalo;
+    }
+
+    /**
+     * Consulta o tamanho do terminal com stty size, que escreve as linhas e as colunas. Se o comando não existir ou
+     * a entrada não for um terminal, a consulta deixa de ser feita e o tamanho fica desconhecido.
+     *
+     * @return O tamanho do terminal, no formato "linhas colunas", ou null se for desconhecido (tipo String).
+     */
+    private static String tamanhoStty() {
+        File tty = new File("/dev/tty");
+        if (semStty || !tty.exists())
+            return null;
+        try {
+            Process stty = new ProcessBuilder("stty", "size").redirectInput(tty)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD).start();
+            String tamanho = new String(stty.getInputStream().readAllBytes()).trim();
+            if (stty.waitFor(1, TimeUnit.SECONDS) && stty.exitValue() == 0 && !tamanho.isEmpty())
+                return tamanho;
+            stty.destroy();
+        } catch (IOException e) {
+            // Sem stty não há forma portátil de saber o tamanho
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        semStty = true;
+        return null;
+    }
+
+    /**
+     * Desenha a arena no terminal. No fim, o cursor fica na linha a seguir à arena, com o resto do ecrã limpo,
+     * para que as mensagens do jogo sejam escritas por baixo.
+     *
+     * @param arena A arena a desenhar (tipo Arena).
+     */
+    public void render(Arena arena) {
+        this.alteradas.clear();
+        arena.drainChangedCells(this.alteradas);
+        this.pos = 0;
+        // Entre jogadas o cursor foi movido pelas mensagens do jogo, por isso a sua posição é desconhecida
+        this.cursorX = -1;
+        this.cursorY = -1;
+
+        boolean redimensionado = false;
+        long agora = System.nanoTime();
+        if (this.ecra == null || agora - this.consultado >= this.intervalo) {
+            String tamanho = this.tamanhoTerminal.get();
+            redimensionado = !Objects.equals(tamanho, this.tamanho);
+            this.tamanho = tamanho;
+            this.consultado = agora;
+        }
+        if (this.ecra == null || redimensionado || arena.getWidth() != this.width || arena.getHeight() != this.height)
+            fullRedraw(arena);
+        else
+            for (int i = 0; i < this.alteradas.size(); i++) {
+                int x = this.alteradas.getX(i);
+                int y = this.alteradas.getY(i);
+                char c = arena.getCell(x, y);
+                if (this.ecra[y * this.width + x] != c)
+                    writeCell(x, y, c);
+            }
+
+        moveCursor(0, this.height);
+        writeEscape('J');
+        flush();
+    }
+
+    /**
+     * Limpa o ecrã e escreve a arena completa, no mesmo formato de Arena.printBoard.
+     *
+     * @param arena A arena a desenhar (tipo Arena).
+     */
+    private void fullRedraw(Arena arena) {
+        this.width = arena.getWidth();
+        this.height = arena.getHeight();
+        this.ecra = new char[this.width * this.height];
+
+        writeByte(ESC);
+        writeByte('[');
+        writeByte('2');
+        writeByte('J');
+        for (int y = 0; y < this.height; y++)
+            for (int x = 0; x < this.width; x++)
+                writeCell(x, y, arena.getCell(x, y));
+    }
+
+    /**
+     * Escreve o caractere de uma posição, seguido do espaço separador, movendo o cursor só se este não estiver
+     * já nessa posição.
+     *
+     * @param x Coordenada x da posição na arena (tipo int).
+     * @param y Coordenada y da posição na arena (tipo int).
+     * @param c O caractere a escrever (tipo char).
+     */
+    private void writeCell(int x, int y, char c) {
+        if (x != this.cursorX || y != this.cursorY)
+            moveCursor(x, y);
+        writeByte(c);
+        writeByte(' ');
+        this.ecra[y * this.width + x] = c;
+        this.cursorX = x + 1;
+    }
+
+    /**
+     * Move o cursor do terminal para a posição da arena indicada (cada posição ocupa duas colunas).
+     *
+     * @param x Coordenada x da posição na arena (tipo int).
+     * @param y Coordenada y da posição na arena (tipo int).
+     */
+    private void moveCursor(int x, int y) {
+        writeByte(ESC);
+        writeByte('[');
+        writeInt(y + 1);
+        writeByte(';');
+        writeInt(2 * x + 1);
+        writeByte('H');
+        this.cursorX = x;
+        this.cursorY = y;
+    }
+
+    /**
+     * Escreve uma sequência de escape ANSI sem parâmetros.
+     *
+     * @param comando A letra do comando (tipo char).
+     */
+    private void writeEscape(char comando) {
+        writeByte(ESC);
+        writeByte('[');
+        writeByte(comando);
+    }
+
+    /**
+     * Escreve um inteiro não negativo em decimal, sem criar Strings.
+     *
+     * @param n O inteiro a escrever (tipo int).
+     */
+    private void writeInt(int n) {
+        int divisor = 1;
+        while (divisor <= n / 10)
+            divisor *= 10;
+        for (; divisor > 0; divisor /= 10)
+            writeByte('0' + (n / divisor) % 10);
+    }
+
+    /**
+     * Acrescenta um byte ao buffer, aumentando-o se necessário.
+     *
+     * @param b O byte a escrever (tipo int).
+     */
+    private void writeByte(int b) {
+        if (this.pos == this.bytes.length) {
+            this.bytes = Arrays.copyOf(this.bytes, this.bytes.length * 2);
+            this.buffer = ByteBuffer.wrap(this.bytes);
+        }
+        this.bytes[this.pos++] = (byte) b;
+    }
+
+    /**
+     * Envia o buffer para o terminal numa única escrita. O que já estiver pendente em System.out é enviado
+     * antes, para que a ordem das mensagens se mantenha.
+     */
+    private void flush() {
+        System.out.flush();
+        this.buffer.clear().limit(this.pos);
+        try {
+            while (this.buffer.hasRemaining())
+                this.canal.write(this.buffer);
+        } catch (IOException e) {
+            System.err.println("Erro ao escrever no terminal: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,303 @@
+/**
+ * A classe RenderizadorGrafico desenha o jogo num componente Swing por camadas, cada uma guardada numa imagem
+ * compatível com o ecrã. Os obstáculos que não rodam nunca mudam, por isso são desenhados uma vez e só voltam a ser
+ * desenhados quando o obstáculo da colisão passa a ser assinalado; os que rodam mudam de posição em todas as jogadas e
+ * são desenhados diretamente, a partir das formas de cada posição, calculadas uma só vez. A cobra é atualizada de forma
+ * incremental, mesmo que tenha dado vários passos desde a última pintura: o renderizador guarda num buffer circular
+ * os segmentos que desenhou, desenha as novas cabeças e apaga só as células que a cauda deixou, pelo que o custo de
+ * cada imagem depende dos passos dados e não do comprimento da cobra. Em cada pintura as camadas são copiadas pela
+ * ordem cobra, comida e obstáculos.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ * @inv A camada da cobra contém sempre a cobra da última fotografia desenhada.
+ */
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+public class RenderizadorGrafico {
+    private FotografiaJogo jogo;
+    private BufferedImage camadaCobra, camadaObstaculos;
+    private Polygon[][] formas;
+    private boolean obstaculosFixos;
+    private int colisao;
+    // Segmentos desenhados na camada da cobra, num buffer circular com a cabeça em inicio
+    private int[] desenhadosX = new int[16], desenhadosY = new int[16];
+    private int inicio, desenhados;
+    private long movimentos;
+    private int redesenhosCobra, redesenhosObstaculos;
+
+    /**
+     * Desenha uma fotografia do jogo. As camadas são criadas de novo sempre que a fotografia é de outro jogo.
+     *
+     * @param g    O objeto Graphics usado para desenhar (tipo Graphics).
+     * @param jogo A fotografia do jogo a desenhar (tipo FotografiaJogo).
+     */
+    public void render(Graphics g, FotografiaJogo jogo) {
+        if (this.jogo == null || jogo.getJogo() != this.jogo.getJogo()) {
+            GraphicsConfiguration configuracao = ((Graphics2D) g).getDeviceConfiguration();
+            // A camada da cobra é a de baixo e tem o fundo preto da arena, pelo que pode ser opaca e copiada sem
+            // mistura de cores
+            this.camadaCobra = configuracao.createCompatibleImage(jogo.getWidth() + 1, jogo.getHeight() + 1,
+                    Transparency.OPAQUE);
+            this.camadaObstaculos = configuracao.createCompatibleImage(jogo.getWidth() + 1, jogo.getHeight() + 1,
+                    Transparency.TRANSLUCENT);
+            this.formas = null;
+            this.desenhados = 0;
+        }
+        this.jogo = jogo;
+        updateSnake();
+        updateObstacles();
+
+        g.drawImage(this.camadaCobra, 0, 0, null);
+        g.setColor(Color.WHITE);
+        g.drawRect(0, 0, jogo.getWidth(), jogo.getHeight());
+        drawFood(g);
+        if (this.obstaculosFixos)
+            g.drawImage(this.camadaObstaculos, 0, 0, null);
+        for (int i = 0; i < jogo.getNumeroObstaculos(); i++)
+            if (jogo.isRotating(i))
+                drawObstacle(g, i);
+    }
+
+    /**
+     * Atualiza a camada da cobra. Se a cobra deu k passos desde a última pintura e o segmento k está onde estava a
+     * cabeça, o resto do corpo é o corpo desenhado sem os segmentos finais que a cauda largou (e com a cauda repetida
+     * se a cobra cresceu): retiram-se esses segmentos do buffer, apagando as células que deixaram de ser da cobra, e
+     * desenham-se as k novas cabeças. Se deu pelo menos tantos passos como o seu comprimento, apagam-se todos os
+     * segmentos desenhados e desenham-se os atuais. Caso contrário, a camada é limpa e a cobra redesenhada toda.
+     */
+    private void updateSnake() {
+        int n = this.jogo.getLength(), edge = this.jogo.getEdge();
+        long passos = this.jogo.getMovimentos() - this.movimentos;
+        if (passos == 0 && n == this.desenhados)
+            return; // A cobra não se mexeu
+
+        Graphics2D g = this.camadaCobra.createGraphics();
+        int k = (int) Math.min(passos, n);
+        // Com pelo menos tantos passos como o comprimento, a cobra é toda nova e o corpo desenhado é todo apagado
+        boolean avancou = this.desenhados > 0 && passos > 0 && (k == n
+                || (this.jogo.getSegmentX(k) == this.desenhadosX[this.inicio]
+                && this.jogo.getSegmentY(k) == this.desenhadosY[this.inicio]));
+        if (avancou) {
+            // Ao crescer, a cobra repete a cauda em vez de a largar, por isso só ficam livres as células dos segmentos
+            // largados que não são a nova cauda
+            int caudaX = this.jogo.getSegmentX(n - 1), caudaY = this.jogo.getSegmentY(n - 1);
+            g.setColor(Color.BLACK);
+            while (this.desenhados > 0 && (this.desenhados > n - k || ultimoX() != caudaX || ultimoY() != caudaY)) {
+                if (ultimoX() != caudaX || ultimoY() != caudaY)
+                    g.fillRect(ultimoX(), ultimoY(), edge + 1, edge + 1);
+                this.desenhados--;
+            }
+            avancou = this.desenhados > 0 || k == n;
+            while (avancou && this.desenhados < n - k)
+                acrescentar(caudaX, caudaY, false);
+        }
+        if (avancou) {
+            g.setColor(Color.GREEN);
+            for (int i = k - 1; i >= 0; i--) {
+                drawSegment(g, this.jogo.getSegmentX(i), this.jogo.getSegmentY(i), edge);
+                acrescentar(this.jogo.getSegmentX(i), this.jogo.getSegmentY(i), true);
+            }
+        } else {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, this.camadaCobra.getWidth(), this.camadaCobra.getHeight());
+            g.setColor(Color.GREEN);
+            this.desenhados = 0;
+            for (int i = n - 1; i >= 0; i--) {
+                drawSegment(g, this.jogo.getSegmentX(i), this.jogo.getSegmentY(i), edge);
+                acrescentar(this.jogo.getSegmentX(i), this.jogo.getSegmentY(i), true);
+            }
+            this.redesenhosCobra++;
+        }
+        g.dispose();
+        this.movimentos = this.jogo.getMovimentos();
+    }
+
+    /**
+     * Acrescenta um segmento desenhado ao buffer circular, como nova cabeça ou como nova cauda, aumentando o buffer
+     * se estiver cheio.
+     *
+     * @param x       Coordenada x do canto superior esquerdo do segmento (tipo int).
+     * @param y       Coordenada y do canto superior esquerdo do segmento (tipo int).
+     * @param cabeca  Verdadeiro para acrescentar à frente, como cabeça; falso para acrescentar atrás (tipo booleano).
+     */
+    private void acrescentar(int x, int y, boolean cabeca) {
+        int capacidade = this.desenhadosX.length;
+        if (this.desenhados == capacidade) {
+            int[] novosX = new int[2 * capacidade], novosY = new int[2 * capacidade];
+            for (int i = 0; i < this.desenhados; i++) {
+                novosX[i] = this.desenhadosX[(this.inicio + i) % capacidade];
+                novosY[i] = this.desenhadosY[(this.inicio + i) % capacidade];
+            }
+            this.desenhadosX = novosX;
+            this.desenhadosY = novosY;
+            this.inicio = 0;
+            capacidade *= 2;
+        }
+        int posicao;
+        if (cabeca)
+            posicao = this.inicio = (this.inicio + capacidade - 1) % capacidade;
+        else
+            posicao = (this.inicio + this.desenhados) % capacidade;
+        this.desenhadosX[posicao] = x;
+        this.desenhadosY[posicao] = y;
+        this.desenhados++;
+    }
+
+    /**
+     * Retorna a coordenada x do último segmento desenhado, a cauda.
+     *
+     * @return A coordenada x (tipo int).
+     */
+    private int ultimoX() {
+        return this.desenhadosX[(this.inicio + this.desenhados - 1) % this.desenhadosX.length];
+    }
+
+    /**
+     * Retorna a coordenada y do último segmento desenhado, a cauda.
+     *
+     * @return A coordenada y (tipo int).
+     */
+    private int ultimoY() {
+        return this.desenhadosY[(this.inicio + this.desenhados - 1) % this.desenhadosY.length];
+    }
+
+    /**
+     * Desenha um segmento da cobra, preenchido ou só o contorno, consoante o modo do jogo.
+     *
+     * @param g    O objeto Graphics usado para desenhar (tipo Graphics2D).
+     * @param x    Coordenada x do canto superior esquerdo do segmento (tipo int).
+     * @param y    Coordenada y do canto superior esquerdo do segmento (tipo int).
+     * @param edge O tamanho da aresta do segmento (tipo int).
+     */
+    private void drawSegment(Graphics2D g, int x, int y, int edge) {
+        if (this.jogo.isComplete())
+            g.fillRect(x, y, edge, edge);
+        else
+            g.drawRect(x, y, edge, edge);
+    }
+
+    /**
+     * Torna transparente uma região de uma camada translúcida.
+     *
+     * @param g      O objeto Graphics da camada (tipo Graphics2D).
+     * @param x      Coordenada x da região (tipo int).
+     * @param y      Coordenada y da região (tipo int).
+     * @param width  A largura da região (tipo int).
+     * @param height A altura da região (tipo int).
+     */
+    private static void clear(Graphics2D g, int x, int y, int width, int height) {
+        Composite anterior = g.getComposite();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(x, y, width, height);
+        g.setComposite(anterior);
+    }
+
+    /**
+     * Atualiza a camada dos obstáculos que não rodam, redesenhando-a só no início do jogo ou se o obstáculo da
+     * colisão mudou.
+     */
+    private void updateObstacles() {
+        int colisaoAtual = this.jogo.getColisao();
+        if (this.formas != null && colisaoAtual == this.colisao)
+            return;
+        if (this.formas == null)
+            this.formas = new Polygon[this.jogo.getNumeroObstaculos()][];
+
+        Graphics2D g = this.camadaObstaculos.createGraphics();
+        clear(g, 0, 0, this.camadaObstaculos.getWidth(), this.camadaObstaculos.getHeight());
+        this.colisao = colisaoAtual;
+        this.obstaculosFixos = false;
+        for (int i = 0; i < this.jogo.getNumeroObstaculos(); i++)
+            if (!this.jogo.isRotating(i)) {
+                drawObstacle(g, i);
+                this.obstaculosFixos = true;
+            }
+        g.dispose();
+        this.redesenhosObstaculos++;
+    }
+
+    /**
+     * Desenha um obstáculo na sua posição atual, preenchido ou só o contorno, consoante o modo do jogo.
+     *
+     * @param g O objeto Graphics usado para desenhar (tipo Graphics).
+     * @param i O índice do obstáculo (tipo int).
+     */
+    private void drawObstacle(Graphics g, int i) {
+        Poligono poligono = this.jogo.getObstaculo(i);
+        if (poligono == null)
+            return;
+        // Um obstáculo tem no máximo 4 posições, pois roda em múltiplos de 90 graus
+        if (this.formas[i] == null)
+            this.formas[i] = new Polygon[4];
+        int pose = this.jogo.getPose(i);
+        Polygon forma = this.formas[i][pose];
+        if (forma == null)
+            forma = this.formas[i][pose] = toPolygon(poligono);
+
+        g.setColor(i == this.colisao ? Color.YELLOW : Color.RED);
+        if (this.jogo.isComplete())
+            g.fillPolygon(forma);
+        else
+            g.drawPolygon(forma);
+    }
+
+    /**
+     * Converte um polígono no polígono equivalente do AWT, com os vértices arredondados como na rasterização.
+     *
+     * @param poligono O polígono a converter (tipo Poligono).
+     * @return O polígono do AWT (tipo Polygon).
+     */
+    private static Polygon toPolygon(Poligono poligono) {
+        Ponto[] vertices = poligono.getVertices();
+        Polygon forma = new Polygon();
+        for (Ponto v : vertices)
+            forma.addPoint((int) Math.round(v.getX()), (int) Math.round(v.getY()));
+        return forma;
+    }
+
+    /**
+     * Desenha a comida diretamente, pois muda sempre que é comida e é uma única forma.
+     *
+     * @param g O objeto Graphics usado para desenhar (tipo Graphics).
+     */
+    private void drawFood(Graphics g) {
+        int size = this.jogo.getComidaSize();
+        boolean complete = this.jogo.isComplete();
+        g.setColor(Color.PINK);
+        if (this.jogo.getComida() instanceof Quadrado quadrado) {
+            int x = (int) quadrado.getTopLeft().getX(), y = (int) quadrado.getTopLeft().getY();
+            if (complete)
+                g.fillRect(x, y, size, size);
+            else
+                g.drawRect(x, y, size, size);
+        } else if (this.jogo.getComida() instanceof Circunferencia circunferencia) {
+            int x = (int) (circunferencia.getCenter().getX() - circunferencia.getRadius());
+            int y = (int) (circunferencia.getCenter().getY() - circunferencia.getRadius());
+            if (complete)
+                g.fillOval(x, y, size, size);
+            else
+                g.drawOval(x, y, size, size);
+        }
+    }
+
+    /**
+     * Retorna o número de vezes que a camada da cobra foi redesenhada por completo.
+     *
+     * @return O número de redesenhos (tipo int).
+     */
+    int getRedesenhosCobra() {
+        return this.redesenhosCobra;
+    }
+
+    /**
+     * Retorna o número de vezes que a camada dos obstáculos que não rodam foi redesenhada.
+     *
+     * @return O número de redesenhos (tipo int).
+     */
+    int getRedesenhosObstaculos() {
+        return this.redesenhosObstaculos;
+    }
+}
@@ -9,9 +9,6 @@
  * @inv Todos os ângulos devem ser retos.
  */
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class Retangulo extends Poligono {
 
     /**
@@ -22,8 +19,20 @@ public class Retangulo extends Poligono {
      * @param pontos Array de pontos (tipo Ponto) que formam o retângulo.
      */
     public Retangulo(Ponto[] pontos) {
-        super(pontos);
-        isRectangle();
+        this(pontos, true);
+    }
+
+    /**
+     * Construtor para a classe Retangulo usado internamente para retângulos obtidos de um retângulo já válido por uma
+     * transformação rígida (translação), em que a validação pode ser dispensada.
+     *
+     * @param pontos  Array de pontos (tipo Ponto) que formam o retângulo.
+     * @param validar Verdadeiro se os pontos devem ser validados (tipo booleano).
+     */
+    Retangulo(Ponto[] pontos, boolean validar) {
+        super(pontos, validar);
+        if (validar)
+            isRectangle();
     }
 
     /**
@@ -130,7 +139,7 @@ public class Retangulo extends Poligono {
         for (int i = 0; i < this.getVertices().length; i++)
             p[i] = getVertices()[i].translate(x, y);
 
-        return new Retangulo(p);
+        return new Retangulo(p, false);
     }
 
     /**
@@ -154,29 +163,42 @@ public class Retangulo extends Poligono {
      * @return Um array de pontos (tipo Ponto[]) representando os vértices do retângulo em coordenadas inteiras.
      */
     public Ponto[] getAllIntVertices() {
-        List<Ponto> pontosInteiros = new ArrayList<>();
-
-        int minX = Integer.MAX_VALUE;
-        int maxX = Integer.MIN_VALUE;
-        int minY = Integer.MAX_VALUE;
-        int maxY = Integer.MIN_VALUE;
-
-        for (Ponto p : this.getVertices()) {
-            if (p.getX() < minX)
-                minX = (int) p.getX();
-            if (p.getX() > maxX)
-                maxX = (int) p.getX();
-            if (p.getY() < minY)
-                minY = (int) p.getY();
-            if (p.getY() > maxY)
-                maxY = (int) p.getY();
-        }
+        BufferPontos pontosInteiros = new BufferPontos();
+        addAllIntVertices(pontosInteiros);
+        return pontosInteiros.toPontos();
+    }
+
+    /**
+     * Acrescenta ao buffer fornecido todos os pontos inteiros do retângulo, linha a linha, sem criar objetos Ponto.
+     *
+     * @param pontos O buffer (tipo BufferPontos) onde os pontos são acrescentados.
+     */
+    public void addAllIntVertices(BufferPontos pontos) {
+        int minX = (int) getMinX();
+        int maxX = (int) getMaxX();
+        int minY = (int) getMinY();
+        int maxY = (int) getMaxY();
 
         for (int y = minY; y <= maxY; y++)
             for (int x = minX; x <= maxX; x++)
-                pontosInteiros.add(new Ponto(x, y));
+                pontos.add(x, y);
+    }
+
+    /**
+     * Acrescenta ao buffer fornecido os segmentos que preenchem o retângulo: um por linha, entre as coordenadas x
+     * mínima e máxima dos vértices, tal como em addAllIntVertices.
+     *
+     * @param segmentos O buffer (tipo BufferSegmentos) onde os segmentos são acrescentados.
+     */
+    @Override
+    public void addSpans(BufferSegmentos segmentos) {
+        int minX = (int) getMinX();
+        int maxX = (int) getMaxX();
+        int minY = (int) getMinY();
+        int maxY = (int) getMaxY();
 
-        return pontosInteiros.toArray(new Ponto[0]);  // Converte a lista para um array e retorna
+        for (int y = minY; y <= maxY; y++)
+            segmentos.add(y, minX, maxX);
     }
 
     /**
@@ -186,8 +208,17 @@ public class Retangulo extends Poligono {
      * @return Um array de pontos (tipo Ponto[]) representando os vértices inteiros ao longo das bordas do retângulo.
      */
     public Ponto[] getBoundaryIntVertices() {
-        List<Ponto> boundaryPoints = new ArrayList<>();
+        BufferPontos boundaryPoints = new BufferPontos();
+        addBoundaryIntVertices(boundaryPoints);
+        return boundaryPoints.toPontos();
+    }
 
+    /**
+     * Acrescenta ao buffer fornecido os pontos inteiros ao longo das bordas do retângulo, sem criar objetos Ponto.
+     *
+     * @param pontos O buffer (tipo BufferPontos) onde os pontos são acrescentados.
+     */
+    public void addBoundaryIntVertices(BufferPontos pontos) {
         Ponto[] vertices = this.getVertices();
 
         for (int i = 0; i < vertices.length; i++) {
@@ -201,12 +232,10 @@ public class Retangulo extends Poligono {
 
             if (startX == endX) // Vertical edge
                 for (int y = Math.min(startY, endY); y <= Math.max(startY, endY); y++)
-                    boundaryPoints.add(new Ponto(startX, y));
+                    pontos.add(startX, y);
             else// Horizontal edge
                 for (int x = Math.min(startX, endX); x <= Math.max(startX, endX); x++)
-                    boundaryPoints.add(new Ponto(x, startY));
+                    pontos.add(x, startY);
         }
-
-        return boundaryPoints.toArray(new Ponto[0]);  // Convertendo a lista para um array e retornando
     }
 }
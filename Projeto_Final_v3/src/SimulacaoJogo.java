@@ -0,0 +1,262 @@
+/**
+ * A classe SimulacaoJogo faz as jogadas de um jogo numa thread própria, a um ritmo fixo, para que a thread da
+ * interface gráfica só trate do teclado e da pintura. Cada jogada tem uma hora marcada, múltipla do período; se a
+ * thread acordar atrasada (por exemplo, depois de uma pausa do coletor de lixo), faz de seguida as jogadas em
+ * atraso, até um máximo, para que o jogo não perca tempo. O atraso do início de cada jogada em relação à hora
+ * marcada (jitter) é medido e publicado com o estado do jogo.
+ * Depois de cada ronda de jogadas, o estado é copiado para uma de duas fotografias, criadas no início e usadas à vez,
+ * e publicado num campo volátil. Quem lê uma fotografia de outra thread adquire-a e liberta-a no fim; a simulação
+ * só atualiza a fotografia não publicada se ninguém a estiver a ler e, caso contrário, tenta de novo um período
+ * depois, pelo que a interface lê sempre uma fotografia completa sem que seja preciso criar uma por jogada.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ * @inv O motor do jogo só é usado pela thread da simulação depois de esta começar.
+ */
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+public class SimulacaoJogo {
+    // Número máximo de jogadas feitas de seguida para recuperar um atraso; o resto do atraso é esquecido
+    static final int MAXIMO_RECUPERADAS = 5;
+
+    private final MotorJogo motor;
+    private final JogadorIA ia;
+    private final long periodo;
+    private final Runnable aoPublicar;
+    private final AtomicReference<Direcao> direcao = new AtomicReference<>();
+    private final FotografiaJogo[] fotografias = new FotografiaJogo[2];
+    private final AtomicIntegerArray leitores = new AtomicIntegerArray(2);
+    private volatile int publicada;
+    private volatile EventoJogo fim;
+    private volatile boolean pausado, parado;
+    private Thread thread;
+
+    // Só usados pela thread da simulação
+    private long jogadas, atrasadas, decisaoIA, somaAtrasos, atrasoMaximo;
+    private boolean pendente;
+
+    /**
+     * Construtor da classe SimulacaoJogo. Publica logo uma fotografia do estado inicial, para que o jogo possa ser
+     * desenhado antes da primeira jogada.
+     *
+     * @param motor      O motor do jogo (tipo MotorJogo).
+     * @param ia         O jogador automático, ou null se a cobra for controlada pelo teclado (tipo JogadorIA).
+     * @param periodo    O tempo entre jogadas, em nanossegundos (tipo long).
+     * @param aoPublicar Chamado pela thread da simulação sempre que publica uma fotografia nova (tipo Runnable).
+     * @throws IllegalArgumentException Se o período não for positivo.
+     */
+    public SimulacaoJogo(MotorJogo motor, JogadorIA ia, long periodo, Runnable aoPublicar) {
+        if (periodo <= 0)
+            throw new IllegalArgumentException("Período inválido");
+        this.motor = motor;
+        this.ia = ia;
+        this.periodo = periodo;
+        this.aoPublicar = aoPublicar;
+        this.fotografias[0] = new FotografiaJogo(motor);
+        this.fotografias[1] = new FotografiaJogo(motor);
+        this.fim = motor.getFim();
+    }
+
+    /**
+     * Começa a simulação numa thread nova.
+     *
+     * @throws IllegalStateException Se a simulação já tiver começado.
+     */
+    public synchronized void iniciar() {
+        if (this.thread != null)
+            throw new IllegalStateException("A simulação já começou");
+        this.thread = new Thread(this::executar, "Simulação do jogo");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Para a simulação e espera que a thread termine. Pode ser chamado mais de uma vez.
+     */
+    public void parar() {
+        Thread t;
+        synchronized (this) {
+            this.parado = true;
+            t = this.thread;
+        }
+        if (t == null || t == Thread.currentThread())
+            return;
+        LockSupport.unpark(t);
+        try {
+            t.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Suspende ou retoma a simulação. Ao retomar, a próxima jogada é marcada um período depois, em vez de se
+     * tentar recuperar o tempo em pausa.
+     *
+     * @param pausado Verdadeiro para suspender a simulação (tipo booleano).
+     */
+    public void setPausado(boolean pausado) {
+        this.pausado = pausado;
+        Thread t = this.thread;
+        if (!pausado && t != null)
+            LockSupport.unpark(t);
+    }
+
+    /**
+     * Indica se a simulação está suspensa.
+     *
+     * @return Verdadeiro se a simulação está suspensa (tipo booleano).
+     */
+    public boolean isPausado() {
+        return this.pausado;
+    }
+
+    /**
+     * Indica se a simulação está a fazer jogadas, isto é, se já começou e não está suspensa, parada ou terminada.
+     *
+     * @return Verdadeiro se a simulação está a fazer jogadas (tipo booleano).
+     */
+    public boolean isAtiva() {
+        return this.thread != null && !this.pausado && !this.parado && this.fim == null;
+    }
+
+    /**
+     * Pede uma direção para a cobra, usada na próxima jogada. Um pedido ainda não usado é substituído.
+     *
+     * @param dir A direção pedida (tipo Direcao).
+     */
+    public void setDirecao(Direcao dir) {
+        this.direcao.set(dir);
+    }
+
+    /**
+     * Retorna o evento que terminou o jogo, segundo a última fotografia publicada. Pode ser chamado de qualquer
+     * thread.
+     *
+     * @return O evento, ou null se o jogo ainda não terminou (tipo EventoJogo).
+     */
+    public EventoJogo getFim() {
+        return this.fim;
+    }
+
+    /**
+     * Retorna a última fotografia publicada, sem a adquirir. Só deve ser usado pela thread da simulação, no aviso de
+     * publicação, ou depois de a simulação parar; as outras threads usam adquirirFotografia.
+     *
+     * @return A fotografia do jogo (tipo FotografiaJogo).
+     */
+    public FotografiaJogo getFotografia() {
+        return this.fotografias[this.publicada];
+    }
+
+    /**
+     * Adquire a última fotografia publicada, que não muda até ser libertada com libertarFotografia. Pode ser chamado
+     * de qualquer thread.
+     *
+     * @return A fotografia do jogo (tipo FotografiaJogo).
+     */
+    public FotografiaJogo adquirirFotografia() {
+        while (true) {
+            int i = this.publicada;
+            this.leitores.incrementAndGet(i);
+            // Se entretanto foi publicada a outra, a simulação pode já estar a atualizar esta
+            if (this.publicada == i)
+                return this.fotografias[i];
+            this.leitores.decrementAndGet(i);
+        }
+    }
+
+    /**
+     * Liberta uma fotografia adquirida com adquirirFotografia, para que a simulação a possa voltar a usar.
+     *
+     * @param fotografia A fotografia adquirida (tipo FotografiaJogo).
+     * @throws IllegalArgumentException Se a fotografia não for desta simulação.
+     */
+    public void libertarFotografia(FotografiaJogo fotografia) {
+        if (fotografia != this.fotografias[0] && fotografia != this.fotografias[1])
+            throw new IllegalArgumentException("A fotografia não é desta simulação");
+        this.leitores.decrementAndGet(fotografia == this.fotografias[0] ? 0 : 1);
+    }
+
+    /**
+     * Ciclo da thread da simulação: espera pela hora da próxima jogada, faz as jogadas em atraso e publica o
+     * estado, até o jogo terminar ou a simulação ser parada.
+     */
+    private void executar() {
+        long proxima = System.nanoTime() + this.periodo;
+        while (!this.parado) {
+            if (this.pendente)
+                publicar();
+            if (this.motor.isGameOver()) {
+                // O fim do jogo tem de chegar à interface, mesmo que seja preciso esperar pela fotografia livre
+                if (!this.pendente)
+                    return;
+                LockSupport.parkNanos(this, this.periodo);
+                continue;
+            }
+            if (this.pausado) {
+                if (this.pendente)
+                    LockSupport.parkNanos(this, this.periodo);
+                else
+                    LockSupport.park(this);
+                proxima = System.nanoTime() + this.periodo;
+                continue;
+            }
+            long espera = proxima - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(this, espera);
+                continue;
+            }
+
+            for (int feitas = 0; feitas < MAXIMO_RECUPERADAS && proxima - System.nanoTime() <= 0 &&
+                    !this.motor.isGameOver(); feitas++) {
+                if (feitas > 0)
+                    this.atrasadas++;
+                jogada(System.nanoTime() - proxima);
+                proxima += this.periodo;
+            }
+            // Demasiado atrasada: em vez de acelerar o jogo, esquece as jogadas que faltam
+            if (proxima - System.nanoTime() <= 0)
+                proxima = System.nanoTime() + this.periodo;
+
+            publicar();
+        }
+    }
+
+    /**
+     * Faz uma jogada: a decisão da IA, se houver, e um passo do motor com a última direção pedida.
+     *
+     * @param atraso O atraso do início da jogada em relação à hora marcada, em nanossegundos (tipo long).
+     */
+    private void jogada(long atraso) {
+        this.jogadas++;
+        this.somaAtrasos += atraso;
+        this.atrasoMaximo = Math.max(this.atrasoMaximo, atraso);
+        if (this.ia != null && this.motor.getSnake().getDir() != -1) {
+            long t = System.nanoTime();
+            this.ia.aiMove(this.motor);
+            this.decisaoIA = System.nanoTime() - t;
+        }
+        this.motor.step(this.direcao.getAndSet(null));
+    }
+
+    /**
+     * Copia o estado do jogo para a fotografia não publicada, publica-a e avisa quem a vai desenhar. Se essa
+     * fotografia ainda estiver a ser lida, fica pendente e o ciclo da simulação tenta de novo mais tarde.
+     */
+    private void publicar() {
+        int livre = 1 - this.publicada;
+        this.pendente = this.leitores.get(livre) > 0;
+        if (this.pendente)
+            return;
+        this.fotografias[livre].atualizar(this.motor, this.jogadas, this.decisaoIA,
+                this.somaAtrasos / Math.max(this.jogadas, 1), this.atrasoMaximo, this.atrasadas);
+        this.fim = this.motor.getFim();
+        this.publicada = livre;
+        if (this.aoPublicar != null)
+            this.aoPublicar.run();
+    }
+}
@@ -0,0 +1,366 @@
+/**
+ * A classe SimuladorIA joga em lote vários jogos controlados pela IA, em paralelo e sem interface nem atrasos entre
+ * jogadas, e resume as pontuações obtidas e a velocidade da simulação. Cada jogo usa o seu próprio motor, pelo que
+ * os jogos são independentes entre si e podem ser distribuídos por todos os processadores. O jogo i de uma
+ * simulação com semente s usa a semente s + i, pelo que qualquer jogo pode ser reproduzido isoladamente.
+ * O tempo que a IA demora a decidir cada jogada é medido à parte do resto da jogada.
+ *
+ * @author Jorge Silva, Paulo Martins, Vasile Karpa
+ * @version 1.0 - 18/10/2026
+ */
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+public class SimuladorIA {
+    private final int width, height, head;
+    private final int threads;
+    private final Supplier<JogadorIA> ia;
+
+    /**
+     * Construtor da classe SimuladorIA, que usa todos os processadores disponíveis e a IA IACaminho.
+     *
+     * @param width  A largura da arena (tipo int).
+     * @param height A altura da arena (tipo int).
+     * @param head   O tamanho da aresta da cabeça da cobra (tipo int).
+     */
+    public SimuladorIA(int width, int height, int head) {
+        this(width, height, head, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construtor da classe SimuladorIA, que usa a IA IACaminho.
+     *
+     * @param width   A largura da arena (tipo int).
+     * @param height  A altura da arena (tipo int).
+     * @param head    O tamanho da aresta da cabeça da cobra (tipo int).
+     * @param threads O número de threads usadas para jogar (tipo int).
+     * @throws IllegalArgumentException Se o número de threads não for positivo.
+     */
+    public SimuladorIA(int width, int height, int head, int threads) {
+        this(width, height, head, threads, IACaminho::new);
+    }
+
+    /**
+     * Construtor da classe SimuladorIA.
+     *
+     * @param width   A largura da arena (tipo int).
+     * @param height  A altura da arena (tipo int).
+     * @param head    O tamanho da aresta da cabeça da cobra (tipo int).
+     * @param threads O número de threads usadas para jogar (tipo int).
+     * @param ia      Cria a IA de cada jogo; cada jogo tem a sua, pois uma IA pode guardar estado (tipo Supplier<JogadorIA>).
+     * @throws IllegalArgumentException Se o número de threads não for positivo.
+     */
+    public SimuladorIA(int width, int height, int head, int threads, Supplier<JogadorIA> ia) {
+        if (threads < 1)
+            throw new IllegalArgumentException("Número de threads inválido");
+        this.width = width;
+        this.height = height;
+        this.head = head;
+        this.threads = threads;
+        this.ia = ia;
+    }
+
+    /**
+     * Retorna a IA com o nome indicado.
+     *
+     * @param nome O nome da IA: "caminho" (IACaminho), "ciclo" (IACiclo) ou "gulosa" (IAGulosa) (tipo String).
+     * @return Um fornecedor de instâncias da IA (tipo Supplier<JogadorIA>).
+     * @throws IllegalArgumentException Se não existir uma IA com esse nome.
+     */
+    public static Supplier<JogadorIA> ia(String nome) {
+        return switch (nome) {
+            case "caminho" -> IACaminho::new;
+            case "ciclo" -> IACiclo::new;
+            case "gulosa" -> IAGulosa::new;
+            default -> throw new IllegalArgumentException("IA desconhecida: " + nome);
+        };
+    }
+
+    /**
+     * Joga os jogos pedidos em paralelo, com uma semente sorteada, e resume os resultados.
+     *
+     * @param jogos O número de jogos a jogar (tipo int).
+     * @return O resumo dos jogos (tipo Resultado).
+     * @throws IllegalArgumentException Se o número de jogos não for positivo.
+     */
+    public Resultado executar(int jogos) {
+        return executar(jogos, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Joga os jogos pedidos em paralelo e resume os resultados. O resultado depende só da semente e não da ordem
+     * em que as threads jogam.
+     *
+     * @param jogos   O número de jogos a jogar (tipo int).
+     * @param semente A semente da simulação (tipo long).
+     * @return O resumo dos jogos (tipo Resultado).
+     * @throws IllegalArgumentException Se o número de jogos não for positivo.
+     */
+    public Resultado executar(int jogos, long semente) {
+        if (jogos < 1)
+            throw new IllegalArgumentException("Número de jogos inválido");
+
+        ForkJoinPool pool = new ForkJoinPool(this.threads);
+        long inicio = System.nanoTime();
+        try {
+            JogoIA[] resultados = pool.submit(() -> IntStream.range(0, jogos).parallel()
+                    .mapToObj(i -> jogar(semente + i)).toArray(JogoIA[]::new)).get();
+            return new Resultado(resultados, System.nanoTime() - inicio, this.threads, semente);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulação interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erro na simulação: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Joga um jogo completo com a IA. Como a IA pode ficar a andar em círculos sem nunca comer nem morrer, o jogo
+     * é dado como esgotado se a cobra passar tantas jogadas sem comer como o dobro das células da arena.
+     *
+     * @param semente A semente do jogo (tipo long).
+     * @return O resultado do jogo (tipo JogoIA).
+     */
+    private JogoIA jogar(long semente) {
+        MotorJogo motor = new MotorJogo(this.width, this.height, this.head, true, false, false, semente);
+        JogadorIA ai = this.ia.get();
+        int unit = this.head + 1;
+        long limite = 2L * (motor.getWidth() / unit) * (motor.getHeight() / unit);
+
+        long jogadas = 0, semComer = 0, decisao = 0, decisaoMaxima = 0;
+        EventoJogo evento = EventoJogo.NENHUM;
+        while (!evento.terminaJogo() && semComer < limite) {
+            long t = System.nanoTime();
+            ai.aiMove(motor);
+            t = System.nanoTime() - t;
+            decisao += t;
+            decisaoMaxima = Math.max(decisaoMaxima, t);
+            evento = motor.step(null);
+            jogadas++;
+            semComer = evento == EventoJogo.COMEU ? 0 : semComer + 1;
+        }
+        return new JogoIA(motor.getScore(), jogadas, motor.getFim(), decisao, decisaoMaxima);
+    }
+
+    /**
+     * Ponto de entrada do modo de simulação em lote, também disponível através de Main com o argumento "simular".
+     * Argumentos: número de jogos, largura e altura da arena, aresta da cabeça, número de threads, semente e nome
+     * da IA, todos opcionais.
+     *
+     * @param args Os argumentos da linha de comando (tipo String[]).
+     */
+    public static void main(String[] args) {
+        int jogos = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int width = args.length > 1 ? Integer.parseInt(args[1]) : 750;
+        int height = args.length > 2 ? Integer.parseInt(args[2]) : 750;
+        int head = args.length > 3 ? Integer.parseInt(args[3]) : 50;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        long semente = args.length > 5 ? Long.parseLong(args[5]) : new SplittableRandom().nextLong();
+        Supplier<JogadorIA> ia = ia(args.length > 6 ? args[6] : "caminho");
+
+        System.out.println(new SimuladorIA(width, height, head, threads, ia).executar(jogos, semente));
+    }
+
+    /**
+     * Classe interna JogoIA guarda o resultado de um jogo da simulação.
+     */
+    private static class JogoIA {
+        final int score;
+        final long jogadas;
+        final EventoJogo fim;
+        final long decisao, decisaoMaxima;
+
+        JogoIA(int score, long jogadas, EventoJogo fim, long decisao, long decisaoMaxima) {
+            this.score = score;
+            this.jogadas = jogadas;
+            this.fim = fim;
+            this.decisao = decisao;
+            this.decisaoMaxima = decisaoMaxima;
+        }
+    }
+
+    /**
+     * Classe interna Resultado resume uma simulação: distribuição das pontuações, forma como os jogos terminaram
+     * velocidade em jogadas e jogos por segundo e tempo de decisão da IA.
+     */
+    public static class Resultado {
+        private final int[] scores;
+        private final long jogadas, nanos, semente, decisao, decisaoMaxima;
+        private final int threads, esgotados;
+        private final Map<EventoJogo, Integer> fins = new EnumMap<>(EventoJogo.class);
+
+        private Resultado(JogoIA[] jogos, long nanos, int threads, long semente) {
+            this.scores = new int[jogos.length];
+            long jogadas = 0, decisao = 0, decisaoMaxima = 0;
+            int esgotados = 0;
+            for (int i = 0; i < jogos.length; i++) {
+                this.scores[i] = jogos[i].score;
+                jogadas += jogos[i].jogadas;
+                decisao += jogos[i].decisao;
+                decisaoMaxima = Math.max(decisaoMaxima, jogos[i].decisaoMaxima);
+                if (jogos[i].fim == null)
+                    esgotados++;
+                else
+                    this.fins.merge(jogos[i].fim, 1, Integer::sum);
+            }
+            Arrays.sort(this.scores);
+            this.jogadas = jogadas;
+            this.decisao = decisao;
+            this.decisaoMaxima = decisaoMaxima;
+            this.esgotados = esgotados;
+            this.nanos = nanos;
+            this.threads = threads;
+            this.semente = semente;
+        }
+
+        /**
+         * Retorna a semente da simulação.
+         *
+         * @return A semente (tipo long).
+         */
+        public long getSemente() {
+            return this.semente;
+        }
+
+        /**
+         * Retorna a pontuação de cada jogo, por ordem crescente.
+         *
+         * @return Uma cópia das pontuações (tipo int[]).
+         */
+        public int[] getScores() {
+            return this.scores.clone();
+        }
+
+        /**
+         * Retorna o número de jogos jogados.
+         *
+         * @return O número de jogos (tipo int).
+         */
+        public int getJogos() {
+            return this.scores.length;
+        }
+
+        /**
+         * Retorna o total de jogadas de todos os jogos.
+         *
+         * @return O total de jogadas (tipo long).
+         */
+        public long getJogadas() {
+            return this.jogadas;
+        }
+
+        /**
+         * Retorna o número de jogos que terminaram de uma dada forma.
+         *
+         * @param fim O evento que terminou o jogo (tipo EventoJogo).
+         * @return O número de jogos (tipo int).
+         */
+        public int getFins(EventoJogo fim) {
+            return this.fins.getOrDefault(fim, 0);
+        }
+
+        /**
+         * Retorna o número de jogos interrompidos por a cobra ter passado demasiadas jogadas sem comer.
+         *
+         * @return O número de jogos esgotados (tipo int).
+         */
+        public int getEsgotados() {
+            return this.esgotados;
+        }
+
+        /**
+         * Retorna o percentil pedido das pontuações, pelo método do valor mais próximo.
+         *
+         * @param p O percentil, entre 0 e 100 (tipo double).
+         * @return A pontuação desse percentil (tipo int).
+         * @throws IllegalArgumentException Se o percentil estiver fora do intervalo.
+         */
+        public int getPercentil(double p) {
+            if (p < 0 || p > 100)
+                throw new IllegalArgumentException("Percentil inválido");
+            int i = (int) Math.ceil(p / 100 * this.scores.length) - 1;
+            return this.scores[Math.max(i, 0)];
+        }
+
+        /**
+         * Retorna a média das pontuações.
+         *
+         * @return A média (tipo double).
+         */
+        public double getMedia() {
+            long soma = 0;
+            for (int s : this.scores)
+                soma += s;
+            return (double) soma / this.scores.length;
+        }
+
+        /**
+         * Retorna o tempo médio que a IA demorou a decidir uma jogada.
+         *
+         * @return O tempo médio de decisão em nanossegundos (tipo double).
+         */
+        public double getLatenciaMedia() {
+            return (double) this.decisao / this.jogadas;
+        }
+
+        /**
+         * Retorna o maior tempo que a IA demorou a decidir uma jogada.
+         *
+         * @return O tempo máximo de decisão em nanossegundos (tipo long).
+         */
+        public long getLatenciaMaxima() {
+            return this.decisaoMaxima;
+        }
+
+        /**
+         * Retorna a velocidade da simulação em jogadas por segundo.
+         *
+         * @return As jogadas por segundo (tipo double).
+         */
+        public double getJogadasPorSegundo() {
+            return this.jogadas * 1e9 / this.nanos;
+        }
+
+        /**
+         * Retorna a velocidade da simulação em jogos por segundo.
+         *
+         * @return Os jogos por segundo (tipo double).
+         */
+        public double getJogosPorSegundo() {
+            return this.scores.length * 1e9 / this.nanos;
+        }
+
+        /**
+         * Retorna o resumo da simulação em texto, tal como é mostrado na consola.
+         *
+         * @return O resumo (tipo String).
+         */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Jogos: %d em %.2f s com %d threads (%.1f jogos/s), semente %d%n",
+                    getJogos(), this.nanos / 1e9, this.threads, getJogosPorSegundo(), this.semente));
+            sb.append(String.format("Jogadas: %d (%.0f jogadas/s)%n", this.jogadas, getJogadasPorSegundo()));
+            sb.append(String.format("Decisão da IA: média %.2f µs, máx %.2f µs%n",
+                    getLatenciaMedia() / 1e3, this.decisaoMaxima / 1e3));
+            sb.append(String.format("Pontuação: mín %d, média %.1f, p50 %d, p90 %d, p99 %d, máx %d%n",
+                    this.scores[0], getMedia(), getPercentil(50), getPercentil(90), getPercentil(99),
+                    this.scores[this.scores.length - 1]));
+            sb.append("Fim:");
+            for (Map.Entry<EventoJogo, Integer> e : this.fins.entrySet())
+                sb.append(' ').append(e.getKey()).append(' ').append(e.getValue());
+            if (this.esgotados > 0)
+                sb.append(" ESGOTADO ").append(this.esgotados);
+            return sb.toString();
+        }
+    }
+}
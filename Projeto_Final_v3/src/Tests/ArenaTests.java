@@ -1,12 +1,55 @@
 import org.junit.jupiter.api.Test;
 
+import java.util.SplittableRandom;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ArenaTests {
 
     @Test
     void drawSnake() {
-        //Devido à natureza de funcionamento da arena não conseguimos testar este método
+        Arena arena = new Arena(60, 60);
+        Cobra cobra = new Cobra(60, 60, 5);
+        cobra.grow();
+        cobra.setDir(cobra.getSnake().get(0).getTopLeft().getY() < 30 ? 270 : 90);
+        assertTrue(arena.drawSnake(cobra, true));
+        cobra.move();
+        assertTrue(arena.drawSnake(cobra, true));
+        String board = arena.printBoard();
+        assertEquals(36, board.chars().filter(c -> c == 'H').count());
+        assertEquals(36, board.chars().filter(c -> c == 'T').count());
+    }
+
+    @Test
+    void drawSnakeIncremental() {
+        // Desenhar só as posições que mudam tem de dar a mesma arena que desenhar a cobra de novo numa arena vazia
+        for (boolean complete : new boolean[]{true, false})
+            for (long semente = 0; semente < 20; semente++) {
+                SplittableRandom random = new SplittableRandom(semente);
+                Arena arena = new Arena(60, 60);
+                Cobra cobra = new Cobra(60, 60, 4, random);
+                assertTrue(arena.drawSnake(cobra, complete));
+                for (int passo = 0; passo < 60; passo++) {
+                    if (random.nextInt(3) == 0)
+                        cobra.grow();
+                    cobra.setDir(90 * random.nextInt(4));
+                    try {
+                        // De vez em quando a cobra avança dois passos entre desenhos e tem de ser redesenhada
+                        cobra.move();
+                        if (passo % 7 == 6)
+                            cobra.move();
+                    } catch (IllegalArgumentException e) {
+                        break;
+                    }
+                    Arena nova = new Arena(60, 60);
+                    if (!nova.drawSnake(cobra, complete)) {
+                        assertFalse(arena.drawSnake(cobra, complete));
+                        break;
+                    }
+                    assertTrue(arena.drawSnake(cobra, complete));
+                    assertEquals(nova.printBoard(), arena.printBoard());
+                }
+            }
     }
 
     @Test
@@ -21,7 +64,12 @@ class ArenaTests {
 
     @Test
     void deleteEatenFood() {
-        //Devido à natureza de funcionamento da arena não conseguimos testar este método
+        Arena arena = new Arena(60, 60);
+        Comida comida = new Comida(60, 60, null, new Cobra(60, 60, 5));
+        arena.drawEatenFood(comida, true);
+        assertTrue(arena.printBoard().contains("#"));
+        arena.deleteEatenFood();
+        assertFalse(arena.printBoard().contains("#"));
     }
 
     @Test
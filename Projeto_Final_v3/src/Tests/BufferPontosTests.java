@@ -0,0 +1,58 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BufferPontosTests {
+
+    @Test
+    void add() {
+        BufferPontos buffer = new BufferPontos(1);
+        for (int i = 0; i < 10; i++)
+            buffer.add(i, 2 * i);
+        assertEquals(10, buffer.size());
+        assertEquals(7, buffer.getX(7));
+        assertEquals(14, buffer.getY(7));
+    }
+
+    @Test
+    void clear() {
+        BufferPontos buffer = new BufferPontos();
+        buffer.add(1, 1);
+        buffer.clear();
+        assertEquals(0, buffer.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.getX(0));
+    }
+
+    @Test
+    void addAll() {
+        BufferPontos origem = new BufferPontos();
+        for (int i = 0; i < 100; i++)
+            origem.add(i, -i);
+        BufferPontos destino = new BufferPontos(1);
+        destino.add(7, 7);
+        destino.addAll(origem);
+        assertEquals(101, destino.size());
+        assertEquals(7, destino.getX(0));
+        assertEquals(99, destino.getX(100));
+        assertEquals(-99, destino.getY(100));
+    }
+
+    @Test
+    void toPontos() {
+        BufferPontos buffer = new BufferPontos();
+        buffer.add(3, 4);
+        buffer.add(5, 6);
+        assertEquals("[(3,4), (5,6)]", Arrays.toString(buffer.toPontos()));
+        assertEquals("[(3,4), (5,6)]", buffer.toList().toString());
+    }
+
+    @Test
+    void addAllIntVertices() {
+        Retangulo rectangle = new Retangulo("0 0 3 0 3 3 0 3");
+        BufferPontos buffer = new BufferPontos();
+        rectangle.addAllIntVertices(buffer);
+        assertEquals(Arrays.toString(rectangle.getAllIntVertices()), Arrays.toString(buffer.toPontos()));
+    }
+}
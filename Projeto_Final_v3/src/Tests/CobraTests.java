@@ -1,6 +1,8 @@
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,6 +43,54 @@ class CobraTests {
     }
 
 
+    @Test
+    void getSnake() {
+        Cobra cobra = new Cobra(100, 100, 4);
+        Ponto start = cobra.getSnake().get(0).getTopLeft();
+        cobra.setDir(270);  // Moving down
+        for (int i = 0; i < 20; i++) {
+            cobra.grow();
+            cobra.move();
+        }
+        List<Quadrado> snake = cobra.getSnake();
+        assertEquals(21, snake.size());
+        for (int i = 0; i < snake.size(); i++)
+            assertEquals(0, start.translate(0, 5 * (20 - i)).dist(snake.get(i).getTopLeft()));
+        assertThrows(UnsupportedOperationException.class, () -> snake.add(snake.get(0)));
+    }
+
+    @Test
+    void willEatTail() {
+        Cobra cobra = new Cobra(1000, 1000, 4);
+        for (int i = 0; i < 5; i++)
+            cobra.grow();
+        cobra.setDir(0);
+        for (int i = 0; i < 5; i++)
+            cobra.move();
+        cobra.setDir(270);
+        cobra.move();
+        cobra.setDir(180);
+        cobra.move();
+        cobra.setDir(90);
+        assertThrows(IllegalArgumentException.class, cobra::move);
+    }
+
+    @Test
+    void setFreeCellIndex() {
+        Cobra cobra = new Cobra(1000, 1000, 4);
+        IndiceCelulasLivres livres = new IndiceCelulasLivres(1000, 1000, 4);
+        cobra.setFreeCellIndex(livres);
+        cobra.grow();
+        cobra.grow();
+        cobra.setDir(cobra.getSegmentX(0) < 500 ? 0 : 180);
+        cobra.move();
+        cobra.move();
+        cobra.move();
+        assertEquals(200 * 200 - 3, livres.getFreeCount());
+        for (int i = 0; i < cobra.getLength(); i++)
+            assertFalse(livres.isFree(cobra.getSegmentX(i) / 5, cobra.getSegmentY(i) / 5));
+    }
+
     @Test
     void getAllIntPoints() {
         Cobra cobra = new Cobra(100, 100, 5);
@@ -77,4 +127,65 @@ class CobraTests {
         //assertNotNull(intersections);
         //assertTrue(intersections.isEmpty());
     }
+
+    @Test
+    void findIntersectionsRodados() {
+        // Os obstáculos rodados podem sair da arena; todos os pixels da cobra tocados têm de ser encontrados
+        int colisoes = 0;
+        for (long semente = 0; semente < 100; semente++) {
+            SplittableRandom random = new SplittableRandom(semente);
+            Cobra cobra = new Cobra(60, 60, 4, random.split());
+            cobra.setDir(cobra.getSegmentX(0) < 30 ? 0 : 180);
+            for (int i = 0; i < 4; i++) {
+                cobra.grow();
+                cobra.move();
+            }
+            List<Obstaculo> obstaculos = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                Obstaculo o = new Obstaculo(60, 60, new Cobra(60, 60, 4, random.split()), random.split());
+                for (int r = 0; r < 3; r++)
+                    o.rotate();
+                obstaculos.add(o);
+            }
+
+            List<Ponto> intersections = cobra.findIntersections(obstaculos);
+            for (Ponto p : cobra.getAllIntPoints()) {
+                int x = (int) p.getX(), y = (int) p.getY();
+                boolean tocado = obstaculos.stream().anyMatch(o -> o.intersects(x, y, x, y));
+                assertEquals(tocado, intersections.stream().anyMatch(p::equals));
+            }
+            colisoes += intersections.size();
+        }
+        assertTrue(colisoes > 0);
+        assertTrue(new Cobra(60, 60, 4).findIntersections(List.of()).isEmpty());
+    }
+
+    @Test
+    void intersects() {
+        // As consultas da primeira colisão têm de concordar com a lista de todas as interseções
+        int colisoes = 0;
+        for (long semente = 0; semente < 200; semente++) {
+            SplittableRandom random = new SplittableRandom(semente);
+            Cobra cobra = new Cobra(100, 100, 5, random);
+            cobra.setDir(cobra.getSegmentX(0) < 50 ? 0 : 180);
+            for (int i = 0; i < 6; i++) {
+                cobra.grow();
+                cobra.move();
+            }
+            Obstaculo obstaculo = new Obstaculo(100, 100, new Cobra(100, 100, 5, random), random);
+
+            List<Ponto> intersections = cobra.findIntersections(List.of(obstaculo));
+            assertEquals(!intersections.isEmpty(), cobra.intersects(obstaculo));
+
+            GrelhaObstaculos grelha = new GrelhaObstaculos(100, 100, 5);
+            grelha.add(obstaculo);
+            int x = cobra.getSegmentX(0), y = cobra.getSegmentY(0);
+            boolean cabeca = intersections.stream().anyMatch(p ->
+                    p.getX() >= x && p.getX() <= x + 5 && p.getY() >= y && p.getY() <= y + 5);
+            assertEquals(cabeca ? obstaculo : null, cobra.findHeadCollision(grelha));
+            if (!intersections.isEmpty())
+                colisoes++;
+        }
+        assertTrue(colisoes > 0);
+    }
 }
\ No newline at end of file
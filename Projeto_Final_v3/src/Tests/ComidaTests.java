@@ -31,4 +31,24 @@ class ComidaTests {
 
         assertTrue(comida.wasGenerated());
     }
+
+    @Test
+    void wasGeneratedSemEspaco() {
+        Cobra snake = new Cobra(30, 30, 5);
+        IndiceCelulasLivres livres = new IndiceCelulasLivres(30, 30, 5);
+        for (int cx = 0; cx < livres.getCols(); cx++)
+            for (int cy = 0; cy < livres.getRows(); cy++)
+                livres.occupy(cx, cy);
+        livres.release(2, 3);
+
+        Comida comida = new Comida(livres, snake);
+        assertTrue(comida.wasGenerated());
+        for (Ponto p : comida.getAllIntPoints()) {
+            assertTrue(p.getX() >= 12 && p.getX() <= 17);
+            assertTrue(p.getY() >= 18 && p.getY() <= 23);
+        }
+
+        livres.occupy(2, 3);
+        assertFalse(new Comida(livres, snake).wasGenerated());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConjuntoCelulasTests {
+
+    @Test
+    void add() {
+        ConjuntoCelulas conjunto = new ConjuntoCelulas();
+        conjunto.add(ConjuntoCelulas.key(1, 2));
+        conjunto.add(ConjuntoCelulas.key(1, 2));
+        conjunto.add(ConjuntoCelulas.key(-1, 2));
+        assertEquals(2, conjunto.count(ConjuntoCelulas.key(1, 2)));
+        assertEquals(1, conjunto.count(ConjuntoCelulas.key(-1, 2)));
+        assertFalse(conjunto.contains(ConjuntoCelulas.key(2, 1)));
+        assertEquals(2, conjunto.size());
+    }
+
+    @Test
+    void remove() {
+        ConjuntoCelulas conjunto = new ConjuntoCelulas();
+        Map<Long, Integer> esperado = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            long key = ConjuntoCelulas.key(random.nextInt(40) - 20, random.nextInt(40) - 20);
+            if (random.nextBoolean()) {
+                conjunto.add(key);
+                esperado.merge(key, 1, Integer::sum);
+            } else {
+                conjunto.remove(key);
+                esperado.computeIfPresent(key, (k, v) -> v > 1 ? v - 1 : null);
+            }
+        }
+        assertEquals(esperado.size(), conjunto.size());
+        for (int x = -20; x < 20; x++)
+            for (int y = -20; y < 20; y++) {
+                long key = ConjuntoCelulas.key(x, y);
+                assertEquals(esperado.getOrDefault(key, 0), conjunto.count(key));
+            }
+    }
+}
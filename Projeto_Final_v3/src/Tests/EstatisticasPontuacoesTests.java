@@ -0,0 +1,130 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EstatisticasPontuacoesTests {
+    @TempDir
+    Path dir;
+
+    @Test
+    void jogadores() {
+        EstatisticasPontuacoes e = new EstatisticasPontuacoes();
+        e.registar(10, "ana");
+        e.registar(30, "ana");
+        e.registar(5, "rui");
+
+        EstatisticasPontuacoes.Jogador ana = e.getJogador("ana");
+        assertEquals(30, ana.getMelhor());
+        assertEquals(2, ana.getJogos());
+        assertEquals(20, ana.getMedia(), 1e-9);
+        assertNull(e.getJogador("eva"));
+        assertEquals(3, e.getTotal());
+    }
+
+    @Test
+    void contentores() {
+        // Os contentores são contíguos, cobrem todas as pontuações e têm no máximo 1/64 de largura relativa
+        for (int c = 0; c < 1663; c++) {
+            long inicio = EstatisticasPontuacoes.limiteInferior(c), fim = EstatisticasPontuacoes.limiteInferior(c + 1);
+            assertEquals(c, EstatisticasPontuacoes.contentor((int) inicio));
+            assertEquals(c, EstatisticasPontuacoes.contentor((int) (fim - 1)));
+            assertTrue(fim - inicio <= Math.max(1, inicio / 64));
+        }
+        assertEquals(1663, EstatisticasPontuacoes.contentor(Integer.MAX_VALUE));
+        assertEquals(0, EstatisticasPontuacoes.contentor(-5));
+    }
+
+    @Test
+    void percentis() {
+        EstatisticasPontuacoes e = new EstatisticasPontuacoes();
+        SplittableRandom random = new SplittableRandom(1);
+        int[] scores = new int[10000];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = random.nextInt(100000);
+            e.registar(scores[i], "IA");
+        }
+        Arrays.sort(scores);
+
+        for (int p : new int[]{1, 25, 50, 90, 99}) {
+            int exato = scores[(int) Math.ceil(p / 100.0 * scores.length) - 1];
+            assertEquals(exato, e.percentil(p), exato / 64.0 + 1);
+        }
+        assertEquals(50, e.percentagemAbaixo(scores[5000]), 1);
+        assertEquals(0, e.percentagemAbaixo(0));
+        assertEquals(100, e.percentagemAbaixo(Integer.MAX_VALUE), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> e.percentil(101));
+        assertThrows(IllegalStateException.class, () -> new EstatisticasPontuacoes().percentil(50));
+    }
+
+    @Test
+    void tabela() {
+        RegistoPontuacoes r = new RegistoPontuacoes(dir.resolve("pontuacoes"), dir.resolve("resultados.txt"));
+        for (int i = 1; i <= 1500; i++)
+            r.adicionar(i % 100, "j" + i % 3);
+
+        // Calculadas a partir da fotografia e do registo, e depois atualizadas com cada pontuação nova
+        EstatisticasPontuacoes e = r.getEstatisticas();
+        assertEquals(1500, e.getTotal());
+        assertEquals(500, e.getJogador("j0").getJogos());
+        r.adicionar(1000, "j0");
+        assertEquals(1000, r.getEstatisticas().getJogador("j0").getMelhor());
+        assertEquals(100.0 * 1500 / 1501, r.getEstatisticas().percentagemAbaixo(1000), 1e-9);
+
+        Pontuacao p = new Pontuacao(dir);
+        assertEquals(50, p.getPercentagemSuperada(50), 1);
+        assertTrue(p.resumo(1000, "j0").contains("j0: melhor 1000, 501 jogos"));
+    }
+
+    @Test
+    void escreverELer() throws IOException {
+        SplittableRandom random = new SplittableRandom(3);
+        EstatisticasPontuacoes e = new EstatisticasPontuacoes();
+        for (int i = 0; i < 5000; i++)
+            e.registar(random.nextInt(-5, 1 << 20), "jogador " + random.nextInt(40));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        e.escrever(new DataOutputStream(bytes));
+
+        EstatisticasPontuacoes lidas = EstatisticasPontuacoes.ler(ByteBuffer.wrap(bytes.toByteArray()));
+        assertEquals(e.getTotal(), lidas.getTotal());
+        for (int p = 0; p <= 100; p += 5)
+            assertEquals(e.percentil(p), lidas.percentil(p));
+        for (int i = 0; i < 40; i++) {
+            EstatisticasPontuacoes.Jogador j = e.getJogador("jogador " + i), l = lidas.getJogador("jogador " + i);
+            assertEquals(j.getMelhor(), l.getMelhor());
+            assertEquals(j.getJogos(), l.getJogos());
+            assertEquals(j.getMedia(), l.getMedia(), 1e-9);
+        }
+    }
+
+    @Test
+    void guardadasNaFotografia() {
+        RegistoPontuacoes r = new RegistoPontuacoes(dir.resolve("pontuacoes"), dir.resolve("resultados.txt"));
+        for (int i = 1; i <= 1100; i++)
+            r.adicionar(i % 100, "j" + i % 3);
+        r.close();
+
+        // Outra tabela sobre os mesmos ficheiros lê as estatísticas da fotografia e junta-lhes as do registo
+        RegistoPontuacoes reaberta = new RegistoPontuacoes(dir.resolve("pontuacoes"), dir.resolve("resultados.txt"));
+        EstatisticasPontuacoes e = reaberta.getEstatisticas();
+        assertEquals(1100, e.getTotal());
+        assertEquals(367, e.getJogador("j1").getJogos());
+        assertEquals(99, e.getJogador("j1").getMelhor());
+        assertEquals(50, e.percentil(50), 1);
+
+        // Depois de outra compactação, as estatísticas são lidas da fotografia nova
+        r.compactar();
+        reaberta.atualizar();
+        reaberta.adicionar(500, "j1");
+        assertEquals(1101, reaberta.getEstatisticas().getTotal());
+        assertEquals(500, reaberta.getEstatisticas().getJogador("j1").getMelhor());
+    }
+}
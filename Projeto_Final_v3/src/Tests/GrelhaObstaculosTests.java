@@ -0,0 +1,79 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GrelhaObstaculosTests {
+
+    /**
+     * Cria muitos obstáculos numa arena de 120x120, bem mais do que o jogo cria, e regista-os numa grelha.
+     */
+    private static List<Obstaculo> obstaculos(GrelhaObstaculos grelha, Cobra cobra, SplittableRandom random) {
+        List<Obstaculo> obstaculos = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Obstaculo o = new Obstaculo(120, 120, cobra, random.split());
+            obstaculos.add(o);
+            assertEquals(i, grelha.add(o));
+        }
+        return obstaculos;
+    }
+
+    @Test
+    void getCandidatos() {
+        SplittableRandom random = new SplittableRandom(7);
+        GrelhaObstaculos grelha = new GrelhaObstaculos(120, 120, 4);
+        List<Obstaculo> obstaculos = obstaculos(grelha, new Cobra(120, 120, 4, random.split()), random);
+
+        for (int jogada = 0; jogada < 8; jogada++) {
+            for (int i = 0; i < obstaculos.size(); i++)
+                if (obstaculos.get(i).isRotating()) {
+                    obstaculos.get(i).rotate();
+                    grelha.update(i);
+                }
+
+            // Todos os obstáculos que tocam o retângulo têm de ser candidatos, sem repetições e por ordem
+            for (int n = 0; n < 200; n++) {
+                int x = random.nextInt(-10, 120), y = random.nextInt(-10, 120);
+                int x1 = x + random.nextInt(12), y1 = y + random.nextInt(12);
+                List<Obstaculo> candidatos = grelha.getCandidatos(x, y, x1, y1);
+                for (int k = 1; k < candidatos.size(); k++)
+                    assertTrue(obstaculos.indexOf(candidatos.get(k - 1)) < obstaculos.indexOf(candidatos.get(k)));
+                for (Obstaculo o : obstaculos)
+                    if (o.intersects(x, y, x1, y1))
+                        assertTrue(candidatos.contains(o));
+            }
+        }
+        assertEquals(60, grelha.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> grelha.update(60));
+    }
+
+    @Test
+    void getIntersectedObstacles() {
+        int colisoes = 0;
+        for (long semente = 0; semente < 20; semente++) {
+            SplittableRandom random = new SplittableRandom(semente);
+            GrelhaObstaculos grelha = new GrelhaObstaculos(120, 120, 4);
+            List<Obstaculo> obstaculos = obstaculos(grelha, new Cobra(120, 120, 4, random.split()), random);
+
+            Cobra cobra = new Cobra(120, 120, 4, random.split());
+            cobra.setDir(cobra.getSegmentX(0) < 60 ? 0 : 180);
+            for (int i = 0; i < 8; i++) {
+                cobra.grow();
+                cobra.move();
+            }
+
+            List<Obstaculo> esperados = cobra.getIntersectedObstacles(obstaculos);
+            assertEquals(esperados, cobra.getIntersectedObstacles(grelha));
+            colisoes += esperados.size();
+
+            Obstaculo cabeca = cobra.findHeadCollision(grelha);
+            int x = cobra.getSegmentX(0), y = cobra.getSegmentY(0);
+            assertEquals(obstaculos.stream().filter(o -> o.intersects(x, y, x + 4, y + 4)).findFirst().orElse(null),
+                    cabeca);
+        }
+        assertTrue(colisoes > 0);
+    }
+}
@@ -0,0 +1,52 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IACaminhoTests {
+
+    @Test
+    void caminhoMaisCurto() {
+        MotorJogo motor = new MotorJogo(60, 60, 4, true, false, false, 3);
+        JogadorIA ia = new IACaminho();
+
+        // Sem obstáculos e com a cobra curta, cada jogada aproxima a cabeça da comida até a comer
+        for (int comidas = 0; comidas < 3; comidas++) {
+            int distancia = distancia(motor);
+            EventoJogo evento;
+            do {
+                ia.aiMove(motor);
+                evento = motor.step(null);
+                assertFalse(evento.terminaJogo());
+                if (evento != EventoJogo.COMEU)
+                    assertEquals(--distancia, distancia(motor));
+            } while (evento != EventoJogo.COMEU);
+        }
+    }
+
+    @Test
+    void melhorQueGulosa() {
+        SimuladorIA.Resultado caminho = new SimuladorIA(60, 60, 4, 2, IACaminho::new).executar(10, 11);
+        SimuladorIA.Resultado gulosa = new SimuladorIA(60, 60, 4, 2, IAGulosa::new).executar(10, 11);
+        assertTrue(caminho.getPercentil(50) > gulosa.getPercentil(50));
+        assertTrue(caminho.getLatenciaMedia() > 0);
+        assertTrue(caminho.getLatenciaMaxima() >= caminho.getLatenciaMedia());
+    }
+
+    @Test
+    void nomeDaIA() {
+        assertInstanceOf(IACaminho.class, SimuladorIA.ia("caminho").get());
+        assertInstanceOf(IAGulosa.class, SimuladorIA.ia("gulosa").get());
+        assertThrows(IllegalArgumentException.class, () -> SimuladorIA.ia("aleatoria"));
+    }
+
+    private static int distancia(MotorJogo motor) {
+        int unit = motor.getSnake().getEdge() + 1;
+        double x = Double.MAX_VALUE, y = Double.MAX_VALUE;
+        for (Ponto p : motor.getFood().getAllIntPoints()) {
+            x = Math.min(x, p.getX());
+            y = Math.min(y, p.getY());
+        }
+        return Math.abs(motor.getSnake().getSegmentX(0) / unit - (int) x / unit)
+                + Math.abs(motor.getSnake().getSegmentY(0) / unit - (int) y / unit);
+    }
+}
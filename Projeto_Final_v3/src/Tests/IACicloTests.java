@@ -0,0 +1,50 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IACicloTests {
+
+    @Test
+    void cicloHamiltoniano() {
+        int[][] grelhas = {{2, 2}, {12, 12}, {9, 12}, {12, 9}, {3, 4}, {4, 3}};
+        for (int[] g : grelhas) {
+            int cols = g[0], rows = g[1];
+            IACiclo.Ciclo ciclo = IACiclo.Ciclo.criar(cols, rows);
+            assertEquals(cols * rows, ciclo.celulas.length);
+
+            // Cada célula aparece uma vez e cada passo, incluindo o regresso ao início, é entre células vizinhas
+            boolean[] vista = new boolean[cols * rows];
+            for (int i = 0; i < ciclo.celulas.length; i++) {
+                int a = ciclo.celulas[i], b = ciclo.celulas[(i + 1) % ciclo.celulas.length];
+                assertFalse(vista[a]);
+                vista[a] = true;
+                assertEquals(i, ciclo.ordem[a]);
+                assertEquals(1, Math.abs(a % cols - b % cols) + Math.abs(a / cols - b / cols));
+            }
+        }
+
+        assertSame(IACiclo.Ciclo.NENHUM, IACiclo.Ciclo.criar(3, 3));
+        assertSame(IACiclo.Ciclo.NENHUM, IACiclo.Ciclo.criar(1, 4));
+    }
+
+    @Test
+    void encheArena() {
+        SimuladorIA.Resultado r = new SimuladorIA(60, 60, 4, 2, IACiclo::new).executar(10, 5);
+        assertEquals(10, r.getFins(EventoJogo.VITORIA));
+        assertEquals(Integer.MAX_VALUE, r.getPercentil(0));
+    }
+
+    @Test
+    void semCiclo() {
+        // Uma grelha de 11 x 11 células não tem ciclo hamiltoniano; a cobra é controlada por IACaminho
+        MotorJogo motor = new MotorJogo(55, 55, 4, true, false, false, 9);
+        JogadorIA ia = new IACiclo();
+        EventoJogo evento = EventoJogo.NENHUM;
+        for (int i = 0; i < 50 && !evento.terminaJogo(); i++) {
+            ia.aiMove(motor);
+            evento = motor.step(null);
+        }
+        assertNotEquals(-1, motor.getSnake().getDir());
+        assertFalse(evento.terminaJogo());
+    }
+}
@@ -0,0 +1,57 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceCelulasLivresTests {
+
+    @Test
+    void occupy() {
+        IndiceCelulasLivres livres = new IndiceCelulasLivres(30, 20, 4);
+        assertEquals(6, livres.getCols());
+        assertEquals(4, livres.getRows());
+        assertEquals(24, livres.getFreeCount());
+
+        livres.occupy(1, 2);
+        livres.occupy(1, 2);
+        livres.occupy(10, 10); // Fora da arena
+        assertFalse(livres.isFree(1, 2));
+        assertEquals(23, livres.getFreeCount());
+
+        livres.release(1, 2);
+        assertFalse(livres.isFree(1, 2));
+        livres.release(1, 2);
+        assertTrue(livres.isFree(1, 2));
+        assertEquals(24, livres.getFreeCount());
+    }
+
+    @Test
+    void randomFreeCell() {
+        IndiceCelulasLivres livres = new IndiceCelulasLivres(20, 20, 4);
+        Random random = new Random(7);
+        for (int cell = 0; cell < 16; cell++)
+            if (cell != 5 && cell != 9)
+                livres.occupy(cell % 4, cell / 4);
+        for (int i = 0; i < 50; i++) {
+            int cell = livres.randomFreeCell(random);
+            assertTrue(cell == 5 || cell == 9);
+        }
+        livres.occupy(1, 1);
+        livres.occupy(1, 2);
+        assertEquals(-1, livres.randomFreeCell(random));
+    }
+
+    @Test
+    void occupyPixels() {
+        IndiceCelulasLivres livres = new IndiceCelulasLivres(20, 20, 4);
+        BufferPontos pixels = new BufferPontos();
+        pixels.add(4, 4); // Última coluna e linha da célula (0,0), fora da zona de comida
+        pixels.add(6, 2); // Célula (1,0)
+        livres.occupyPixels(pixels);
+        assertTrue(livres.isFree(0, 0));
+        assertFalse(livres.isFree(1, 0));
+        livres.releasePixels(pixels);
+        assertEquals(16, livres.getFreeCount());
+    }
+}
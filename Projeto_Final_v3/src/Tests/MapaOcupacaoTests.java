@@ -0,0 +1,66 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapaOcupacaoTests {
+
+    @Test
+    void set() {
+        MapaOcupacao mapa = new MapaOcupacao(70, 10);
+        mapa.set(65, 3);
+        mapa.set(-1, 3);
+        mapa.set(70, 3);
+        assertTrue(mapa.contains(65, 3));
+        assertFalse(mapa.contains(64, 3));
+        assertFalse(mapa.contains(65, 4));
+        assertFalse(mapa.contains(-1, 3));
+        assertFalse(mapa.contains(70, 3));
+    }
+
+    @Test
+    void stamp() {
+        MapaOcupacao mapa = new MapaOcupacao(10, 10);
+        BufferPontos pontos = new BufferPontos();
+        new Retangulo("1 1 3 1 3 2 1 2").addAllIntVertices(pontos);
+        mapa.stamp(pontos);
+        assertTrue(mapa.contains(1, 1));
+        assertTrue(mapa.contains(3, 2));
+        assertFalse(mapa.contains(4, 2));
+    }
+
+    @Test
+    void setSpan() {
+        MapaOcupacao mapa = new MapaOcupacao(100, 3);
+        mapa.setSpan(1, -5, 80);
+        mapa.setSpan(2, 98, 200);
+        mapa.setSpan(5, 0, 10);
+        for (int x = 0; x < 100; x++) {
+            assertFalse(mapa.contains(x, 0));
+            assertEquals(x <= 80, mapa.contains(x, 1));
+            assertEquals(x >= 98, mapa.contains(x, 2));
+        }
+    }
+
+    @Test
+    void clear() {
+        MapaOcupacao mapa = new MapaOcupacao(10, 10);
+        mapa.set(5, 5);
+        mapa.clear();
+        assertFalse(mapa.contains(5, 5));
+    }
+
+    @Test
+    void findIntersections() {
+        Cobra cobra = new Cobra(100, 100, 5);
+        MapaOcupacao mapa = new MapaOcupacao(100, 100);
+        assertTrue(cobra.findIntersections(mapa).isEmpty());
+
+        Ponto head = cobra.getSnake().get(0).getTopLeft();
+        mapa.set((int) head.getX() + 1, (int) head.getY() + 2);
+        List<Ponto> intersections = cobra.findIntersections(mapa);
+        assertEquals(1, intersections.size());
+        assertEquals(0, intersections.get(0).dist(head.translate(1, 2)));
+    }
+}
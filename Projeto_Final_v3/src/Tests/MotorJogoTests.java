@@ -0,0 +1,114 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MotorJogoTests {
+
+    @Test
+    void stepSemDirecao() {
+        MotorJogo motor = new MotorJogo(60, 60, 4, true, false);
+        int x = motor.getSnake().getSegmentX(0), y = motor.getSnake().getSegmentY(0);
+
+        // A cobra só se move depois de ter uma direção
+        assertEquals(EventoJogo.NENHUM, motor.step(null));
+        assertEquals(x, motor.getSnake().getSegmentX(0));
+        assertEquals(y, motor.getSnake().getSegmentY(0));
+        assertFalse(motor.isGameOver());
+    }
+
+    @Test
+    void saiDaArena() {
+        for (boolean desenhar : new boolean[]{true, false}) {
+            MotorJogo motor = new MotorJogo(60, 60, 4, true, false, desenhar);
+            assertEquals(desenhar, motor.getArena() != null);
+
+            EventoJogo evento = motor.step(Direcao.DIREITA);
+            while (!evento.terminaJogo())
+                evento = motor.step(null);
+
+            assertEquals(EventoJogo.SAIU_DA_ARENA, evento);
+            assertEquals(EventoJogo.SAIU_DA_ARENA, motor.getFim());
+            assertTrue(motor.isGameOver());
+            assertThrows(IllegalStateException.class, () -> motor.step(Direcao.CIMA));
+        }
+    }
+
+    @Test
+    void mesmaSemente() {
+        MotorJogo a = new MotorJogo(120, 120, 4, true, true, false, 42);
+        MotorJogo b = new MotorJogo(120, 120, 4, true, true, false, 42);
+
+        assertEquals(a.getSnake().getSegmentX(0), b.getSnake().getSegmentX(0));
+        assertEquals(a.getSnake().getSegmentY(0), b.getSnake().getSegmentY(0));
+        assertEquals(a.getObstacles().size(), b.getObstacles().size());
+        for (int i = 0; i < a.getObstacles().size(); i++)
+            assertEquals(Arrays.toString(a.getObstacles().get(i).getAllIntPoints()),
+                    Arrays.toString(b.getObstacles().get(i).getAllIntPoints()));
+
+        Direcao[] direcoes = {Direcao.DIREITA, Direcao.BAIXO, Direcao.ESQUERDA, Direcao.CIMA};
+        for (int i = 0; i < 40 && !a.isGameOver(); i++) {
+            assertEquals(Arrays.toString(a.getFood().getAllIntPoints()), Arrays.toString(b.getFood().getAllIntPoints()));
+            Direcao d = direcoes[(i / 3) % 4];
+            assertEquals(a.step(d), b.step(d));
+        }
+        assertEquals(a.getScore(), b.getScore());
+    }
+
+    @Test
+    void comandosSemMovimento() {
+        // Na consola, todos os comandos fazem uma jogada, mesmo os que não movem a cobra (crescer, uma inversão de
+        // sentido, que só é recusada com mais de um segmento, ou uma tecla desconhecida): os obstáculos rodam na mesma
+        Controlos controlos = new Controlos();
+        for (long semente = 0; semente < 40; semente++) {
+            MotorJogo motor = new MotorJogo(120, 120, 4, true, true, true, semente);
+            Obstaculo rodado = motor.getObstacles().stream().filter(Obstaculo::isRotating).findFirst().orElse(null);
+            if (rodado == null || controlos.ProcessarControlos(motor, "D").terminaJogo())
+                continue;
+            Cobra cobra = motor.getSnake();
+            for (String comando : new String[]{"G", "A", "X"}) {
+                int x = cobra.getSegmentX(0), length = cobra.getLength(), pose = rodado.getPose();
+                long moves = cobra.getMoves();
+                if (controlos.ProcessarControlos(motor, comando).terminaJogo())
+                    break;
+                assertEquals(x, cobra.getSegmentX(0));
+                assertEquals(moves, cobra.getMoves());
+                assertEquals(comando.equals("G") ? length + 1 : length, cobra.getLength());
+                assertNotEquals(pose, rodado.getPose());
+            }
+            return;
+        }
+        fail("Nenhuma semente com obstáculos que rodam");
+    }
+
+    @Test
+    void direcao() {
+        for (Direcao d : Direcao.values())
+            assertEquals(d, Direcao.fromAngulo(d.getAngulo()));
+        assertNull(Direcao.fromAngulo(45));
+    }
+
+    @Test
+    void colisaoIncremental() {
+        // Testar só a cabeça e os obstáculos que rodaram tem de dar o mesmo resultado que testar a cobra inteira
+        int colisoes = 0;
+        for (long semente = 0; semente < 40; semente++) {
+            MotorJogo motor = new MotorJogo(120, 120, 4, true, true, false, semente);
+            SplittableRandom random = new SplittableRandom(semente);
+            while (!motor.isGameOver()) {
+                EventoJogo evento = motor.step(Direcao.values()[random.nextInt(4)]);
+                boolean colidiu = !motor.getSnake().findIntersections(motor.getObstacles()).isEmpty();
+                if (evento == EventoJogo.COLIDIU_OBSTACULO) {
+                    assertTrue(colidiu);
+                    assertFalse(motor.getCollisions().isEmpty());
+                    assertTrue(motor.getSnake().intersects(motor.getCollisionObstacle()));
+                    colisoes++;
+                } else if (!motor.isGameOver())
+                    assertFalse(colidiu);
+            }
+        }
+        assertTrue(colisoes > 0);
+    }
+}
@@ -1,5 +1,7 @@
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ObstaculoTests {
@@ -33,6 +35,26 @@ class ObstaculoTests {
         //assertNotEquals(initialShape, rotatedShape);
     }
 
+    @Test
+    void rotateCiclo() {
+        Cobra snake = new Cobra(100, 100, 5);
+        for (int n = 0; n < 20; n++) {
+            Obstaculo obstacle = new Obstaculo(100, 100, snake);
+            Object initialShape = obstacle.getObstaculo();
+            // Os ângulos possíveis são múltiplos de 90 graus, pelo que após 4 rotações o obstáculo volta ao início
+            for (int i = 0; i < 4; i++) {
+                obstacle.rotate();
+                BufferPontos esperado = new BufferPontos();
+                if (obstacle.getObstaculo() instanceof Retangulo retangulo)
+                    retangulo.addAllIntVertices(esperado);
+                else
+                    ((Triangulo) obstacle.getObstaculo()).addAllIntVertices(esperado);
+                assertEquals(Arrays.toString(esperado.toPontos()), Arrays.toString(obstacle.getAllIntPoints()));
+            }
+            assertSame(initialShape, obstacle.getObstaculo());
+        }
+    }
+
     @Test
     void getObstaculo() {
         Cobra snake = new Cobra(100, 100, 5);
@@ -1,6 +1,7 @@
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -11,6 +12,33 @@ class PoligonoTests {
     Poligono pol4 = new Poligono("4 7 4 9 4 9 6 7 6");
     Poligono pol1Dup = new Poligono("4 8 7 5 7 5 5 8 5");
 
+    @Test
+    void addSpans() {
+        // Um polígono côncavo em forma de U tem dois segmentos nas linhas da abertura
+        Poligono u = new Poligono("0 0 6 0 6 4 4 4 4 2 2 2 2 4 0 4");
+        BufferSegmentos segmentos = new BufferSegmentos();
+        u.addSpans(segmentos);
+        StringBuilder linhas = new StringBuilder();
+        for (int i = 0; i < segmentos.size(); i++)
+            linhas.append(segmentos.getY(i)).append(':').append(segmentos.getInicio(i)).append('-')
+                    .append(segmentos.getFim(i)).append(' ');
+        assertEquals("0:0-6 1:0-6 2:0-6 3:0-2 3:4-6 4:0-2 4:4-6 ", linhas.toString());
+        assertEquals(segmentos.getNumeroPixels(), u.getAllIntVertices().length);
+
+        // Os segmentos que já estavam no buffer ficam como estavam, e o rascunho pode ser reutilizado
+        segmentos.clear();
+        segmentos.add(9, 5, 6);
+        u.addSpans(segmentos);
+        assertEquals(8, segmentos.size());
+        assertEquals(9, segmentos.getY(0));
+        assertEquals(0, segmentos.getY(1));
+        BufferSegmentos rascunho = new BufferSegmentos();
+        BufferPontos pontos = new BufferPontos();
+        u.addAllIntVertices(pontos, rascunho);
+        u.addAllIntVertices(pontos, rascunho);
+        assertEquals(2 * u.getAllIntVertices().length, pontos.size());
+    }
+
     @Test
     void getVertices() {
         assertEquals("[(5,5), (8,5), (8,7), (5,7)]", Arrays.toString(pol1.getVertices()));
@@ -23,6 +51,34 @@ class PoligonoTests {
         assertTrue(pol3.intersects(pol4));
     }
 
+    @Test
+    void caixaEnvolvente() {
+        assertEquals(5, pol1.getMinX());
+        assertEquals(5, pol1.getMinY());
+        assertEquals(8, pol1.getMaxX());
+        assertEquals(7, pol1.getMaxY());
+        assertFalse(pol1.boundsIntersect(pol2));
+        assertTrue(pol3.boundsIntersect(pol4));
+
+        // A rejeição pelas caixas não pode mudar o resultado do teste entre todas as arestas
+        SplittableRandom random = new SplittableRandom(3);
+        Poligono base = new Poligono("3 0 0 4 0 0 3");
+        for (int n = 0; n < 500; n++) {
+            Poligono a = base.translate(random.nextInt(10), random.nextInt(10));
+            Poligono b = base.rotate(90 * random.nextInt(4), base.centroid()).translate(random.nextInt(10),
+                    random.nextInt(10));
+            boolean arestas = false;
+            Ponto[] va = a.getVertices(), vb = b.getVertices();
+            for (int i = 0; i < va.length; i++)
+                for (int j = 0; j < vb.length; j++)
+                    arestas |= new SegmentoReta(va[i], va[(i + 1) % va.length])
+                            .intersects(new SegmentoReta(vb[j], vb[(j + 1) % vb.length]));
+            assertEquals(arestas, a.intersects(b));
+            if (arestas)
+                assertTrue(a.boundsIntersect(b));
+        }
+    }
+
     @Test
     void testToString() {
         assertEquals("Poligono de 4 vertices: [(5,5), (8,5), (8,7), (5,7)]", pol1.toString());
@@ -56,6 +56,13 @@ public class PontoTests {
         assertEquals(new Ponto(2, 1).toString(), resultado360.toString());
     }
 
+    @Test
+    void rotateCentroFracionario() {
+        // Com cos(90) aproximado, x ficava ligeiramente abaixo de 15.5 e era arredondado para 15
+        Ponto resultado = new Ponto(0, 0).rotate(90, new Ponto(15, 0.5));
+        assertEquals(new Ponto(16, -14).toString(), resultado.toString());
+    }
+
     @Test
     void translate() {
         Ponto ponto = new Ponto(1, 1);
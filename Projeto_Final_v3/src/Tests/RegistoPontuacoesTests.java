@@ -0,0 +1,221 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistoPontuacoesTests {
+    @TempDir
+    Path dir;
+
+    private RegistoPontuacoes abrir() {
+        return new RegistoPontuacoes(dir.resolve("p"), dir.resolve("resultados.txt"));
+    }
+
+    private static String top(RegistoPontuacoes r, int n) {
+        return r.top(n).toString();
+    }
+
+    @Test
+    void ordenaEPersiste() {
+        RegistoPontuacoes r = abrir();
+        r.adicionar(10, "ana");
+        r.adicionar(30, "rui");
+        r.adicionar(10, "eva");
+        r.adicionar(20, "joão silva");
+        assertEquals("[30 rui, 20 joão silva, 10 ana]", top(r, 3));
+        assertEquals(4, r.top(10).size());
+        assertTrue(r.top(0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> r.top(-1));
+
+        // Reaberto, lê as pontuações do registo pela mesma ordem
+        assertEquals(top(r, 4), top(abrir(), 4));
+    }
+
+    @Test
+    void compacta() throws IOException {
+        RegistoPontuacoes r = abrir();
+        for (int i = 0; i < 2100; i++)
+            r.adicionar(i % 97, "j" + i);
+        // Duas compactações: só fica a fotografia da segunda geração
+        assertFalse(Files.exists(dir.resolve("p.1.dat")));
+        assertTrue(Files.exists(dir.resolve("p.2.dat")));
+        assertTrue(Files.size(dir.resolve("p.log")) < 2100 * 6);
+
+        RegistoPontuacoes reaberto = abrir();
+        assertEquals(2100, reaberto.getTamanho());
+        assertEquals(top(r, 2100), top(reaberto, 2100));
+    }
+
+    @Test
+    void paginas() {
+        RegistoPontuacoes r = abrir();
+        for (int i = 0; i < 1500; i++)
+            r.adicionar(i, "j" + i);
+        // Parte das pontuações está na fotografia mapeada e parte no registo
+        for (int i = 1500; i < 1600; i += 2)
+            r.adicionar(i - 1000, "k" + i);
+
+        List<RegistoPontuacoes.Entrada> todas = r.top(r.getTamanho());
+        for (int i = 1; i < todas.size(); i++)
+            assertTrue(todas.get(i - 1).getScore() >= todas.get(i).getScore());
+        assertEquals(todas.subList(600, 650).toString(), r.pagina(600, 50).toString());
+        assertEquals("[1 j1, 0 j0]", r.pagina(1548, 10).toString());
+        assertTrue(r.pagina(5000, 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> r.pagina(-1, 1));
+    }
+
+    @Test
+    void paginasComEmpates() {
+        RegistoPontuacoes r = abrir();
+        for (int i = 0; i < 1100; i++)
+            r.adicionar(i % 10, "f" + i);
+        // Pontuações iguais às da fotografia ficam depois delas, e há pontuações do registo em todas as posições
+        for (int i = 0; i < 60; i++)
+            r.adicionar((i * 7) % 12 - 1, "r" + i);
+
+        List<RegistoPontuacoes.Entrada> todas = r.top(r.getTamanho());
+        assertEquals(1160, todas.size());
+        for (int inicio = 0; inicio <= todas.size() + 3; inicio += 3)
+            assertEquals(todas.subList(Math.min(inicio, todas.size()), Math.min(inicio + 5, todas.size())).toString(),
+                    r.pagina(inicio, 5).toString());
+    }
+
+    @Test
+    void registoJaCompactado() throws IOException {
+        RegistoPontuacoes r = abrir();
+        r.adicionar(5, "a");
+        r.adicionar(7, "b");
+        byte[] antigo = Files.readAllBytes(dir.resolve("p.log"));
+        r.compactar();
+        assertTrue(Files.exists(dir.resolve("p.1.dat")));
+
+        // Uma falha entre mover a fotografia e esvaziar o registo deixa o registo antigo para trás
+        Files.write(dir.resolve("p.log"), antigo);
+        RegistoPontuacoes reaberto = abrir();
+        assertEquals(2, reaberto.getTamanho());
+        assertEquals("[7 b, 5 a]", top(reaberto, 2));
+    }
+
+    @Test
+    void registoCortado() throws IOException {
+        RegistoPontuacoes r = abrir();
+        r.adicionar(5, "a");
+        r.adicionar(7, "bruno");
+        Path log = dir.resolve("p.log");
+        try (FileChannel canal = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            canal.truncate(Files.size(log) - 2);
+        }
+
+        RegistoPontuacoes reaberto = abrir();
+        assertEquals("[5 a]", top(reaberto, 5));
+        reaberto.adicionar(6, "c");
+        assertEquals("[6 c, 5 a]", top(abrir(), 5));
+    }
+
+    @Test
+    void importaLegado() throws IOException {
+        Files.write(dir.resolve("resultados.txt"), List.of("300 boss", "12 jorge silva", "lixo", "", "40 ana"));
+        RegistoPontuacoes r = abrir();
+        assertEquals("[300 boss, 40 ana, 12 jorge silva]", top(r, 5));
+
+        // O ficheiro antigo só é importado uma vez
+        r.adicionar(50, "rui");
+        Files.write(dir.resolve("resultados.txt"), List.of("999 outro"));
+        assertEquals("[300 boss, 50 rui, 40 ana, 12 jorge silva]", top(abrir(), 5));
+    }
+
+    @Test
+    void importaLegadoSemNomesCompridos() throws IOException {
+        // Um nome que não cabe nos 16 bits do tamanho seria cortado na fotografia, por isso a linha é ignorada
+        Files.write(dir.resolve("resultados.txt"), List.of("300 boss", "500 " + "é".repeat(0x8000), "40 ana"));
+        RegistoPontuacoes r = abrir();
+        assertEquals("[300 boss, 40 ana]", top(r, 5));
+        r.compactar();
+        r.close();
+        try (RegistoPontuacoes outro = abrir()) {
+            assertEquals("[300 boss, 40 ana]", top(outro, 5));
+            assertEquals(2, outro.getEstatisticas().getTotal());
+        }
+    }
+
+    @Test
+    void submissoesConcorrentes() throws Exception {
+        RegistoPontuacoes r = abrir();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            tarefas.add(pool.submit(() -> {
+                List<CompletableFuture<Void>> feitos = new ArrayList<>();
+                for (int i = 0; i < 200; i++)
+                    feitos.add(r.submeter(i, "t" + thread));
+                feitos.forEach(CompletableFuture::join);
+            }));
+        }
+        for (Future<?> f : tarefas)
+            f.get();
+        pool.shutdown();
+
+        assertEquals(1600, r.getTamanho());
+        assertEquals(1600, abrir().getTamanho());
+    }
+
+    @Test
+    void duasTabelasNosMesmosFicheiros() throws Exception {
+        // Duas tabelas abertas sobre os mesmos ficheiros comportam-se como dois processos
+        RegistoPontuacoes a = abrir(), b = abrir();
+        Thread ta = new Thread(() -> {
+            for (int i = 0; i < 700; i++)
+                a.adicionar(i, "a");
+        });
+        Thread tb = new Thread(() -> {
+            for (int i = 0; i < 700; i++)
+                b.adicionar(i, "b");
+        });
+        ta.start();
+        tb.start();
+        ta.join();
+        tb.join();
+
+        a.atualizar();
+        b.atualizar();
+        assertEquals(1400, a.getTamanho());
+        assertEquals(top(a, 1400), top(b, 1400));
+        assertEquals(1400, abrir().getTamanho());
+    }
+
+    @Test
+    void fechar() {
+        RegistoPontuacoes r = abrir();
+        CompletableFuture<Void> feito = r.submeter(3, "a");
+        r.close();
+        assertTrue(feito.isDone());
+        assertEquals(1, r.getTamanho());
+        assertThrows(IllegalStateException.class, () -> r.submeter(4, "b"));
+        assertThrows(IllegalArgumentException.class, () -> abrir().submeter(4, null));
+    }
+
+    @Test
+    void pontuacao() {
+        Pontuacao p = new Pontuacao(dir);
+        p.adicionarPontuacao(0, "zero");
+        p.adicionarPontuacao(8, "a");
+        p.adicionarPontuacao(9, "b");
+        assertEquals(List.of("9 b", "8 a"), new Pontuacao(dir).getPontuacoes());
+        assertEquals(List.of("8 a"), new Pontuacao(dir).getPontuacoes(1, 5));
+        assertEquals(2, new Pontuacao(dir).getNumeroPontuacoes());
+
+        assertTrue(p.submeterPontuacao(0, "zero").isDone());
+        p.submeterPontuacao(7, "c").join();
+        assertEquals(List.of("9 b", "8 a", "7 c"), new Pontuacao(dir).getPontuacoes());
+    }
+}
@@ -0,0 +1,72 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderizadorConsolaTests {
+
+    @Test
+    void render() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RenderizadorConsola renderizador = new RenderizadorConsola(Channels.newChannel(out));
+        Arena arena = new Arena(10, 10);
+
+        renderizador.render(arena);
+        String primeira = out.toString(StandardCharsets.US_ASCII);
+        assertTrue(primeira.startsWith("\u001b[2J\u001b[1;1H. . . "));
+        assertTrue(primeira.endsWith("\u001b[11;1H\u001b[J"));
+
+        out.reset();
+        arena.drawCollisions(List.of(new Ponto(3, 2), new Ponto(4, 2)));
+        renderizador.render(arena);
+        assertEquals("\u001b[3;7HX X \u001b[11;1H\u001b[J", out.toString(StandardCharsets.US_ASCII));
+
+        out.reset();
+        renderizador.render(arena);
+        assertEquals("\u001b[11;1H\u001b[J", out.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void renderRedimensionado() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        String[] tamanho = {"24 80"};
+        RenderizadorConsola renderizador = new RenderizadorConsola(Channels.newChannel(out), () -> tamanho[0], 0);
+        Arena arena = new Arena(10, 10);
+        renderizador.render(arena);
+
+        out.reset();
+        renderizador.render(arena);
+        assertEquals("\u001b[11;1H\u001b[J", out.toString(StandardCharsets.US_ASCII));
+
+        // Depois de o terminal mudar de tamanho, o ecrã já não corresponde ao que foi escrito
+        out.reset();
+        tamanho[0] = "30 100";
+        renderizador.render(arena);
+        assertTrue(out.toString(StandardCharsets.US_ASCII).startsWith("\u001b[2J\u001b[1;1H. . . "));
+
+        out.reset();
+        renderizador.render(arena);
+        assertEquals("\u001b[11;1H\u001b[J", out.toString(StandardCharsets.US_ASCII));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RenderizadorConsola(Channels.newChannel(out), () -> null, -1));
+    }
+
+    @Test
+    void renderConsultaTamanhoComIntervalo() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int[] consultas = {0};
+        RenderizadorConsola renderizador = new RenderizadorConsola(Channels.newChannel(out), () -> {
+            consultas[0]++;
+            return "24 80";
+        });
+        Arena arena = new Arena(10, 10);
+        // O tamanho é consultado na primeira jogada e depois só quando passa o intervalo, e não em cada jogada
+        for (int i = 0; i < 100; i++)
+            renderizador.render(arena);
+        assertTrue(consultas[0] >= 1 && consultas[0] < 10);
+    }
+}
\ No newline at end of file
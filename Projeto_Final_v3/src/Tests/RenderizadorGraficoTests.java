@@ -0,0 +1,60 @@
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderizadorGraficoTests {
+
+    private static int[] pintar(RenderizadorGrafico renderizador, MotorJogo motor) {
+        BufferedImage imagem = new BufferedImage(motor.getWidth() + 1, motor.getHeight() + 1,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = imagem.createGraphics();
+        renderizador.render(g, new FotografiaJogo(motor));
+        g.dispose();
+        return imagem.getRGB(0, 0, imagem.getWidth(), imagem.getHeight(), null, 0, imagem.getWidth());
+    }
+
+    @Test
+    void incrementalIgualACompleto() {
+        for (boolean complete : new boolean[]{true, false}) {
+            MotorJogo motor = new MotorJogo(100, 100, 4, complete, true, false, 3);
+            JogadorIA ia = new IACaminho();
+            RenderizadorGrafico incremental = new RenderizadorGrafico();
+            int jogadas = 0;
+            while (!motor.isGameOver() && jogadas < 300) {
+                ia.aiMove(motor);
+                motor.step(null);
+                jogadas++;
+                // Cada imagem tem de ser igual à de um renderizador novo, que desenha tudo de raiz
+                assertArrayEquals(pintar(new RenderizadorGrafico(), motor), pintar(incremental, motor));
+            }
+            // A cobra só é desenhada de raiz no início e quando, com um só segmento, cresce e repete a cabeça
+            assertEquals(2, incremental.getRedesenhosCobra());
+            // Os obstáculos que não rodam só são redesenhados no início e ao assinalar uma colisão
+            assertTrue(incremental.getRedesenhosObstaculos() <= 2);
+        }
+    }
+
+    @Test
+    void incrementalComVariosPassos() {
+        for (boolean complete : new boolean[]{true, false}) {
+            MotorJogo motor = new MotorJogo(100, 100, 4, complete, true, false, 5);
+            JogadorIA ia = new IACaminho();
+            RenderizadorGrafico incremental = new RenderizadorGrafico();
+            int jogadas = 0;
+            while (!motor.isGameOver() && jogadas < 400) {
+                // A interface pode perder pinturas, pelo que a cobra pode ter dado vários passos desde a última
+                for (int i = 0; i <= jogadas % 4 && !motor.isGameOver(); i++) {
+                    ia.aiMove(motor);
+                    motor.step(null);
+                    jogadas++;
+                }
+                assertArrayEquals(pintar(new RenderizadorGrafico(), motor), pintar(incremental, motor));
+            }
+            // Só é preciso redesenhar a cobra no início, enquanto os passos dados excedem o seu comprimento
+            assertTrue(incremental.getRedesenhosCobra() <= 4, "redesenhos: " + incremental.getRedesenhosCobra());
+        }
+    }
+}
\ No newline at end of file
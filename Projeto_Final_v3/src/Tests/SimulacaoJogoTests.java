@@ -0,0 +1,140 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulacaoJogoTests {
+
+    @Test
+    void jogaAteAoFim() throws InterruptedException {
+        MotorJogo motor = new MotorJogo(60, 60, 4, true, false, false, 5);
+        CountDownLatch fim = new CountDownLatch(1);
+        SimulacaoJogo[] simulacao = new SimulacaoJogo[1];
+        simulacao[0] = new SimulacaoJogo(motor, new IACiclo(), 100_000, () -> {
+            if (simulacao[0].getFotografia().getFim() != null)
+                fim.countDown();
+        });
+        assertEquals(1, simulacao[0].getFotografia().getLength());
+        assertFalse(simulacao[0].isAtiva());
+
+        // A cobra só começa a andar depois de ter uma direção, como no jogo com o teclado
+        simulacao[0].setDirecao(Direcao.DIREITA);
+        simulacao[0].iniciar();
+        assertTrue(fim.await(30, TimeUnit.SECONDS));
+        FotografiaJogo ultima = simulacao[0].getFotografia();
+        assertEquals(EventoJogo.VITORIA, ultima.getFim());
+        assertEquals(motor.getScore(), ultima.getScore());
+        assertFalse(simulacao[0].isAtiva());
+        simulacao[0].parar();
+    }
+
+    @Test
+    void recuperaAtrasos() throws InterruptedException {
+        MotorJogo motor = new MotorJogo(60, 60, 4, true, false, false, 5);
+        AtomicInteger publicadas = new AtomicInteger();
+        CountDownLatch recuperadas = new CountDownLatch(1);
+        SimulacaoJogo simulacao = new SimulacaoJogo(motor, null, 1_000_000, () -> {
+            // A primeira publicação demora 30 jogadas; a segunda já vem depois das jogadas em atraso
+            int n = publicadas.incrementAndGet();
+            if (n == 1)
+                try {
+                    Thread.sleep(30);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            else if (n == 2)
+                recuperadas.countDown();
+        });
+        simulacao.iniciar();
+        assertTrue(recuperadas.await(10, TimeUnit.SECONDS));
+        simulacao.parar();
+
+        FotografiaJogo f = simulacao.getFotografia();
+        assertTrue(f.getAtrasadas() >= SimulacaoJogo.MAXIMO_RECUPERADAS - 1);
+        assertTrue(f.getAtrasoMaximo() >= 20_000_000L);
+        assertTrue(f.getJogadas() > publicadas.get());
+        assertThrows(IllegalStateException.class, simulacao::iniciar);
+    }
+
+    @Test
+    void pausa() throws InterruptedException {
+        MotorJogo motor = new MotorJogo(60, 60, 4, true, false, false, 5);
+        AtomicInteger publicadas = new AtomicInteger();
+        AtomicLong depois = new AtomicLong();
+        AtomicBoolean publicouEmPausa = new AtomicBoolean();
+        CountDownLatch pausada = new CountDownLatch(1), retomada = new CountDownLatch(1);
+        SimulacaoJogo[] simulacao = new SimulacaoJogo[1];
+        simulacao[0] = new SimulacaoJogo(motor, null, 1_000_000, () -> {
+            if (simulacao[0].isPausado())
+                publicouEmPausa.set(true);
+            // A pausa é pedida pela própria thread da simulação, pelo que nenhuma jogada pode seguir-se
+            int n = publicadas.incrementAndGet();
+            if (n == 3) {
+                simulacao[0].setPausado(true);
+                pausada.countDown();
+            } else if (n == 4) {
+                depois.set(simulacao[0].getFotografia().getJogadas());
+                retomada.countDown();
+            }
+        });
+        simulacao[0].iniciar();
+        assertTrue(pausada.await(10, TimeUnit.SECONDS));
+        assertFalse(simulacao[0].isAtiva());
+        FotografiaJogo f = simulacao[0].adquirirFotografia();
+        long jogadas = f.getJogadas();
+        simulacao[0].libertarFotografia(f);
+
+        simulacao[0].setPausado(false);
+        assertTrue(retomada.await(10, TimeUnit.SECONDS));
+        simulacao[0].parar();
+        assertFalse(publicouEmPausa.get());
+        assertTrue(depois.get() > jogadas && depois.get() <= jogadas + SimulacaoJogo.MAXIMO_RECUPERADAS);
+        assertThrows(IllegalArgumentException.class, () -> new SimulacaoJogo(motor, null, 0, null));
+    }
+
+    @Test
+    void fotografiasAlternadas() throws InterruptedException {
+        MotorJogo motor = new MotorJogo(60, 60, 4, true, false, false, 5);
+        Semaphore publicadas = new Semaphore(0);
+        SimulacaoJogo simulacao = new SimulacaoJogo(motor, new IACiclo(), 1_000_000, publicadas::release);
+        simulacao.setDirecao(Direcao.DIREITA);
+        simulacao.iniciar();
+        assertTrue(publicadas.tryAcquire(10, TimeUnit.SECONDS));
+
+        // Enquanto a fotografia adquirida não é libertada, a simulação só pode publicar a outra
+        FotografiaJogo lida = simulacao.adquirirFotografia();
+        long jogadas = lida.getJogadas(), movimentos = lida.getMovimentos();
+        int x = lida.getSegmentX(0), y = lida.getSegmentY(0);
+        publicadas.drainPermits();
+        assertTrue(publicadas.tryAcquire(10, TimeUnit.SECONDS));
+        FotografiaJogo outra = simulacao.adquirirFotografia();
+        assertNotSame(lida, outra);
+        assertTrue(outra.getJogadas() > jogadas);
+        simulacao.libertarFotografia(outra);
+        assertEquals(jogadas, lida.getJogadas());
+        assertEquals(movimentos, lida.getMovimentos());
+        assertEquals(x, lida.getSegmentX(0));
+        assertEquals(y, lida.getSegmentY(0));
+
+        // Libertada, volta a ser usada e a cobra guardada é igual à do motor
+        simulacao.libertarFotografia(lida);
+        assertTrue(publicadas.tryAcquire(10, TimeUnit.SECONDS));
+        simulacao.parar();
+        FotografiaJogo f = simulacao.getFotografia();
+        assertTrue(f == lida || f == outra);
+        Cobra cobra = motor.getSnake();
+        assertEquals(cobra.getMoves(), f.getMovimentos());
+        assertEquals(cobra.getLength(), f.getLength());
+        for (int i = 0; i < f.getLength(); i++) {
+            assertEquals(cobra.getSegmentX(i), f.getSegmentX(i));
+            assertEquals(cobra.getSegmentY(i), f.getSegmentY(i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> simulacao.libertarFotografia(new FotografiaJogo(motor)));
+    }
+}
@@ -0,0 +1,38 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimuladorIATests {
+
+    @Test
+    void executar() {
+        SimuladorIA.Resultado r = new SimuladorIA(60, 60, 4, 2).executar(20);
+        assertEquals(20, r.getJogos());
+        assertTrue(r.getJogadas() >= 20);
+
+        int terminados = r.getEsgotados();
+        for (EventoJogo e : EventoJogo.values())
+            terminados += r.getFins(e);
+        assertEquals(20, terminados);
+        assertEquals(0, r.getFins(EventoJogo.NENHUM));
+
+        assertTrue(r.getPercentil(0) <= r.getPercentil(50));
+        assertTrue(r.getPercentil(50) <= r.getPercentil(100));
+    }
+
+    @Test
+    void mesmaSemente() {
+        SimuladorIA.Resultado a = new SimuladorIA(60, 60, 4, 1).executar(10, 7);
+        SimuladorIA.Resultado b = new SimuladorIA(60, 60, 4, 3).executar(10, 7);
+        assertEquals(7, a.getSemente());
+        assertArrayEquals(a.getScores(), b.getScores());
+        assertEquals(a.getJogadas(), b.getJogadas());
+    }
+
+    @Test
+    void argumentosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new SimuladorIA(60, 60, 4, 0));
+        assertThrows(IllegalArgumentException.class, () -> new SimuladorIA(60, 60, 4).executar(0));
+        assertThrows(IllegalArgumentException.class, () -> new SimuladorIA(60, 60, 4).executar(1).getPercentil(101));
+    }
+}
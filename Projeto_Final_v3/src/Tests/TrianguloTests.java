@@ -43,15 +43,36 @@ class TrianguloTests {
         Triangulo triangulo = new Triangulo("0 0 3 0 3 3");
         Ponto[] result = triangulo.getAllIntVertices();
 
+        // O triângulo preenchido, linha a linha, sem pixels repetidos
         Ponto[] expected = {
                 new Ponto(0, 0), new Ponto(1, 0), new Ponto(2, 0), new Ponto(3, 0),
-                new Ponto(3, 0), new Ponto(3, 1), new Ponto(3, 2), new Ponto(3, 3),
-                new Ponto(3, 3), new Ponto(2, 2), new Ponto(1, 1), new Ponto(0, 0)
+                new Ponto(1, 1), new Ponto(2, 1), new Ponto(3, 1),
+                new Ponto(2, 2), new Ponto(3, 2),
+                new Ponto(3, 3)
         };
 
         assertEquals(Arrays.toString(expected), Arrays.toString(result));
     }
 
+    @Test
+    void addSpans() {
+        BufferSegmentos segmentos = new BufferSegmentos();
+        new Triangulo("0 0 8 0 0 4").addSpans(segmentos);
+        assertEquals(5, segmentos.size());
+        assertEquals(0, segmentos.getInicio(2));
+        assertEquals(4, segmentos.getFim(2));
+        assertEquals(0, segmentos.getFim(4));
+
+        // O preenchimento contém o contorno e tem a área esperada
+        BufferPontos pontos = new BufferPontos();
+        segmentos.addPontos(pontos);
+        MapaOcupacao mapa = new MapaOcupacao(10, 10);
+        mapa.stamp(segmentos);
+        for (Ponto p : new Triangulo("0 0 8 0 0 4").getBoundaryIntVertices())
+            assertTrue(mapa.contains((int) p.getX(), (int) p.getY()));
+        assertEquals(9 + 7 + 5 + 3 + 1, pontos.size());
+    }
+
     @Test
     void getBoundaryIntVertices() {
         Triangulo triangulo = new Triangulo("0 0 3 0 3 3");
@@ -8,9 +8,6 @@
  * @inv O triângulo deve conter apenas 3 pontos.
  */
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class Triangulo extends Poligono {
 
     /**
@@ -21,8 +18,20 @@ public class Triangulo extends Poligono {
      * @param pontos Array de pontos (tipo Ponto) que formam o triângulo.
      */
     public Triangulo(Ponto[] pontos) {
-        super(pontos);
-        isTriangle();
+        this(pontos, true);
+    }
+
+    /**
+     * Construtor para a classe Triangulo usado internamente para triângulos obtidos de um triângulo já válido por uma
+     * transformação rígida (translação), em que a validação pode ser dispensada.
+     *
+     * @param pontos  Array de pontos (tipo Ponto) que formam o triângulo.
+     * @param validar Verdadeiro se os pontos devem ser validados (tipo booleano).
+     */
+    Triangulo(Ponto[] pontos, boolean validar) {
+        super(pontos, validar);
+        if (validar)
+            isTriangle();
     }
 
     /**
@@ -96,7 +105,7 @@ public class Triangulo extends Poligono {
         for (int i = 0; i < this.getVertices().length; i++)
             p[i] = getVertices()[i].translate(x, y);
 
-        return new Triangulo(p);
+        return new Triangulo(p, false);
     }
 
     /**
@@ -111,82 +120,4 @@ public class Triangulo extends Poligono {
         Ponto cent = centroid();
         return translate(x - cent.getX(), y - cent.getY());
     }
-
-    /**
-     * Retorna todos os pontos inteiros que contornam o triângulo.
-     * Isso inclui todos os pontos inteiros ao longo das bordas do triângulo.
-     *
-     * @return Um array de pontos (tipo Ponto[]) representando os vértices inteiros ao longo das bordas do triângulo.
-     */
-    public Ponto[] getAllIntVertices() {
-        List<Ponto> boundaryPoints = new ArrayList<>();
-        Ponto[] vertices = this.getVertices();
-
-        // Processa cada par de vértices para adicionar pontos das bordas
-        for (int i = 0; i < vertices.length; i++) {
-            Ponto start = vertices[i];
-            Ponto end = vertices[(i + 1) % vertices.length]; // Loop circular para conectar o último vértice ao primeiro
-            addEdgePoints(boundaryPoints, start, end);
-        }
-
-        return boundaryPoints.toArray(new Ponto[0]); // Convertendo a lista para um array e retornando
-    }
-
-    /**
-     * Retorna apenas os vértices inteiros que contornam o triângulo, incluindo todos os pontos
-     * inteiros ao longo das bordas do triângulo.
-     *
-     * @return Um array de pontos (tipo Ponto[]) representando os vértices inteiros ao longo das bordas do triângulo.
-     */
-    public Ponto[] getBoundaryIntVertices() {
-        List<Ponto> boundaryPoints = new ArrayList<>();
-        Ponto[] vertices = this.getVertices();
-
-        // Processa cada par de vértices para adicionar pontos das bordas
-        for (int i = 0; i < vertices.length; i++) {
-            Ponto start = vertices[i];
-            Ponto end = vertices[(i + 1) % vertices.length]; // Loop circular para conectar o último vértice ao primeiro
-            addEdgePoints(boundaryPoints, start, end);
-        }
-
-        return boundaryPoints.toArray(new Ponto[0]); // Convertendo a lista para um array e retornando
-    }
-
-    /**
-     * Adiciona pontos inteiros ao longo da borda entre dois pontos dados à lista fornecida.
-     * Os pontos são calculados usando o algoritmo de Bresenham para linhas.
-     *
-     * @param points Lista (tipo List<Ponto>) para adicionar os pontos calculados.
-     * @param start  Ponto de início da borda (tipo Ponto).
-     * @param end    Ponto de fim da borda (tipo Ponto).
-     */
-    private void addEdgePoints(List<Ponto> points, Ponto start, Ponto end) {
-        int x0 = (int) Math.round(start.getX());
-        int y0 = (int) Math.round(start.getY());
-        int x1 = (int) Math.round(end.getX());
-        int y1 = (int) Math.round(end.getY());
-
-        int dx = Math.abs(x1 - x0);
-        int dy = Math.abs(y1 - y0);
-
-        int sx = x0 < x1 ? 1 : -1;
-        int sy = y0 < y1 ? 1 : -1;
-
-        int err = dx - dy;
-
-        while (true) {
-            points.add(new Ponto(x0, y0));
-            if (x0 == x1 && y0 == y1) break;
-
-            int e2 = 2 * err;
-            if (e2 > -dy) {
-                err -= dy;
-                x0 += sx;
-            }
-            if (e2 < dx) {
-                err += dx;
-                y0 += sy;
-            }
-        }
-    }
 }